@@ -48,6 +48,7 @@ class Simulation:
             "RUN_EVAL_BOTS": "false",
             "TRAIN": "true",
             "SHOW_ENV_DEBUGGER": "false",
+            "SERVER_PROFILE": "training",
         }
         if self.sync_training:
             server_config["TICK_RATE"] = "1"
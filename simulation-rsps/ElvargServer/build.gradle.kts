@@ -39,6 +39,9 @@ dependencies {
     compileOnly("org.projectlombok:lombok:1.18.4")
     annotationProcessor("org.projectlombok:lombok:1.18.26")
     implementation("io.github.classgraph:classgraph:4.8.163")
+
+    testImplementation("org.junit.jupiter:junit-jupiter:5.10.2")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
 application {
@@ -49,6 +52,27 @@ tasks.withType<ShadowJar> {
     archiveFileName.set("app.jar")
 }
 
+tasks.test {
+    useJUnitPlatform()
+    workingDir = projectDir
+}
+
+tasks.register<JavaExec>("buildCollisionCache") {
+    group = "build"
+    description = "Precomputes the clipping of every region into data/clipping/collision.dat."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.elvarg.game.collision.CollisionCache")
+    workingDir = projectDir
+}
+
+tasks.register<JavaExec>("buildDefinitionCache") {
+    group = "build"
+    description = "Precompiles the item and npc definitions into data/definitions/*.dat."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.elvarg.game.definition.loader.DefinitionCache")
+    workingDir = projectDir
+}
+
 group = "Elvarg"
 version = "1.0-SNAPSHOT"
 description = "Elvarg-Game-Server"
@@ -2,6 +2,7 @@ package com.elvarg;
 
 import com.elvarg.game.GameBuilder;
 import com.elvarg.game.GameConstants;
+import com.elvarg.game.ServerProfile;
 import com.elvarg.game.event.EventDispatcher;
 import com.elvarg.game.event.events.ServerStartedEvent;
 import com.elvarg.game.plugin.PluginLoader;
@@ -9,6 +10,7 @@ import com.elvarg.net.NetworkBuilder;
 import com.elvarg.net.NetworkConstants;
 import com.elvarg.util.ShutdownHook;
 import com.elvarg.util.flood.Flooder;
+import com.github.naton1.rl.EnvConfig;
 
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -61,9 +63,12 @@ public class Server {
                 PRODUCTION = Integer.parseInt(args[0]) == 1;
             }
 
-            logger.info("Initializing " + GameConstants.NAME + " in " + (PRODUCTION ? "production" : "non-production") + " mode..");
+            logger.info("Initializing " + GameConstants.NAME + " in " + (PRODUCTION ? "production" : "non-production") + " mode with the " + GameConstants.SERVER_PROFILE + " profile..");
             new GameBuilder().initialize();
-            new NetworkBuilder().initialize(NetworkConstants.GAME_PORT);
+            if (GameConstants.SERVER_PROFILE != ServerProfile.TRAINING || EnvConfig.isShowEnvDebugger()) {
+                // A training server only needs clients to connect when debugging environments
+                new NetworkBuilder().initialize(NetworkConstants.GAME_PORT);
+            }
             EventDispatcher.getGlobal().dispatch(new ServerStartedEvent());
             logger.info(GameConstants.NAME + " is now online!");
         } catch (Exception e) {
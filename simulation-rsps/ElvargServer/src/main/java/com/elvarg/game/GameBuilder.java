@@ -3,6 +3,8 @@ package com.elvarg.game;
 import java.util.ArrayDeque;
 import java.util.Queue;
 
+import com.elvarg.game.collision.ClippingQueryCache;
+import com.elvarg.game.collision.CollisionCache;
 import com.elvarg.game.collision.RegionManager;
 import com.elvarg.game.content.clan.ClanChatManager;
 import com.elvarg.game.content.minigames.MinigameHandler;
@@ -37,6 +39,17 @@ public class GameBuilder {
 
         // Start immediate tasks..
         RegionManager.init();
+        if (!CollisionCache.load()) {
+            // Without the precompiled clipping, parse the maps we need up front..
+            if (GameConstants.PRELOAD_MAP) {
+                RegionManager.loadAllMapFiles();
+            } else if (GameConstants.SERVER_PROFILE == ServerProfile.TRAINING) {
+                RegionManager.loadMapFiles(GameConstants.TRAINING_AREA);
+            }
+        }
+        if (GameConstants.CLIPPING_QUERY_AREA != null) {
+            ClippingQueryCache.init(GameConstants.CLIPPING_QUERY_AREA);
+        }
 
         // Start background tasks..
         backgroundLoader.init(createBackgroundTasks());
@@ -60,19 +73,25 @@ public class GameBuilder {
      */
     public Queue<Runnable> createBackgroundTasks() {
         Queue<Runnable> tasks = new ArrayDeque<>();
-        tasks.add(ClanChatManager::init);
         tasks.add(CombatPoisonData::init);
         tasks.add(PlayerPunishment::init);
 
         // Load definitions..
         tasks.add(new ObjectSpawnDefinitionLoader());
         tasks.add(new ItemDefinitionLoader());
-        tasks.add(new ShopDefinitionLoader());
         tasks.add(new NpcDefinitionLoader());
-        tasks.add(new NpcDropDefinitionLoader());
-        tasks.add(new NpcSpawnDefinitionLoader());
-        tasks.add(new GroundItemDefinitionLoader());
-        tasks.add(MinigameHandler::init);
+
+        // Load content which is never used by a training server..
+        if (GameConstants.SERVER_PROFILE.processesNpcs()) {
+            tasks.add(new NpcDropDefinitionLoader());
+            tasks.add(new NpcSpawnDefinitionLoader());
+        }
+        if (GameConstants.SERVER_PROFILE.processesWorldContent()) {
+            tasks.add(ClanChatManager::init);
+            tasks.add(new ShopDefinitionLoader());
+            tasks.add(new GroundItemDefinitionLoader());
+            tasks.add(MinigameHandler::init);
+        }
     //    tasks.add(new NPCSpawnDumper());
         return tasks;
     }
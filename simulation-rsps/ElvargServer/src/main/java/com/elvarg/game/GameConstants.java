@@ -9,6 +9,7 @@ import com.elvarg.game.entity.impl.player.persistence.dynamodb.DynamoDBPlayerPer
 import com.elvarg.game.entity.impl.player.persistence.jsonfile.JSONFilePlayerPersistence;
 import com.elvarg.game.entity.impl.playerbot.fightstyle.impl.*;
 import com.elvarg.game.entity.impl.player.persistence.PlayerPersistence;
+import com.elvarg.game.model.Boundary;
 import com.elvarg.game.model.Location;
 import com.elvarg.game.model.rights.PlayerRights;
 
@@ -27,6 +28,39 @@ public class GameConstants {
 	 */
 	public static final String NAME = "RspsApp";
 
+	/**
+	 * The profile the server is running with.
+	 */
+	public static final ServerProfile SERVER_PROFILE = ServerProfile.fromEnvironment();
+
+	/**
+	 * The area which training fights take place in. The regions covering it are
+	 * loaded on startup when running the {@link ServerProfile#TRAINING} profile.
+	 */
+	public static final Boundary TRAINING_AREA = new Boundary(3041, 3102, 3530, 3558);
+
+	/**
+	 * Should the clipping of every region be loaded on startup, instead of when
+	 * a region is first used?
+	 */
+	public static final boolean PRELOAD_MAP = Boolean.parseBoolean(System.getenv().getOrDefault("PRELOAD_MAP", "false"));
+
+	/**
+	 * The area whose line of sight and movement checks are cached, see
+	 * {@link com.elvarg.game.collision.ClippingQueryCache}. Set through the
+	 * {@code CLIPPING_QUERY_AREA} environment variable as "x,x2,y,y2" or
+	 * "none", defaulting to the training area on the training profile.
+	 */
+	public static final Boundary CLIPPING_QUERY_AREA = clippingQueryArea();
+
+	/**
+	 * Should every training fight take place in its own instance, so that
+	 * fights sharing the same area can't see or interfere with each other?
+	 * Defaults to true on the training profile.
+	 */
+	public static final boolean INSTANCED_FIGHTS = Boolean.parseBoolean(System.getenv().getOrDefault("INSTANCED_FIGHTS",
+			String.valueOf(SERVER_PROFILE == ServerProfile.TRAINING)));
+
 	/**
 	 * The secure game UID /Unique Identifier/
 	 */
@@ -158,4 +192,20 @@ public class GameConstants {
 
 	// The list of roles who can "steal" a bot from any player
 	public static List<PlayerRights> PLAYER_BOT_OVERRIDE = Arrays.asList(PlayerRights.MODERATOR, PlayerRights.ADMINISTRATOR, PlayerRights.DEVELOPER, PlayerRights.OWNER);
+
+	private static Boundary clippingQueryArea() {
+		String area = System.getenv().getOrDefault("CLIPPING_QUERY_AREA",
+				SERVER_PROFILE == ServerProfile.TRAINING ? "training" : "none").trim();
+		if (area.equalsIgnoreCase("none")) {
+			return null;
+		}
+		if (area.equalsIgnoreCase("training")) {
+			return TRAINING_AREA;
+		}
+		int[] bounds = Arrays.stream(area.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+		if (bounds.length != 4) {
+			throw new IllegalArgumentException("CLIPPING_QUERY_AREA should be x,x2,y,y2 but was " + area);
+		}
+		return new Boundary(bounds[0], bounds[1], bounds[2], bounds[3]);
+	}
 }
\ No newline at end of file
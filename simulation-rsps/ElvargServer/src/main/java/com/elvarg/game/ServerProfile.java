@@ -0,0 +1,56 @@
+package com.elvarg.game;
+
+/**
+ * The profiles the server can be started with, selected through the
+ * {@code SERVER_PROFILE} environment variable.
+ *
+ * A {@link #TRAINING} server only loads and processes what is needed for
+ * player bots to fight each other: NPCs, minigames, ground items, shops and
+ * clans are all skipped.
+ */
+public enum ServerProfile {
+
+    /**
+     * A regular server with all of the world content loaded and processed.
+     */
+    LIVE,
+
+    /**
+     * A headless server for training agents, which skips all non-combat world
+     * content.
+     */
+    TRAINING;
+
+    /**
+     * Gets the profile requested by the {@code SERVER_PROFILE} environment
+     * variable, defaulting to {@link #LIVE}.
+     *
+     * @return the requested profile.
+     */
+    public static ServerProfile fromEnvironment() {
+        String profile = System.getenv().getOrDefault("SERVER_PROFILE", LIVE.name());
+        return valueOf(profile.trim().toUpperCase());
+    }
+
+    /**
+     * Should NPCs be spawned and processed?
+     */
+    public boolean processesNpcs() {
+        return this == LIVE;
+    }
+
+    /**
+     * Should world content which isn't used in fights, such as minigames,
+     * ground items, shops and clans, be loaded and processed?
+     */
+    public boolean processesWorldContent() {
+        return this == LIVE;
+    }
+
+    /**
+     * Should the default {@link GameConstants#PLAYER_BOTS} be spawned?
+     */
+    public boolean spawnsDefaultPlayerBots() {
+        return this == LIVE;
+    }
+}
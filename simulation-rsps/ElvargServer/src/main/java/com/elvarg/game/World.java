@@ -166,11 +166,13 @@ public class World {
 		// Process all active {@link Task}s..
 		TaskManager.process();
 
-		// Process all minigames
-		MinigameHandler.process();
+		if (GameConstants.SERVER_PROFILE.processesWorldContent()) {
+			// Process all minigames
+			MinigameHandler.process();
 
-		// Process all ground items..
-		ItemOnGroundManager.process();
+			// Process all ground items..
+			ItemOnGroundManager.process();
+		}
 
 		// Add pending players..
 		for (int i = 0; i < GameConstants.QUEUED_LOOP_THRESHOLD; i++) {
@@ -246,20 +248,22 @@ public class World {
 			       }
 		       });
 
-		executor.sync(new GameSyncTask(false, false) {
-			@Override
-			public void execute(int index) {
-				NPC npc = npcs.get(index);
-				if (npc != null) {
-					try {
-						npc.process();
-						resetErrorCounters(); // Reset on success
-					} catch (Exception e) {
-						handleNPCError(npc, e, "NPC processing");
+		if (GameConstants.SERVER_PROFILE.processesNpcs()) {
+			executor.sync(new GameSyncTask(false, false) {
+				@Override
+				public void execute(int index) {
+					NPC npc = npcs.get(index);
+					if (npc != null) {
+						try {
+							npc.process();
+							resetErrorCounters(); // Reset on success
+						} catch (Exception e) {
+							handleNPCError(npc, e, "NPC processing");
+						}
 					}
 				}
-			}
-		});
+			});
+		}
 
 		executor.sync(new GameSyncTask(true) {
 			@Override
@@ -267,7 +271,6 @@ public class World {
 				Player player = players.get(index);
 				if (player instanceof PlayerBot) {
 					// No need to sync a bot
-					// Note this breaks some stuff like multi target spells, but boosts performance
 					return;
 				}
 				synchronized (player) {
@@ -291,7 +294,8 @@ public class World {
 				synchronized (player) {
 					try {
 						player.resetUpdating();
-						player.setCachedUpdateBlock(null);
+						player.getUpdateBlockCache().reset();
+						player.flushItemContainers();
 						player.getSession().flush();
 						EventDispatcher.getGlobal().dispatch(new PlayerPacketsFlushedEvent(player));
 						resetErrorCounters(); // Reset on success
@@ -304,20 +308,22 @@ public class World {
 			}
 		});
 
-		executor.sync(new GameSyncTask(false) {
-			@Override
-			public void execute(int index) {
-				NPC npc = npcs.get(index);
-				synchronized (npc) {
-					try {
-						npc.resetUpdating();
-					}
-					catch (Exception e) {
-						e.printStackTrace();
+		if (GameConstants.SERVER_PROFILE.processesNpcs()) {
+			executor.sync(new GameSyncTask(false) {
+				@Override
+				public void execute(int index) {
+					NPC npc = npcs.get(index);
+					synchronized (npc) {
+						try {
+							npc.resetUpdating();
+						}
+						catch (Exception e) {
+							e.printStackTrace();
+						}
 					}
 				}
-			}
-		});
+			});
+		}
 	}
 
 	/**
@@ -0,0 +1,22 @@
+package com.elvarg.game.collision;
+
+import com.elvarg.game.model.areas.impl.PrivateArea;
+
+/**
+ * Listens for changes to clipping, so that anything derived from it can be
+ * kept up to date. Listeners are added with {@link RegionManager#subscribe}.
+ */
+@FunctionalInterface
+public interface ClippingListener {
+
+    /**
+     * Called after the clipping of a tile has changed.
+     *
+     * @param x           the x coordinate of the tile.
+     * @param y           the y coordinate of the tile.
+     * @param height      the height of the tile.
+     * @param privateArea the private area whose clipping changed, or null if
+     *                    the world's own clipping changed.
+     */
+    void clippingChanged(int x, int y, int height, PrivateArea privateArea);
+}
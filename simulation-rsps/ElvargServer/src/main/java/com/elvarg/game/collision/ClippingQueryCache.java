@@ -0,0 +1,144 @@
+package com.elvarg.game.collision;
+
+import com.elvarg.game.model.Boundary;
+import com.elvarg.game.model.Location;
+import com.elvarg.game.model.areas.impl.PrivateArea;
+
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+/**
+ * Caches the results of the projectile line of sight and straight line
+ * movement checks between tiles of a fixed area, such as the area training
+ * fights take place in, where the same checks are repeated every tick.
+ *
+ * Each tile of the area stores one bit per tile within {@link #RANGE} of it
+ * for each check, along with a bit saying whether that result is known yet.
+ * Results are filled in the first time they're asked for, rather than all up
+ * front which would take seconds on startup, and are all discarded whenever
+ * the clipping inside of the area changes.
+ *
+ * Only checks on the area's height, for entities of size 1 outside of a
+ * {@link PrivateArea} or in one without any clipping of its own, are cached.
+ */
+public final class ClippingQueryCache {
+
+    private static final Logger logger = Logger.getLogger(ClippingQueryCache.class.getName());
+
+    /**
+     * The maximum distance, on either axis, between two tiles for a check
+     * between them to be cached.
+     */
+    public static final int RANGE = 15;
+
+    /**
+     * The width and length of the window of tiles cached around each tile.
+     */
+    private static final int WINDOW = RANGE * 2 + 1;
+
+    private static Boundary area;
+
+    private static long[] sightKnown, sight, walkKnown, walk;
+
+    /**
+     * Is any result currently known? Used to skip discarding the table when
+     * it's already empty.
+     */
+    private static boolean populated;
+
+    private ClippingQueryCache() {
+    }
+
+    /**
+     * Sets up the cache over an area.
+     *
+     * @param boundary the area to cache checks within.
+     */
+    public static void init(Boundary boundary) {
+        // Make sure all of the area's clipping is in place before it's cached..
+        RegionManager.loadClipping(boundary);
+
+        area = boundary;
+        int width = boundary.getX2() - boundary.getX() + 1;
+        int length = boundary.getY2() - boundary.getY() + 1;
+        int bits = width * length * WINDOW * WINDOW;
+        int words = (bits + 63) >>> 6;
+        sightKnown = new long[words];
+        sight = new long[words];
+        walkKnown = new long[words];
+        walk = new long[words];
+        RegionManager.subscribe(ClippingQueryCache::invalidate);
+        logger.info("Caching the clipping checks of " + (width * length) + " tiles.");
+    }
+
+    /**
+     * Checks if a check between two tiles can be answered by the cache.
+     */
+    static boolean covers(Location a, Location b, int size, PrivateArea privateArea) {
+        return area != null && size == 1 && (privateArea == null || !privateArea.hasClips()) && a.getZ() == area.height && b.getZ() == area.height
+                && Math.abs(a.getX() - b.getX()) <= RANGE && Math.abs(a.getY() - b.getY()) <= RANGE
+                && area.inside(a) && area.inside(b);
+    }
+
+    /**
+     * Gets the cached result of {@link RegionManager#canProjectileMove}
+     * between two tiles which are {@link #covers covered}.
+     */
+    static boolean canProjectileMove(Location a, Location b) {
+        int index = index(a.getX(), a.getY(), b.getX(), b.getY());
+        if (!isSet(sightKnown, index)) {
+            store(sightKnown, sight, index, RegionManager.canProjectileMove(a.getX(), a.getY(), b.getX(), b.getY(),
+                    a.getZ(), 1, 1, null));
+            populated = true;
+        }
+        return isSet(sight, index);
+    }
+
+    /**
+     * Gets the cached result of {@link RegionManager#canMove} between two
+     * tiles which are {@link #covers covered}.
+     */
+    static boolean canMove(Location a, Location b) {
+        int index = index(a.getX(), a.getY(), b.getX(), b.getY());
+        if (!isSet(walkKnown, index)) {
+            store(walkKnown, walk, index, RegionManager.canMove(a.getX(), a.getY(), b.getX(), b.getY(), a.getZ(), 1,
+                    1, null));
+            populated = true;
+        }
+        return isSet(walk, index);
+    }
+
+    /**
+     * Discards every cached result if a tile's clipping changing could affect
+     * them. The checks between two tiles only look at the tiles between them,
+     * so only changes inside of the area matter. Private areas with clipping of
+     * their own are never cached.
+     */
+    private static void invalidate(int x, int y, int z, PrivateArea privateArea) {
+        if (!populated || privateArea != null || z != area.height || x < area.getX() || x > area.getX2() || y < area.getY()
+                || y > area.getY2()) {
+            return;
+        }
+        Arrays.fill(sightKnown, 0);
+        Arrays.fill(walkKnown, 0);
+        populated = false;
+    }
+
+    private static int index(int startX, int startY, int endX, int endY) {
+        int tile = (startX - area.getX()) * (area.getY2() - area.getY() + 1) + (startY - area.getY());
+        return tile * WINDOW * WINDOW + (endX - startX + RANGE) * WINDOW + (endY - startY + RANGE);
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static void store(long[] known, long[] values, int index, boolean value) {
+        known[index >>> 6] |= 1L << index;
+        if (value) {
+            values[index >>> 6] |= 1L << index;
+        } else {
+            values[index >>> 6] &= ~(1L << index);
+        }
+    }
+}
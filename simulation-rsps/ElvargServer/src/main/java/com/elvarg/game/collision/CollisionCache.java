@@ -0,0 +1,250 @@
+package com.elvarg.game.collision;
+
+import com.elvarg.game.GameConstants;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * A precompiled file holding the final clipping of every region, so that the
+ * server doesn't have to decompress and parse the map files of a region
+ * before its clipping can be used.
+ *
+ * The file is built offline with the {@code buildCollisionCache} Gradle task,
+ * which runs {@link #main(String[])}, and is memory-mapped on startup. Every
+ * non-empty height of a region is stored as 64x64 ints laid out the same way
+ * as {@link Region}'s own clipping. The file also holds a stamp of the
+ * names, sizes and modification times of the files it was built from (the
+ * map index, every map file and the object definitions), so it's ignored
+ * once any of them have changed, without having to read them on startup.
+ */
+public final class CollisionCache {
+
+    private static final Logger logger = Logger.getLogger(CollisionCache.class.getName());
+
+    /**
+     * The location of the cache file.
+     */
+    public static final Path FILE = Paths.get(GameConstants.CLIPPING_DIRECTORY, "collision.dat");
+
+    /**
+     * Identifies a collision cache file, "CLIP".
+     */
+    private static final int MAGIC = 0x434C4950;
+
+    /**
+     * The version of the file format.
+     */
+    private static final int VERSION = 3;
+
+    /**
+     * The amount of ints in the header, before the region entries.
+     */
+    private static final int HEADER_SIZE = 4;
+
+    /**
+     * The amount of ints in each region entry: the region id and the offset of
+     * each height, or -1 if the height has no clipping.
+     */
+    private static final int ENTRY_SIZE = 5;
+
+    /**
+     * The amount of ints in a single height of a region.
+     */
+    private static final int PLANE_SIZE = 64 * 64;
+
+    /**
+     * The files in the clipping directory, besides the map files, which the
+     * clipping is built from.
+     */
+    private static final String[] SOURCE_FILES = { "map_index", "loc.dat", "loc.idx" };
+
+    private CollisionCache() {
+    }
+
+    /**
+     * Maps the cache file into memory and hands every region its clipping.
+     *
+     * @return {@code true} if the cache was loaded, {@code false} if there is no
+     *         up to date cache file.
+     * @throws IOException
+     */
+    public static boolean load() throws IOException {
+        return load(FILE);
+    }
+
+    /**
+     * Maps a cache file into memory and hands every region its clipping.
+     *
+     * @param file
+     * @return {@code true} if the cache was loaded, {@code false} if the file
+     *         doesn't exist or is out of date.
+     * @throws IOException
+     */
+    static boolean load(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return false;
+        }
+        IntBuffer data;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).asIntBuffer();
+        }
+        if (data.get(0) != MAGIC || data.get(1) != VERSION) {
+            logger.warning("Ignoring " + file + ", it was built by a different version.");
+            return false;
+        }
+        if (data.get(2) != sourceStamp()) {
+            logger.warning("Ignoring " + file + ", the maps or object definitions have changed since it was built.");
+            return false;
+        }
+        int count = data.get(3);
+        for (int i = 0; i < count; i++) {
+            int entry = HEADER_SIZE + i * ENTRY_SIZE;
+            int regionId = data.get(entry);
+            int[] planes = new int[4];
+            for (int z = 0; z < 4; z++) {
+                planes[z] = data.get(entry + 1 + z);
+            }
+            RegionManager.getRegion(regionId).ifPresent(region -> region.setCachedClips(data, planes));
+        }
+        logger.info("Loaded the clipping of " + count + " regions from " + file + ".");
+        return true;
+    }
+
+    /**
+     * Writes the clipping of every loaded region into the cache file.
+     *
+     * @throws IOException
+     */
+    public static void write() throws IOException {
+        write(FILE);
+    }
+
+    /**
+     * Writes the clipping of every loaded region into a cache file.
+     *
+     * @param file
+     * @throws IOException
+     */
+    static void write(Path file) throws IOException {
+        List<Region> regions = new ArrayList<>(RegionManager.regions.values());
+        regions.sort(Comparator.comparingInt(Region::getRegionId));
+
+        List<int[]> entries = new ArrayList<>();
+        int offset = HEADER_SIZE + regions.size() * ENTRY_SIZE;
+        for (Region region : regions) {
+            int[] entry = new int[ENTRY_SIZE];
+            entry[0] = region.getRegionId();
+            for (int z = 0; z < 4; z++) {
+                if (hasClipping(region, z)) {
+                    entry[1 + z] = offset;
+                    offset += PLANE_SIZE;
+                } else {
+                    entry[1 + z] = -1;
+                }
+            }
+            entries.add(entry);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(offset * Integer.BYTES);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(sourceStamp()).putInt(entries.size());
+        for (int[] entry : entries) {
+            for (int value : entry) {
+                buffer.putInt(value);
+            }
+        }
+        for (int i = 0; i < regions.size(); i++) {
+            Region region = regions.get(i);
+            int absX = (region.getRegionId() >> 8) * 64;
+            int absY = (region.getRegionId() & 0xff) * 64;
+            for (int z = 0; z < 4; z++) {
+                if (entries.get(i)[1 + z] == -1) {
+                    continue;
+                }
+                for (int x = 0; x < 64; x++) {
+                    for (int y = 0; y < 64; y++) {
+                        buffer.putInt(region.getClip(absX + x, absY + y, z));
+                    }
+                }
+            }
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Checks if a height of a region has any clipping.
+     */
+    private static boolean hasClipping(Region region, int z) {
+        int absX = (region.getRegionId() >> 8) * 64;
+        int absY = (region.getRegionId() & 0xff) * 64;
+        for (int x = 0; x < 64; x++) {
+            for (int y = 0; y < 64; y++) {
+                if (region.getClip(absX + x, absY + y, z) != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Calculates a stamp of every file the clipping is built from: the map
+     * index, the object definitions and the map files. Only the name, size
+     * and modification time of each file go into the stamp, so that checking
+     * the cache on startup doesn't have to read the files themselves.
+     */
+    private static int sourceStamp() throws IOException {
+        Path directory = Paths.get(GameConstants.CLIPPING_DIRECTORY);
+        List<Path> sources = new ArrayList<>();
+        for (String file : SOURCE_FILES) {
+            sources.add(directory.resolve(file));
+        }
+        try (Stream<Path> files = Files.list(directory.resolve("maps"))) {
+            sources.addAll(files.sorted().collect(Collectors.toList()));
+        }
+        CRC32 crc = new CRC32();
+        ByteBuffer attributes = ByteBuffer.allocate(Long.BYTES * 2);
+        for (Path source : sources) {
+            BasicFileAttributes attrs = Files.readAttributes(source, BasicFileAttributes.class);
+            crc.update(source.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+            attributes.clear();
+            attributes.putLong(attrs.size()).putLong(attrs.lastModifiedTime().toMillis());
+            crc.update(attributes.array());
+        }
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Builds the cache file from the map files.
+     *
+     * @param args
+     * @throws Exception
+     */
+    public static void main(String[] args) throws Exception {
+        RegionManager.init();
+        RegionManager.loadAllMapFiles();
+        write();
+        logger.info("Wrote the clipping of " + RegionManager.regions.size() + " regions to " + FILE + ".");
+    }
+}
@@ -2,6 +2,8 @@ package com.elvarg.game.collision;
 
 import com.elvarg.game.model.Location;
 
+import java.nio.IntBuffer;
+
 /**
  * Represents a region.
  *
@@ -25,15 +27,35 @@ public class Region {
     private final int objectFile;
 
     /**
-     * The clipping in this region.
+     * The clipping in this region, for all four heights, indexed by
+     * {@link #tile(int, int, int)}. Only allocated once clipping is added.
+     */
+    private int[] clips;
+
+    /**
+     * The memory-mapped {@link CollisionCache} holding this region's clipping,
+     * which is used until the clipping of this region is changed.
+     */
+    private IntBuffer cachedClips;
+
+    /**
+     * The offset of each height within {@link #cachedClips}, or -1 if the
+     * height has no clipping.
      */
-    public int[][][] clips = new int[4][][];
+    private int[] cachedPlanes;
 
     /**
      * Has this region been loaded?
      */
     private boolean loaded;
 
+    /**
+     * The version of this region's clipping, which changes every time any of
+     * its clipping does. Anything derived from the clipping can hold on to the
+     * version it was built from to tell whether it's still up to date.
+     */
+    private int version;
+
     /**
      * Creates a new region.
      *
@@ -68,14 +90,10 @@ public class Region {
      * @return
      */
     public int getClip(int x, int y, int height) {
-        int regionAbsX = (regionId >> 8) * 64;
-        int regionAbsY = (regionId & 0xff) * 64;
-        if (height < 0 || height >= 4)
-            height = 0;
-        if (clips[height] == null) {
-            clips[height] = new int[64][64];
+        if (clips == null) {
+            return cachedClips == null ? 0 : getCachedClip(tile(x, y, height));
         }
-        return clips[height][x - regionAbsX][y - regionAbsY];
+        return clips[tile(x, y, height)];
     }
 
     /**
@@ -85,16 +103,20 @@ public class Region {
      * @param y
      * @param height
      * @param shift
+     * @return {@code true} if the clipping changed.
      */
-    public void addClip(int x, int y, int height, int shift) {
-        int regionAbsX = (regionId >> 8) * 64;
-        int regionAbsY = (regionId & 0xff) * 64;
-        if (height < 0 || height >= 4)
-            height = 0;
-        if (clips[height] == null) {
-            clips[height] = new int[64][64];
+    public boolean addClip(int x, int y, int height, int shift) {
+        if (clips == null) {
+            allocateClips();
         }
-        clips[height][x - regionAbsX][y - regionAbsY] |= shift;
+        int tile = tile(x, y, height);
+        int clip = clips[tile] | shift;
+        if (clip == clips[tile]) {
+            return false;
+        }
+        clips[tile] = clip;
+        version++;
+        return true;
     }
 
     /**
@@ -104,16 +126,87 @@ public class Region {
      * @param y
      * @param height
      * @param shift
+     * @return {@code true} if the clipping changed.
      */
-    public void removeClip(int x, int y, int height, int shift) {
-        int regionAbsX = (regionId >> 8) * 64;
-        int regionAbsY = (regionId & 0xff) * 64;
+    public boolean removeClip(int x, int y, int height, int shift) {
+        if (clips == null) {
+            if (cachedClips == null) {
+                return false;
+            }
+            allocateClips();
+        }
+        int tile = tile(x, y, height);
+        int clip = clips[tile] & ~shift;
+        if (clip == clips[tile]) {
+            return false;
+        }
+        clips[tile] = clip;
+        version++;
+        return true;
+    }
+
+    /**
+     * Gets the version of this region's clipping.
+     *
+     * @return the version.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Uses the clipping from a memory-mapped {@link CollisionCache} until the
+     * clipping of this region is changed.
+     *
+     * @param cachedClips
+     * @param cachedPlanes
+     */
+    public void setCachedClips(IntBuffer cachedClips, int[] cachedPlanes) {
+        this.cachedClips = cachedClips;
+        this.cachedPlanes = cachedPlanes;
+        version++;
+    }
+
+    /**
+     * Does this region use clipping from the {@link CollisionCache}?
+     */
+    public boolean hasCachedClips() {
+        return cachedClips != null;
+    }
+
+    private int getCachedClip(int tile) {
+        int offset = cachedPlanes[tile >> 12];
+        return offset == -1 ? 0 : cachedClips.get(offset + (tile & 0xFFF));
+    }
+
+    /**
+     * Allocates the clipping of this region, copying it out of the
+     * {@link CollisionCache} if this region was using it.
+     */
+    private void allocateClips() {
+        clips = new int[4 * 64 * 64];
+        if (cachedClips != null) {
+            for (int tile = 0; tile < clips.length; tile++) {
+                clips[tile] = getCachedClip(tile);
+            }
+            cachedClips = null;
+            cachedPlanes = null;
+        }
+    }
+
+    /**
+     * Packs absolute coordinates within this region into an index of
+     * {@link #clips}. Heights outside of the four planes map onto height 0.
+     *
+     * @param x
+     * @param y
+     * @param height
+     * @return
+     */
+    private static int tile(int x, int y, int height) {
         if (height < 0 || height >= 4)
             height = 0;
-        if (clips[height] == null) {
-            clips[height] = new int[64][64];
-        }
-        clips[height][x - regionAbsX][y - regionAbsY] &= ~shift;
+        return (height << 12) | ((x & 63) << 6) | (y & 63);
     }
 
     /**
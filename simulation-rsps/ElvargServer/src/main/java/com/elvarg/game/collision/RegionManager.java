@@ -5,6 +5,7 @@ import com.elvarg.game.definition.ObjectDefinition;
 import com.elvarg.game.entity.impl.Mobile;
 import com.elvarg.game.entity.impl.object.GameObject;
 import com.elvarg.game.entity.impl.object.MapObjects;
+import com.elvarg.game.model.Boundary;
 import com.elvarg.game.model.Direction;
 import com.elvarg.game.model.Location;
 import com.elvarg.game.model.areas.impl.PrivateArea;
@@ -14,7 +15,9 @@ import com.elvarg.util.FileUtil;
 import javax.naming.OperationNotSupportedException;
 import java.io.File;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -45,6 +48,17 @@ public class RegionManager {
      */
     public static Map<Integer, Region> regions = new HashMap<Integer, Region>();
 
+    /**
+     * All of our regions indexed by their id, so clipping lookups don't have
+     * to go through {@link #regions}.
+     */
+    private static final Region[] regionTable = new Region[1 << 16];
+
+    /**
+     * The listeners notified whenever clipping changes.
+     */
+    private static final List<ClippingListener> listeners = new ArrayList<>();
+
     /**
      * Loads the client's map_index file and constructs new regions based on the
      * data it holds.
@@ -66,7 +80,9 @@ public class RegionManager {
             int regionId = stream.readUShort();
             int terrainFile = stream.readUShort();
             int objectFile = stream.readUShort();
-            RegionManager.regions.put(regionId, new Region(regionId, terrainFile, objectFile));
+            Region region = new Region(regionId, terrainFile, objectFile);
+            RegionManager.regions.put(regionId, region);
+            RegionManager.regionTable[regionId] = region;
         }
     }
 
@@ -77,7 +93,7 @@ public class RegionManager {
      * @return
      */
     public static Optional<Region> getRegion(int regionId) {
-        return Optional.ofNullable(regions.get(regionId));
+        return Optional.ofNullable(regionTable[regionId & 0xFFFF]);
     }
 
     /**
@@ -106,6 +122,25 @@ public class RegionManager {
         return ((regionX / 8) << 8) + (regionY / 8);
     }
 
+    /**
+     * Gets the {@link Region} containing the given coordinates and makes sure
+     * its map files are loaded, without any allocations.
+     *
+     * @param x
+     * @param y
+     * @return the region, or {@code null} if the coordinates aren't mapped.
+     */
+    private static Region loadedRegion(int x, int y) {
+        if ((x | y) < 0 || x >= 1 << 14 || y >= 1 << 14) {
+            return null;
+        }
+        Region region = regionTable[((x >> 6) << 8) | (y >> 6)];
+        if (region != null && !region.isLoaded() && !region.hasCachedClips()) {
+            loadMapFiles(region);
+        }
+        return region;
+    }
+
     /**
      * Attempts to add clipping for a variable object.
      *
@@ -499,12 +534,13 @@ public class RegionManager {
      */
     public static void addClipping(int x, int y, int height, int shift, PrivateArea privateArea) {
         if (privateArea != null) {
-            privateArea.setClip(new Location(x, y, height), shift);
+            privateArea.setClip(x, y, height, shift);
+            clippingChanged(x, y, height, privateArea);
             return;
         }
-        Optional<Region> r = getRegion(x, y);
-        if (r.isPresent()) {
-            r.get().addClip(x, y, height, shift);
+        Region region = loadedRegion(x, y);
+        if (region != null && region.addClip(x, y, height, shift)) {
+            clippingChanged(x, y, height, null);
         }
     }
 
@@ -518,12 +554,52 @@ public class RegionManager {
      */
     public static void removeClipping(int x, int y, int height, int shift, PrivateArea privateArea) {
         if (privateArea != null) {
-            privateArea.removeClip(new Location(x, y, height));
+            privateArea.removeClip(x, y, height);
+            clippingChanged(x, y, height, privateArea);
             return;
         }
-        Optional<Region> r = getRegion(x, y);
-        if (r.isPresent()) {
-            r.get().removeClip(x, y, height, shift);
+        Region region = loadedRegion(x, y);
+        if (region != null && region.removeClip(x, y, height, shift)) {
+            clippingChanged(x, y, height, null);
+        }
+    }
+
+    /**
+     * Gets the version of the clipping of the region a tile is in, which
+     * changes whenever any of the clipping in that region does. Caches of
+     * anything derived from clipping can store the version they were built
+     * from and compare it to tell whether they're still valid.
+     *
+     * @param x
+     * @param y
+     * @return the version, or -1 if there's no region at the tile.
+     */
+    public static int getClippingVersion(int x, int y) {
+        Region region = loadedRegion(x, y);
+        return region != null ? region.getVersion() : -1;
+    }
+
+    /**
+     * Adds a listener which is notified whenever clipping changes.
+     *
+     * @param listener
+     */
+    public static void subscribe(ClippingListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener added by {@link #subscribe(ClippingListener)}.
+     *
+     * @param listener
+     */
+    public static void unsubscribe(ClippingListener listener) {
+        listeners.remove(listener);
+    }
+
+    private static void clippingChanged(int x, int y, int height, PrivateArea privateArea) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).clippingChanged(x, y, height, privateArea);
         }
     }
 
@@ -537,15 +613,15 @@ public class RegionManager {
      */
     public static int getClipping(int x, int y, int height, PrivateArea privateArea) {
         if (privateArea != null) {
-            int privateClip = privateArea.getClip(new Location(x, y, height));
+            int privateClip = privateArea.getClip(x, y, height);
             if (privateClip != 0) {
                 return privateClip;
             }
         }
 
-        Optional<Region> r = getRegion(x, y);
-        if (r.isPresent()) {
-            return r.get().getClip(x, y, height);
+        Region region = loadedRegion(x, y);
+        if (region != null) {
+            return region.getClip(x, y, height);
         }
         return 0;
     }
@@ -676,6 +752,9 @@ public class RegionManager {
     }
 
     public static boolean canProjectileAttack(Location a, Location b, int size, PrivateArea area) {
+        if (ClippingQueryCache.covers(a, b, size, area)) {
+            return ClippingQueryCache.canProjectileMove(a, b);
+        }
         return canProjectileMove(a.getX(), a.getY(), b.getX(),
                 b.getY(), a.getZ(), size, size, area);
     }
@@ -840,6 +919,9 @@ public class RegionManager {
     }
 
     public static boolean canMove(Location start, Location end, int xLength, int yLength, PrivateArea privateArea) {
+        if (xLength == yLength && ClippingQueryCache.covers(start, end, xLength, privateArea)) {
+            return ClippingQueryCache.canMove(start, end);
+        }
         return canMove(start.getX(), start.getY(), end.getX(), end.getY(), start.getZ(), xLength, yLength, privateArea);
     }
 
@@ -848,28 +930,71 @@ public class RegionManager {
         return canMove(position.getX(), position.getY(), end.getX(), end.getY(), position.getZ(), size, size, privateArea);
     }
 
+    /**
+     * Loads the map files of every region overlapping the given boundary.
+     *
+     * @param boundary
+     */
+    public static void loadMapFiles(Boundary boundary) {
+        for (int regionX = boundary.getX() >> 6; regionX <= boundary.getX2() >> 6; regionX++) {
+            for (int regionY = boundary.getY() >> 6; regionY <= boundary.getY2() >> 6; regionY++) {
+                loadMapFiles(regionX << 6, regionY << 6);
+            }
+        }
+    }
+
+    /**
+     * Makes sure the clipping of every region overlapping the given boundary
+     * is in place. Unlike {@link #loadMapFiles(Boundary)}, regions whose
+     * clipping came from the {@link CollisionCache} are left as they are, and
+     * their map files are only parsed once their objects are needed.
+     *
+     * @param boundary
+     */
+    public static void loadClipping(Boundary boundary) {
+        for (int regionX = boundary.getX() >> 6; regionX <= boundary.getX2() >> 6; regionX++) {
+            for (int regionY = boundary.getY() >> 6; regionY <= boundary.getY2() >> 6; regionY++) {
+                loadedRegion(regionX << 6, regionY << 6);
+            }
+        }
+    }
+
+    /**
+     * Loads the map files of every region in the map index.
+     */
+    public static void loadAllMapFiles() {
+        for (Region region : regionTable) {
+            if (region != null && !region.isLoaded()) {
+                loadMapFiles(region);
+            }
+        }
+    }
+
     /**
      * Attemps to load the map files related to this region...
      */
     public static void loadMapFiles(int x, int y) {
-        try {
-            int regionX = x >> 3;
-            int regionY = y >> 3;
-            int regionId = ((regionX / 8) << 8) + (regionY / 8);
-            Optional<Region> r = getRegion(regionId);
-            if (!r.isPresent()) {
-                return;
+        getRegion(calculateRegionId(x, y)).ifPresent(region -> {
+            if (!region.isLoaded()) {
+                loadMapFiles(region);
             }
-            if (r.get().isLoaded()) {
-                return;
-            }
-            r.get().setLoaded(true);
+        });
+    }
+
+    /**
+     * Loads the map files of the given region.
+     *
+     * @param region
+     */
+    private static void loadMapFiles(Region region) {
+        try {
+            region.setLoaded(true);
 
             // Attempt to create streams..
             byte[] oFileData = CompressionUtil.gunzip(
-                    FileUtil.readFile(GameConstants.CLIPPING_DIRECTORY + "maps/" + r.get().getObjectFile() + ".dat"));
+                    FileUtil.readFile(GameConstants.CLIPPING_DIRECTORY + "maps/" + region.getObjectFile() + ".dat"));
             byte[] gFileData = CompressionUtil.gunzip(
-                    FileUtil.readFile(GameConstants.CLIPPING_DIRECTORY + "maps/" + r.get().getTerrainFile() + ".dat"));
+                    FileUtil.readFile(GameConstants.CLIPPING_DIRECTORY + "maps/" + region.getTerrainFile() + ".dat"));
 
             // Don't allow ground file to be invalid..
             if (gFileData == null) {
@@ -878,8 +1003,8 @@ public class RegionManager {
 
             // Read values using our streams..
             Buffer groundStream = new Buffer(gFileData);
-            int absX = (r.get().getRegionId() >> 8) * 64;
-            int absY = (r.get().getRegionId() & 0xff) * 64;
+            int absX = (region.getRegionId() >> 8) * 64;
+            int absY = (region.getRegionId() & 0xff) * 64;
             byte[][][] heightMap = new byte[4][64][64];
             for (int z = 0; z < 4; z++) {
                 for (int tileX = 0; tileX < 64; tileX++) {
@@ -900,7 +1025,8 @@ public class RegionManager {
                     }
                 }
             }
-            for (int i = 0; i < 4; i++) {
+            // The terrain clipping of cached regions is already in the cache..
+            for (int i = 0; i < 4 && !region.hasCachedClips(); i++) {
                 for (int i2 = 0; i2 < 64; i2++) {
                     for (int i3 = 0; i3 < 64; i3++) {
                         if ((heightMap[i][i2][i3] & 1) == 1) {
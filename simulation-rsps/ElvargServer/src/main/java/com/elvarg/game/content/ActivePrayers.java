@@ -0,0 +1,216 @@
+package com.elvarg.game.content;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.elvarg.game.GameConstants;
+import com.elvarg.game.content.PrayerHandler.PrayerData;
+import com.elvarg.game.content.combat.CombatType;
+
+/**
+ * A set of active prayers, stored as a bitmask of prayer ids, along with
+ * everything the game needs to know about them: the boost each of them gives,
+ * which style they protect from and how quickly they drain prayer points.
+ *
+ * Instances are immutable and shared between every mobile with the same
+ * prayers active, so this is worked out once for each set of prayers rather
+ * than on every attack.
+ */
+public final class ActivePrayers {
+
+    /**
+     * Every set of prayers which has been active so far, by its mask. Only a
+     * handful of the possible sets are ever used together.
+     */
+    private static final Map<Long, ActivePrayers> SETS = new ConcurrentHashMap<>();
+
+    public static final ActivePrayers NONE = of(0L);
+
+    private final long mask;
+
+    /**
+     * The style protected from, or {@code null} if there is none.
+     */
+    private final CombatType protection;
+
+    /**
+     * The prayer points drained each game tick, before the prayer bonus.
+     */
+    private final double drainPerTick;
+
+    /**
+     * The index of the active prayer of each {@link Boost} plus one, or 0 if
+     * none of its prayers are active.
+     */
+    private final byte[] boostRows = new byte[Boost.VALUES.length];
+
+    private ActivePrayers(long mask) {
+        this.mask = mask;
+
+        CombatType protection = null;
+        for (CombatType type : CombatType.values()) {
+            if ((mask & bit(PrayerHandler.getProtectingPrayer(type))) != 0) {
+                protection = type;
+                break;
+            }
+        }
+        this.protection = protection;
+
+        double drainPerTick = 0.0;
+        for (PrayerData pd : PrayerData.values()) {
+            if ((mask & bit(pd.ordinal())) == 0) {
+                continue;
+            }
+            double drainMinute = pd.getDrainRate();
+            double drainSeconds = drainMinute / 60;
+            double drainTicks = (drainSeconds * GameConstants.GAME_ENGINE_PROCESSING_CYCLE_RATE / 1000D);
+            drainPerTick += drainTicks;
+        }
+        this.drainPerTick = drainPerTick;
+
+        for (Boost boost : Boost.VALUES) {
+            for (int i = 0; i < boost.prayers.length; i++) {
+                if ((mask & bit(boost.prayers[i])) != 0) {
+                    boostRows[boost.ordinal()] = (byte) (i + 1);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the set of prayers a mask stands for.
+     *
+     * @param mask the mask, with the bit of each active prayer id set.
+     * @return the shared set.
+     */
+    public static ActivePrayers of(long mask) {
+        ActivePrayers prayers = SETS.get(mask);
+        if (prayers == null) {
+            prayers = SETS.computeIfAbsent(mask, ActivePrayers::new);
+        }
+        return prayers;
+    }
+
+    /**
+     * Gets the set of prayers which are active in an array of flags.
+     */
+    public static ActivePrayers of(boolean[] active) {
+        long mask = 0L;
+        for (int id = 0; id < active.length; id++) {
+            if (active[id]) {
+                mask |= bit(id);
+            }
+        }
+        return of(mask);
+    }
+
+    private static long bit(int id) {
+        return 1L << id;
+    }
+
+    /**
+     * Gets this set with a prayer turned on or off.
+     */
+    public ActivePrayers with(int id, boolean active) {
+        long mask = active ? this.mask | bit(id) : this.mask & ~bit(id);
+        return mask == this.mask ? this : of(mask);
+    }
+
+    public long getMask() {
+        return mask;
+    }
+
+    public boolean isActive(int id) {
+        return (mask & bit(id)) != 0;
+    }
+
+    /**
+     * Gets the style the active protection prayer protects from.
+     *
+     * @return the style, or {@code null} if there's no protection prayer
+     *         active.
+     */
+    public CombatType getProtection() {
+        return protection;
+    }
+
+    public boolean isProtectedFrom(CombatType type) {
+        return isActive(PrayerHandler.getProtectingPrayer(type));
+    }
+
+    public double getDrainPerTick() {
+        return drainPerTick;
+    }
+
+    /**
+     * Gets which of a boost's prayers is active.
+     *
+     * @return the index of the active prayer in {@link Boost#getPrayers()}
+     *         plus one, or 0 if none of them are.
+     */
+    public int getBoostRow(Boost boost) {
+        return boostRows[boost.ordinal()];
+    }
+
+    /**
+     * Gets the multiplier a boost's active prayer applies to its level.
+     *
+     * @return the multiplier, or 1 if none of its prayers are active.
+     */
+    public float getMultiplier(Boost boost) {
+        int row = boostRows[boost.ordinal()];
+        return row == 0 ? 1 : boost.multipliers[row - 1];
+    }
+
+    /**
+     * The level boosts given by prayers. The prayers of each are in the order
+     * the formulas have always checked them, and only the first active one is
+     * applied.
+     */
+    public enum Boost {
+        MELEE_ATTACK(
+                new int[] { PrayerHandler.CLARITY_OF_THOUGHT, PrayerHandler.IMPROVED_REFLEXES,
+                        PrayerHandler.INCREDIBLE_REFLEXES, PrayerHandler.CHIVALRY, PrayerHandler.PIETY },
+                new float[] { 1.05f, 1.10f, 1.15f, 1.15f, 1.20f }),
+        MELEE_STRENGTH(
+                new int[] { PrayerHandler.BURST_OF_STRENGTH, PrayerHandler.SUPERHUMAN_STRENGTH,
+                        PrayerHandler.ULTIMATE_STRENGTH, PrayerHandler.CHIVALRY, PrayerHandler.PIETY },
+                new float[] { 1.05f, 1.10f, 1.15f, 1.18f, 1.23f }),
+        DEFENCE(
+                new int[] { PrayerHandler.THICK_SKIN, PrayerHandler.ROCK_SKIN, PrayerHandler.STEEL_SKIN,
+                        PrayerHandler.CHIVALRY, PrayerHandler.PIETY, PrayerHandler.RIGOUR, PrayerHandler.AUGURY },
+                new float[] { 1.05f, 1.10f, 1.15f, 1.20f, 1.25f, 1.25f, 1.25f }),
+        RANGED_ATTACK(
+                new int[] { PrayerHandler.SHARP_EYE, PrayerHandler.HAWK_EYE, PrayerHandler.EAGLE_EYE,
+                        PrayerHandler.RIGOUR },
+                new float[] { 1.05f, 1.10f, 1.15f, 1.2f }),
+        RANGED_STRENGTH(
+                new int[] { PrayerHandler.SHARP_EYE, PrayerHandler.HAWK_EYE, PrayerHandler.EAGLE_EYE,
+                        PrayerHandler.RIGOUR },
+                new float[] { 1.05f, 1.10f, 1.15f, 1.23f }),
+        MAGIC(
+                new int[] { PrayerHandler.MYSTIC_WILL, PrayerHandler.MYSTIC_LORE, PrayerHandler.MYSTIC_MIGHT,
+                        PrayerHandler.AUGURY },
+                new float[] { 1.05f, 1.10f, 1.15f, 1.25f });
+
+        private static final Boost[] VALUES = values();
+
+        private final int[] prayers;
+
+        private final float[] multipliers;
+
+        Boost(int[] prayers, float[] multipliers) {
+            this.prayers = prayers;
+            this.multipliers = multipliers;
+        }
+
+        public int[] getPrayers() {
+            return prayers.clone();
+        }
+
+        public float[] getMultipliers() {
+            return multipliers.clone();
+        }
+    }
+}
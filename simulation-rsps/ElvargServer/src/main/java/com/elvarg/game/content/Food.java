@@ -10,6 +10,7 @@ import com.elvarg.game.model.Animation;
 import com.elvarg.game.model.Item;
 import com.elvarg.game.model.Priority;
 import com.elvarg.game.model.Skill;
+import com.elvarg.game.model.container.ItemCategory;
 import com.elvarg.util.timers.TimerKey;
 
 /**
@@ -220,4 +221,12 @@ public class Food {
 			return heal;
 		}
 	}
+
+	/**
+	 * Counts the hitpoints an inventory's food can heal.
+	 */
+	public static final ItemCategory HEALING = id -> {
+		Edible food = Edible.types.get(id);
+		return food == null ? 0 : food.getHeal();
+	};
 }
@@ -2,7 +2,6 @@ package com.elvarg.game.content;
 
 import java.util.HashMap;
 
-import com.elvarg.game.GameConstants;
 import com.elvarg.game.content.Dueling.DuelRule;
 import com.elvarg.game.content.combat.CombatType;
 import com.elvarg.game.entity.impl.Mobile;
@@ -83,7 +82,7 @@ public class PrayerHandler {
     }
 
     public static boolean isActivated(Mobile c, int prayer) {
-        return c.getPrayerActive()[prayer];
+        return c.isPrayerActive(prayer);
     }
 
     /**
@@ -95,7 +94,7 @@ public class PrayerHandler {
     public static boolean togglePrayer(Player player, final int buttonId) {
         PrayerData prayerData = PrayerData.actionButton.get(buttonId);
         if (prayerData != null) {
-            if (!player.getPrayerActive()[prayerData.ordinal()])
+            if (!player.isPrayerActive(prayerData.ordinal()))
                 activatePrayer(player, prayerData.ordinal());
             else
                 deactivatePrayer(player, prayerData.ordinal());
@@ -126,7 +125,7 @@ public class PrayerHandler {
         }
 
         // Check if we're already praying this prayer.
-        if (character.getPrayerActive()[prayerId]) {
+        if (character.isPrayerActive(prayerId)) {
 
             // If we are an npc, make sure our headicon
             // is up to speed.
@@ -330,11 +329,11 @@ public class PrayerHandler {
      * @param prayerId The id of the prayer being deactivated.
      */
     public static void deactivatePrayer(Mobile c, int prayerId) {
-        if (!c.getPrayerActive()[prayerId]) {
+        if (!c.isPrayerActive(prayerId)) {
             return;
         }
         PrayerData pd = PrayerData.prayerData.get(prayerId);
-        c.getPrayerActive()[prayerId] = false;
+        c.setPrayerActive(prayerId, false);
         if (c.isPlayer()) {
             Player p = c.getAsPlayer();
             p.getPacketSender().sendConfig(pd.configId, 0);
@@ -380,7 +379,7 @@ public class PrayerHandler {
             PrayerData pd = PrayerData.prayerData.get(i);
             if (pd == null)
                 continue;
-            player.getPrayerActive()[i] = false;
+            player.setPrayerActive(i, false);
             player.getPacketSender().sendConfig(pd.configId, 0);
             if (pd.hint != -1) {
                 int hintId = getHeadHint(player);
@@ -399,18 +398,18 @@ public class PrayerHandler {
      * @return The player's current head hint index.
      */
     private static int getHeadHint(Mobile character) {
-        boolean[] prayers = character.getPrayerActive();
-        if (prayers[PROTECT_FROM_MELEE])
+        ActivePrayers prayers = character.getActivePrayers();
+        if (prayers.isActive(PROTECT_FROM_MELEE))
             return 0;
-        if (prayers[PROTECT_FROM_MISSILES])
+        if (prayers.isActive(PROTECT_FROM_MISSILES))
             return 1;
-        if (prayers[PROTECT_FROM_MAGIC])
+        if (prayers.isActive(PROTECT_FROM_MAGIC))
             return 2;
-        if (prayers[RETRIBUTION])
+        if (prayers.isActive(RETRIBUTION))
             return 3;
-        if (prayers[SMITE])
+        if (prayers.isActive(SMITE))
             return 4;
-        if (prayers[REDEMPTION])
+        if (prayers.isActive(REDEMPTION))
             return 5;
         return -1;
     }
@@ -429,22 +428,9 @@ public class PrayerHandler {
             @Override
             public void execute() {
 
-                double drainPerTick = 0.0;
+                double drainPerTick = player.getActivePrayers().getDrainPerTick();
                 double pointDrain = player.getPrayerPointDrain();
 
-                for (int i = 0; i < player.getPrayerActive().length; i++) {
-                    if (!player.getPrayerActive()[i]) {
-                        continue;
-                    }
-                    PrayerData pd = PrayerData.prayerData.get(i);
-                    if (pd == null)
-                        continue;
-                    double drainMinute = pd.drainRate;
-                    double drainSeconds = drainMinute / 60;
-                    double drainTicks = (drainSeconds * GameConstants.GAME_ENGINE_PROCESSING_CYCLE_RATE / 1000D);
-                    drainPerTick += drainTicks;
-                }
-
                 if (player.getHitpoints() <= 0 || drainPerTick <= 0) {
                     this.stop();
                     return;
@@ -612,6 +598,13 @@ public class PrayerHandler {
                 this.hint = hint[0];
         }
 
+        /**
+         * Gets the rate of which the prayer drains prayer points per minute.
+         */
+        public double getDrainRate() {
+            return drainRate;
+        }
+
         /**
          * Gets the prayer's formatted name.
          *
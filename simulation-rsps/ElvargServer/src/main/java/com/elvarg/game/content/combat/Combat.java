@@ -39,6 +39,20 @@ public class Combat {
     private CombatSpell previousCast;
     private int queuedGraniteMaulSpecs = 0;
 
+    /**
+     * The combat method last resolved for a player by
+     * {@link CombatFactory#getMethod(Mobile)}, along with the state it was
+     * resolved from.
+     */
+    private CombatMethod resolvedMethod;
+    private int resolvedWeaponId;
+    private int resolvedAmmunitionId;
+    private WeaponInterfaces.WeaponInterface resolvedWeaponInterface;
+    private CombatSpecial resolvedSpecial;
+    private boolean resolvedSpecialActivated;
+    private CombatSpell resolvedCastSpell;
+    private CombatSpell resolvedAutocastSpell;
+
 
     public Combat(Mobile character) {
         this.character = character;
@@ -432,6 +446,36 @@ public class Combat {
         return queuedGraniteMaulSpecs;
     }
 
+    /**
+     * Gets the combat method last resolved for a player, if it was resolved
+     * from the same state.
+     *
+     * @return the combat method, or {@code null} if it has to be resolved
+     *         again.
+     */
+    CombatMethod getResolvedMethod(int weaponId, int ammunitionId, WeaponInterfaces.WeaponInterface weaponInterface,
+            CombatSpecial special, boolean specialActivated) {
+        if (resolvedMethod == null || resolvedWeaponId != weaponId || resolvedAmmunitionId != ammunitionId
+                || resolvedWeaponInterface != weaponInterface || resolvedSpecial != special
+                || resolvedSpecialActivated != specialActivated || resolvedCastSpell != castSpell
+                || resolvedAutocastSpell != autoCastSpell) {
+            return null;
+        }
+        return resolvedMethod;
+    }
+
+    void setResolvedMethod(CombatMethod method, int weaponId, int ammunitionId,
+            WeaponInterfaces.WeaponInterface weaponInterface, CombatSpecial special, boolean specialActivated) {
+        this.resolvedMethod = method;
+        this.resolvedWeaponId = weaponId;
+        this.resolvedAmmunitionId = ammunitionId;
+        this.resolvedWeaponInterface = weaponInterface;
+        this.resolvedSpecial = special;
+        this.resolvedSpecialActivated = specialActivated;
+        this.resolvedCastSpell = castSpell;
+        this.resolvedAutocastSpell = autoCastSpell;
+    }
+
     public void queueGraniteMaulSpec() {
         queuedGraniteMaulSpecs++;
     }
@@ -100,6 +100,9 @@ public class CombatFactory {
 	/**
 	 * Gets a character's combat method.
 	 *
+	 * A player's combat method is only resolved again once their weapon,
+	 * ammunition, spell or special attack has changed.
+	 *
 	 * @param attacker
 	 *            The character to get the combat method for.
 	 * @return
@@ -107,30 +110,19 @@ public class CombatFactory {
 	public static CombatMethod getMethod(Mobile attacker) {
 		if (attacker.isPlayer()) {
 			Player p = attacker.getAsPlayer();
+			Combat combat = p.getCombat();
 
-			// Update player data..
-			// Update ranged ammo / weapon
-			p.getCombat().setAmmunition(Ammunition.getFor(p));
-			p.getCombat().setRangedWeapon(RangedWeapon.getFor(p));
-
-			// Check if player is maging..
-			if (p.getCombat().getCastSpell() != null ||
-					// Ensure player needs staff equipped to use autocast
-					(p.getCombat().getAutocastSpell() != null && p.getEquipment().hasStaffEquipped())) {
-				return MAGIC_COMBAT;
-			}
-
-			// Check special attacks..
-			if (p.getCombatSpecial() != null) {
-				if (p.isSpecialActivated() || (p.getCombat().getQueuedGraniteMaulSpecs() > 0 && p.getCombatSpecial() == CombatSpecial.GRANITE_MAUL)) {
-					return p.getCombatSpecial().getCombatMethod();
-				}
-			}
+			Item[] equipment = p.getEquipment().getItems();
+			int weaponId = equipment[Equipment.WEAPON_SLOT].getId();
+			int ammunitionId = equipment[Equipment.AMMUNITION_SLOT].getId();
+			boolean specialActivated = p.isSpecialActivated() || (combat.getQueuedGraniteMaulSpecs() > 0 && p.getCombatSpecial() == CombatSpecial.GRANITE_MAUL);
 
-			// Check if player is ranging..
-			if (p.getCombat().getRangedWeapon() != null) {
-				return RANGED_COMBAT;
+			CombatMethod method = combat.getResolvedMethod(weaponId, ammunitionId, p.getWeapon(), p.getCombatSpecial(), specialActivated);
+			if (method == null) {
+				method = resolveMethod(p, specialActivated);
+				combat.setResolvedMethod(method, weaponId, ammunitionId, p.getWeapon(), p.getCombatSpecial(), specialActivated);
 			}
+			return method;
 
 		} else if (attacker.isNpc()) {
 			return attacker.getAsNpc().getCombatMethod();
@@ -140,6 +132,32 @@ public class CombatFactory {
 		return MELEE_COMBAT;
 	}
 
+	private static CombatMethod resolveMethod(Player p, boolean specialActivated) {
+		// Update player data..
+		// Update ranged ammo / weapon
+		p.getCombat().setAmmunition(Ammunition.getFor(p));
+		p.getCombat().setRangedWeapon(RangedWeapon.getFor(p));
+
+		// Check if player is maging..
+		if (p.getCombat().getCastSpell() != null ||
+				// Ensure player needs staff equipped to use autocast
+				(p.getCombat().getAutocastSpell() != null && p.getEquipment().hasStaffEquipped())) {
+			return MAGIC_COMBAT;
+		}
+
+		// Check special attacks..
+		if (p.getCombatSpecial() != null && specialActivated) {
+			return p.getCombatSpecial().getCombatMethod();
+		}
+
+		// Check if player is ranging..
+		if (p.getCombat().getRangedWeapon() != null) {
+			return RANGED_COMBAT;
+		}
+
+		return MELEE_COMBAT;
+	}
+
 	/**
 	 * Generates a random {@link HitDamage} based on the argued entity's stats.
 	 *
@@ -162,20 +180,20 @@ public class CombatFactory {
 			damage = Misc.inclusive(0, DamageFormulas.calculateMaxMeleeHit(entity));
 
 			// Do melee effects with the calculated damage..
-			if (victim.getPrayerActive()[PrayerHandler.PROTECT_FROM_MELEE]) {
+			if (victim.isPrayerActive(PrayerHandler.PROTECT_FROM_MELEE)) {
 				damage *= damageMultiplier;
 			}
 
 		} else if (type == CombatType.RANGED) {
 			damage = Misc.inclusive(0, DamageFormulas.calculateMaxRangedHit(entity));
 
-			if (victim.getPrayerActive()[PrayerHandler.PROTECT_FROM_MISSILES]) {
+			if (victim.isPrayerActive(PrayerHandler.PROTECT_FROM_MISSILES)) {
 				damage *= damageMultiplier;
 			}
 
 		} else if (type == CombatType.MAGIC) {
 			damage = Misc.inclusive(0, DamageFormulas.getMagicMaxhit(entity));
-			if (victim.getPrayerActive()[PrayerHandler.PROTECT_FROM_MAGIC]) {
+			if (victim.isPrayerActive(PrayerHandler.PROTECT_FROM_MAGIC)) {
 				damage *= damageMultiplier;
 			}
 
@@ -495,7 +513,7 @@ public class CombatFactory {
 		qHit = target.manipulateHit(qHit);
 
 		// Do block animation
-		target.performAnimation(new Animation(target.getBlockAnim()));
+		target.performAnimation(Animation.of(target.getBlockAnim()));
 
 		// Do other stuff for players..
 		if (target.isPlayer()) {
@@ -1,6 +1,5 @@
 package com.elvarg.game.content.combat.formula;
 
-import com.elvarg.game.content.PrayerHandler;
 import com.elvarg.game.content.combat.CombatEquipment;
 import com.elvarg.game.content.combat.CombatFactory;
 import com.elvarg.game.content.combat.CombatType;
@@ -66,29 +65,23 @@ public class AccuracyFormulasDpsCalc {
 
         Player player = entity.getAsPlayer();
 
-        float att = player.getSkillManager().getCurrentLevel(Skill.ATTACK);
+        float att = player.getCombatStats().getMeleeAttackLevel();
 
-        float prayerBonus = 1;
-
-        // Prayer additions
-        if (PrayerHandler.isActivated(player, PrayerHandler.CLARITY_OF_THOUGHT)) {
-            prayerBonus = 1.05f;
-        }
-        else if (PrayerHandler.isActivated(player, PrayerHandler.IMPROVED_REFLEXES)) {
-            prayerBonus = 1.10f;
-        }
-        else if (PrayerHandler.isActivated(player, PrayerHandler.INCREDIBLE_REFLEXES)) {
-            prayerBonus = 1.15f;
-        }
-        else if (PrayerHandler.isActivated(player, PrayerHandler.CHIVALRY)) {
-            prayerBonus = 1.15f;
-        }
-        else if (PrayerHandler.isActivated(player, PrayerHandler.PIETY)) {
-            prayerBonus = 1.20f;
+        // Special attack
+        if (player.isSpecialActivated()) {
+            att *= player.getCombatSpecial().getAccuracyMultiplier();
         }
 
-        att *= prayerBonus;
-        att = (float) Math.floor(att);
+        return (int) Math.floor(att);
+    }
+
+    /**
+     * Calculates a player's effective melee attack level, before any special
+     * attack is applied.
+     */
+    static float calculateMeleeAttackLevel(Player player) {
+        // Prayer additions
+        float att = CombatTables.MELEE_ATTACK.apply(player, player.getSkillManager().getCurrentLevel(Skill.ATTACK));
 
         FightStyle fightStyle = player.getFightType().getStyle();
         if (fightStyle == FightStyle.ACCURATE) {
@@ -104,12 +97,7 @@ public class AccuracyFormulasDpsCalc {
             att *= 1.1;
         }
 
-        // Special attack
-        if (player.isSpecialActivated()) {
-            att *= player.getCombatSpecial().getAccuracyMultiplier();
-        }
-
-        return (int) Math.floor(att);
+        return att;
     }
 
     public static int attackMeleeRoll(Mobile entity) {
@@ -123,29 +111,34 @@ public class AccuracyFormulasDpsCalc {
 
         Player player = entity.getAsPlayer();
 
+        attRoll *= player.getCombatStats().getMeleeAttackBonus();
+
+        // Include any target specific gear here if/when supported (ex. salve amulet)
+
+        return attRoll;
+    }
+
+    /**
+     * Calculates the multiplier a player's equipment bonus for their current
+     * fight type applies to their melee attack roll.
+     */
+    static int calculateMeleeAttackBonus(Player player) {
         int attStab = player.getBonusManager().getAttackBonus()[BonusManager.ATTACK_STAB];
         int attSlash = player.getBonusManager().getAttackBonus()[BonusManager.ATTACK_SLASH];
         int attCrush = player.getBonusManager().getAttackBonus()[BonusManager.ATTACK_CRUSH];
 
         switch (player.getFightType().getBonusType()) {
             case BonusManager.ATTACK_STAB:
-                attRoll *= attStab + 64;
-                break;
+                return attStab + 64;
             case BonusManager.ATTACK_SLASH:
-                attRoll *= attSlash + 64;
-                break;
+                return attSlash + 64;
             case BonusManager.ATTACK_CRUSH:
-                attRoll *= attCrush + 64;
-                break;
+                return attCrush + 64;
             default:
                 // Should throw exception? this shouldn't happen
                 int maxAtt = Math.max(attStab, Math.max(attCrush, attSlash));
-                attRoll *= maxAtt + 64;
+                return maxAtt + 64;
         }
-
-        // Include any target specific gear here if/when supported (ex. salve amulet)
-
-        return attRoll;
     }
 
     private static int effectiveDefenseLevel(Mobile enemy) {
@@ -155,35 +148,8 @@ public class AccuracyFormulasDpsCalc {
         }
 
         Player player = enemy.getAsPlayer();
-        float def = player.getSkillManager().getCurrentLevel(Skill.DEFENCE);
-
-        float prayerBonus = 1;
-
         // Prayer additions
-        if (PrayerHandler.isActivated(enemy, PrayerHandler.THICK_SKIN)) {
-            prayerBonus = 1.05f;
-        }
-        else if (PrayerHandler.isActivated(enemy, PrayerHandler.ROCK_SKIN)) {
-            prayerBonus = 1.10f;
-        }
-        else if (PrayerHandler.isActivated(enemy, PrayerHandler.STEEL_SKIN)) {
-            prayerBonus = 1.15f;
-        }
-        else if (PrayerHandler.isActivated(enemy, PrayerHandler.CHIVALRY)) {
-            prayerBonus = 1.20f;
-        }
-        else if (PrayerHandler.isActivated(enemy, PrayerHandler.PIETY)) {
-            prayerBonus = 1.25f;
-        }
-        else if (PrayerHandler.isActivated(enemy, PrayerHandler.RIGOUR)) {
-            prayerBonus = 1.25f;
-        }
-        else if (PrayerHandler.isActivated(enemy, PrayerHandler.AUGURY)) {
-            prayerBonus = 1.25f;
-        }
-
-        def *= prayerBonus;
-        def = (float) Math.floor(def);
+        float def = CombatTables.DEFENCE.apply(enemy, player.getSkillManager().getCurrentLevel(Skill.DEFENCE));
 
         FightStyle fightStyle = player.getFightType().getStyle();
         if (fightStyle == FightStyle.DEFENSIVE) {
@@ -204,6 +170,13 @@ public class AccuracyFormulasDpsCalc {
     }
 
     public static int defenseMeleeRoll(Mobile enemy, int bonusType) {
+        if (enemy.isPlayer()) {
+            return enemy.getAsPlayer().getCombatStats().getMeleeDefenceRoll(bonusType);
+        }
+        return calculateDefenseMeleeRoll(enemy, bonusType);
+    }
+
+    static int calculateDefenseMeleeRoll(Mobile enemy, int bonusType) {
         int defLevel = effectiveDefenseLevel(enemy);
 
         Player enemyPlayer = enemy.getAsPlayer();
@@ -234,6 +207,13 @@ public class AccuracyFormulasDpsCalc {
     // Ranged
 
     public static int defenseRangedRoll(Mobile enemy) {
+        if (enemy.isPlayer()) {
+            return enemy.getAsPlayer().getCombatStats().getRangedDefenceRoll();
+        }
+        return calculateDefenseRangedRoll(enemy);
+    }
+
+    static int calculateDefenseRangedRoll(Mobile enemy) {
         int defLevel = effectiveDefenseLevel(enemy);
 
         int defRange = enemy.isPlayer() ?
@@ -254,25 +234,9 @@ public class AccuracyFormulasDpsCalc {
         }
 
         Player player = entity.getAsPlayer();
-        float rangeAccuracy = player.getSkillManager().getCurrentLevel(Skill.RANGED);
-
         // Prayers
-        float prayerMod = 1.0f;
-        if (PrayerHandler.isActivated(player, PrayerHandler.SHARP_EYE)) {
-            prayerMod = 1.05f;
-        }
-        else if (PrayerHandler.isActivated(player, PrayerHandler.HAWK_EYE)) {
-            prayerMod = 1.10f;
-        }
-        else if (PrayerHandler.isActivated(player, PrayerHandler.EAGLE_EYE)) {
-            prayerMod = 1.15f;
-        }
-        else if (PrayerHandler.isActivated(player, PrayerHandler.RIGOUR)) {
-            prayerMod = 1.2f;
-        }
-
-        rangeAccuracy *= prayerMod;
-        rangeAccuracy = (float) Math.floor(rangeAccuracy);
+        float rangeAccuracy = CombatTables.RANGED_ATTACK.apply(player,
+                player.getSkillManager().getCurrentLevel(Skill.RANGED));
 
         FightStyle fightStyle = player.getFightType().getStyle();
         if (fightStyle == FightStyle.ACCURATE) {
@@ -289,6 +253,13 @@ public class AccuracyFormulasDpsCalc {
     }
 
     public static int attackRangedRoll(Mobile entity) {
+        if (entity.isPlayer()) {
+            return entity.getAsPlayer().getCombatStats().getRangedAttackRoll();
+        }
+        return calculateAttackRangedRoll(entity);
+    }
+
+    static int calculateAttackRangedRoll(Mobile entity) {
         int accuracyBonus =
                 entity.isNpc() ? 0 : entity.getAsPlayer().getBonusManager().getAttackBonus()[BonusManager.ATTACK_RANGE];
 
@@ -310,26 +281,8 @@ public class AccuracyFormulasDpsCalc {
         }
 
         Player player = entity.getAsPlayer();
-        float mag = player.getSkillManager().getCurrentLevel(Skill.MAGIC);
-
-        float prayerBonus = 1;
-
         // Prayer additions
-        if (PrayerHandler.isActivated(player, PrayerHandler.MYSTIC_WILL)) {
-            prayerBonus = 1.05f;
-        }
-        else if (PrayerHandler.isActivated(player, PrayerHandler.MYSTIC_LORE)) {
-            prayerBonus = 1.10f;
-        }
-        else if (PrayerHandler.isActivated(player, PrayerHandler.MYSTIC_MIGHT)) {
-            prayerBonus = 1.15f;
-        }
-        else if (PrayerHandler.isActivated(player, PrayerHandler.AUGURY)) {
-            prayerBonus = 1.25f;
-        }
-
-        mag *= prayerBonus;
-        mag = (float) Math.floor(mag);
+        float mag = CombatTables.MAGIC.apply(player, player.getSkillManager().getCurrentLevel(Skill.MAGIC));
 
         // Offensive magic level checks a few extra things
         if (!defensive) {
@@ -352,6 +305,10 @@ public class AccuracyFormulasDpsCalc {
             int npcMagicDefence = 0; // always 0 right now
             return (9 + npcMagicLevel) * (npcMagicDefence + 64);
         }
+        return enemy.getAsPlayer().getCombatStats().getMagicDefenceRoll();
+    }
+
+    static int calculateDefenseMagicRoll(Player enemy) {
         int magicLevelPart = (int) Math.floor(effectiveMagicLevel(enemy, true) * 0.7);
         int defLevelPart = (int) Math.floor(effectiveDefenseLevel(enemy) * 0.3);
 
@@ -362,11 +319,8 @@ public class AccuracyFormulasDpsCalc {
     }
 
     public static int attackMagicRoll(Mobile entity) {
-        int accuracyBonus = (entity.isNpc() ? 0 :
-                           entity.getAsPlayer().getBonusManager().getAttackBonus()[BonusManager.ATTACK_MAGIC]);
-
-        int attLevel = effectiveMagicLevel(entity, false);
-        int attRoll = attLevel * (accuracyBonus + 64);
+        int attRoll = entity.isPlayer() ? entity.getAsPlayer().getCombatStats().getMagicAttackRoll()
+                : calculateAttackMagicRoll(entity);
 
         // If/when supported: multiply by 1.15 if wearing a slayer helm on task or killing undead monsters with an
         // imbued salve amulet.
@@ -376,4 +330,16 @@ public class AccuracyFormulasDpsCalc {
 
         return attRoll;
     }
+
+    /**
+     * Calculates a magic attack roll before the multiplier of the spell being
+     * cast is applied.
+     */
+    static int calculateAttackMagicRoll(Mobile entity) {
+        int accuracyBonus = (entity.isNpc() ? 0 :
+                           entity.getAsPlayer().getBonusManager().getAttackBonus()[BonusManager.ATTACK_MAGIC]);
+
+        int attLevel = effectiveMagicLevel(entity, false);
+        return attLevel * (accuracyBonus + 64);
+    }
 }
@@ -0,0 +1,185 @@
+package com.elvarg.game.content.combat.formula;
+
+import com.elvarg.game.content.combat.FightType;
+import com.elvarg.game.entity.impl.player.Player;
+import com.elvarg.game.model.Item;
+import com.elvarg.game.model.Skill;
+
+/**
+ * The parts of a player's combat rolls and max hits which only depend on
+ * their levels, prayers, fight type and equipment.
+ *
+ * Rather than working these out on every attack, they're kept until one of
+ * those changes. Every read checks the player's current state against the
+ * state the stats were calculated from, so changes made anywhere are picked
+ * up. Special attacks, spells and set effects which depend on the player's
+ * hitpoints are still applied by the formulas on top of these.
+ */
+public final class CombatStats {
+
+    /**
+     * The skills the stats depend on.
+     */
+    private static final Skill[] SKILLS = { Skill.ATTACK, Skill.STRENGTH, Skill.DEFENCE, Skill.RANGED,
+            Skill.MAGIC };
+
+    private final Player player;
+
+    /**
+     * The state the stats were last calculated from.
+     */
+    private final int[] levels = new int[SKILLS.length];
+    private final int[] equipment = new int[14];
+    private int prayerVersion;
+    private int bonusVersion;
+    private FightType fightType;
+    private boolean calculated;
+
+    private float meleeAttackLevel;
+    private int meleeAttackBonus;
+    private int meleeAttackRoll;
+    private final int[] meleeDefenceRolls = new int[4];
+    private int rangedAttackRoll;
+    private int rangedDefenceRoll;
+    private int magicAttackRoll;
+    private int magicDefenceRoll;
+    private float baseMeleeMaxHit;
+    private float baseRangedMaxHit;
+
+    public CombatStats(Player player) {
+        this.player = player;
+    }
+
+    /**
+     * Recalculates the stats if anything they depend on has changed.
+     */
+    private void validate() {
+        boolean changed = !calculated;
+
+        for (int i = 0; i < SKILLS.length; i++) {
+            int level = player.getSkillManager().getCurrentLevel(SKILLS[i]);
+            if (levels[i] != level) {
+                levels[i] = level;
+                changed = true;
+            }
+        }
+
+        Item[] items = player.getEquipment().getItems();
+        for (int slot = 0; slot < equipment.length && slot < items.length; slot++) {
+            int id = items[slot] == null ? -1 : items[slot].getId();
+            if (equipment[slot] != id) {
+                equipment[slot] = id;
+                changed = true;
+            }
+        }
+
+        if (prayerVersion != player.getPrayerVersion()) {
+            prayerVersion = player.getPrayerVersion();
+            changed = true;
+        }
+        if (bonusVersion != player.getBonusManager().getVersion()) {
+            bonusVersion = player.getBonusManager().getVersion();
+            changed = true;
+        }
+        if (fightType != player.getFightType()) {
+            fightType = player.getFightType();
+            changed = true;
+        }
+
+        if (changed) {
+            calculate();
+        }
+    }
+
+    private void calculate() {
+        meleeAttackLevel = AccuracyFormulasDpsCalc.calculateMeleeAttackLevel(player);
+        meleeAttackBonus = AccuracyFormulasDpsCalc.calculateMeleeAttackBonus(player);
+        meleeAttackRoll = (int) Math.floor(meleeAttackLevel) * meleeAttackBonus;
+        for (int bonusType = 0; bonusType < meleeDefenceRolls.length; bonusType++) {
+            meleeDefenceRolls[bonusType] = AccuracyFormulasDpsCalc.calculateDefenseMeleeRoll(player, bonusType);
+        }
+        rangedAttackRoll = AccuracyFormulasDpsCalc.calculateAttackRangedRoll(player);
+        rangedDefenceRoll = AccuracyFormulasDpsCalc.calculateDefenseRangedRoll(player);
+        magicAttackRoll = AccuracyFormulasDpsCalc.calculateAttackMagicRoll(player);
+        magicDefenceRoll = AccuracyFormulasDpsCalc.calculateDefenseMagicRoll(player);
+        baseMeleeMaxHit = DamageFormulas.calculateBaseMeleeMaxHit(player);
+        baseRangedMaxHit = DamageFormulas.calculateBaseRangedMaxHit(player);
+        calculated = true;
+    }
+
+    /**
+     * Gets the effective melee attack level, before any special attack.
+     */
+    public float getMeleeAttackLevel() {
+        validate();
+        return meleeAttackLevel;
+    }
+
+    /**
+     * Gets the multiplier of the equipment bonus for the current fight type.
+     */
+    public int getMeleeAttackBonus() {
+        validate();
+        return meleeAttackBonus;
+    }
+
+    /**
+     * Gets the melee attack roll for the current fight type, before any
+     * special attack.
+     */
+    public int getMeleeAttackRoll() {
+        validate();
+        return meleeAttackRoll;
+    }
+
+    /**
+     * Gets the melee defence roll against an attack style.
+     *
+     * @param bonusType the {@link com.elvarg.game.model.equipment.BonusManager}
+     *                  attack bonus of the attack.
+     */
+    public int getMeleeDefenceRoll(int bonusType) {
+        validate();
+        return meleeDefenceRolls[bonusType >= 0 && bonusType < 3 ? bonusType : 3];
+    }
+
+    public int getRangedAttackRoll() {
+        validate();
+        return rangedAttackRoll;
+    }
+
+    public int getRangedDefenceRoll() {
+        validate();
+        return rangedDefenceRoll;
+    }
+
+    /**
+     * Gets the magic attack roll, before the multiplier of the spell being
+     * cast.
+     */
+    public int getMagicAttackRoll() {
+        validate();
+        return magicAttackRoll;
+    }
+
+    public int getMagicDefenceRoll() {
+        validate();
+        return magicDefenceRoll;
+    }
+
+    /**
+     * Gets the melee max hit, before any special attack or set effect.
+     */
+    public float getBaseMeleeMaxHit() {
+        validate();
+        return baseMeleeMaxHit;
+    }
+
+    /**
+     * Gets the ranged max hit, before any special attack.
+     */
+    public float getBaseRangedMaxHit() {
+        validate();
+        return baseRangedMaxHit;
+    }
+}
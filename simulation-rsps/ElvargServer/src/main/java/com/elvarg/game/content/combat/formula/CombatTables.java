@@ -0,0 +1,161 @@
+package com.elvarg.game.content.combat.formula;
+
+import com.elvarg.game.content.ActivePrayers;
+import com.elvarg.game.content.ActivePrayers.Boost;
+import com.elvarg.game.content.combat.CombatConstants;
+import com.elvarg.game.entity.impl.Mobile;
+
+/**
+ * Lookup tables for the parts of the combat formulas which only depend on a
+ * few small numbers, along with an expected damage api built on them which
+ * simulations can use to compare attacks without rolling them.
+ *
+ * The tables are filled in once and never change, so they can be read from
+ * any thread.
+ */
+public final class CombatTables {
+
+    /**
+     * The highest level the boosted level tables cover. Anything higher is
+     * calculated instead.
+     */
+    private static final int MAX_LEVEL = 255;
+
+    /**
+     * The highest max hit the expected damage tables cover. Anything higher
+     * is calculated instead.
+     */
+    private static final int MAX_HIT = 255;
+
+    /*
+     * The boosted levels of each prayer boost.
+     */
+
+    static final PrayerBoost MELEE_ATTACK = new PrayerBoost(Boost.MELEE_ATTACK);
+
+    static final PrayerBoost MELEE_STRENGTH = new PrayerBoost(Boost.MELEE_STRENGTH);
+
+    static final PrayerBoost DEFENCE = new PrayerBoost(Boost.DEFENCE);
+
+    static final PrayerBoost RANGED_ATTACK = new PrayerBoost(Boost.RANGED_ATTACK);
+
+    static final PrayerBoost RANGED_STRENGTH = new PrayerBoost(Boost.RANGED_STRENGTH);
+
+    static final PrayerBoost MAGIC = new PrayerBoost(Boost.MAGIC);
+
+    /**
+     * The average damage of a hit for each max hit, when the hit isn't
+     * protected against and when it's protected against by a player or an
+     * npc.
+     */
+    private static final float[] AVERAGE_HITS = averageHits(1);
+    private static final float[] AVERAGE_PROTECTED_PLAYER_HITS = averageHits(
+            CombatConstants.PRAYER_DAMAGE_REDUCTION_AGAINST_PLAYERS);
+    private static final float[] AVERAGE_PROTECTED_NPC_HITS = averageHits(
+            CombatConstants.PRAYER_DAMAGE_REDUCTION_AGAINST_NPCS);
+
+    private CombatTables() {
+    }
+
+    /**
+     * Gets the average damage of an attack, counting the attacks which miss.
+     *
+     * @param attRoll    the attack roll.
+     * @param defRoll    the defence roll.
+     * @param maxHit     the max hit.
+     * @param protection the multiplier of the protection prayer the attack is
+     *                   up against, or 1 if there is none.
+     * @return the average damage.
+     */
+    public static float expectedDamage(int attRoll, int defRoll, int maxHit, double protection) {
+        return AccuracyFormulasDpsCalc.hitChance(attRoll, defRoll) * averageHit(maxHit, protection);
+    }
+
+    /**
+     * Gets the average damage of a successful hit, which rolls evenly between
+     * 0 and the max hit before a protection prayer cuts it down.
+     */
+    private static float averageHit(int maxHit, double protection) {
+        if (maxHit >= 0 && maxHit <= MAX_HIT) {
+            if (protection == 1) {
+                return AVERAGE_HITS[maxHit];
+            }
+            if (protection == CombatConstants.PRAYER_DAMAGE_REDUCTION_AGAINST_PLAYERS) {
+                return AVERAGE_PROTECTED_PLAYER_HITS[maxHit];
+            }
+            if (protection == CombatConstants.PRAYER_DAMAGE_REDUCTION_AGAINST_NPCS) {
+                return AVERAGE_PROTECTED_NPC_HITS[maxHit];
+            }
+        }
+        return calculateAverageHit(maxHit, protection);
+    }
+
+    private static float[] averageHits(double protection) {
+        float[] averages = new float[MAX_HIT + 1];
+        for (int maxHit = 0; maxHit <= MAX_HIT; maxHit++) {
+            averages[maxHit] = calculateAverageHit(maxHit, protection);
+        }
+        return averages;
+    }
+
+    private static float calculateAverageHit(int maxHit, double protection) {
+        if (maxHit <= 0) {
+            return 0;
+        }
+        // Damage is reduced the same way CombatFactory#getHitDamage does it
+        long total = 0;
+        for (int damage = 0; damage <= maxHit; damage++) {
+            int reduced = damage;
+            reduced *= protection;
+            total += reduced;
+        }
+        return (float) total / (maxHit + 1);
+    }
+
+    /**
+     * A prayer level boost, with the boosted levels worked out up front.
+     */
+    static final class PrayerBoost {
+
+        private final Boost boost;
+
+        /**
+         * The boosted levels, by {@link ActivePrayers#getBoostRow(Boost)},
+         * with the first row being the levels without any prayer.
+         */
+        private final int[][] levels;
+
+        PrayerBoost(Boost boost) {
+            this.boost = boost;
+            float[] multipliers = boost.getMultipliers();
+            this.levels = new int[multipliers.length + 1][MAX_LEVEL + 1];
+            for (int level = 0; level <= MAX_LEVEL; level++) {
+                levels[0][level] = level;
+                for (int i = 0; i < multipliers.length; i++) {
+                    levels[i + 1][level] = boost(level, multipliers[i]);
+                }
+            }
+        }
+
+        /**
+         * Boosts a level by the prayer which a mobile has active.
+         *
+         * @param mobile the mobile.
+         * @param level  the level to boost.
+         * @return the boosted level, rounded down.
+         */
+        int apply(Mobile mobile, int level) {
+            ActivePrayers prayers = mobile.getActivePrayers();
+            if (level < 0 || level > MAX_LEVEL) {
+                return boost(level, prayers.getMultiplier(boost));
+            }
+            return levels[prayers.getBoostRow(boost)][level];
+        }
+
+        private static int boost(int level, float multiplier) {
+            float boosted = level;
+            boosted *= multiplier;
+            return (int) Math.floor(boosted);
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.elvarg.game.content.combat.formula;
 
-import com.elvarg.game.content.PrayerHandler;
 import com.elvarg.game.content.combat.CombatEquipment;
 import com.elvarg.game.content.combat.CombatFactory;
 import com.elvarg.game.content.combat.CombatType;
@@ -17,29 +16,8 @@ import com.elvarg.util.ItemIdentifiers;
 public class DamageFormulas {
 
     private static int effectiveStrengthLevel(Player player) {
-        float str = player.getSkillManager().getCurrentLevel(Skill.STRENGTH);
-
-        float prayerBonus = 1f;
-
         // Prayer additions
-        if (PrayerHandler.isActivated(player, PrayerHandler.BURST_OF_STRENGTH)) {
-            prayerBonus = 1.05f;
-        }
-        else if (PrayerHandler.isActivated(player, PrayerHandler.SUPERHUMAN_STRENGTH)) {
-            prayerBonus = 1.10f;
-        }
-        else if (PrayerHandler.isActivated(player, PrayerHandler.ULTIMATE_STRENGTH)) {
-            prayerBonus = 1.15f;
-        }
-        else if (PrayerHandler.isActivated(player, PrayerHandler.CHIVALRY)) {
-            prayerBonus = 1.18f;
-        }
-        else if (PrayerHandler.isActivated(player, PrayerHandler.PIETY)) {
-            prayerBonus = 1.23f;
-        }
-
-        str *= prayerBonus;
-        str = (float) Math.floor(str);
+        float str = CombatTables.MELEE_STRENGTH.apply(player, player.getSkillManager().getCurrentLevel(Skill.STRENGTH));
 
         FightStyle fightStyle = player.getFightType().getStyle();
         if (fightStyle == FightStyle.AGGRESSIVE) {
@@ -62,12 +40,20 @@ public class DamageFormulas {
         return (int) Math.floor(str);
     }
 
-    private static int maximumMeleeHitDpsCalc(Player player) {
+    /**
+     * Calculates a player's melee max hit before any special attack or set
+     * effect is applied.
+     */
+    static float calculateBaseMeleeMaxHit(Player player) {
         int strengthBonus = player.getBonusManager().getOtherBonus()[BonusManager.STRENGTH];
         float maxHit = effectiveStrengthLevel(player) * (strengthBonus + 64);
         maxHit += 320;
         maxHit /= 640;
-        maxHit = (float) Math.floor(maxHit);
+        return (float) Math.floor(maxHit);
+    }
+
+    private static int maximumMeleeHitDpsCalc(Player player) {
+        float maxHit = player.getCombatStats().getBaseMeleeMaxHit();
 
         if (CombatFactory.fullDharoks(player)) {
             float hp = player.getHitpoints();
@@ -137,25 +123,9 @@ public class DamageFormulas {
     }
 
     private static float effectiveRangedStrength(Player player) {
-        float rngStrength = player.getSkillManager().getCurrentLevel(Skill.RANGED);
-
         // Prayers
-        float prayerMod = 1.0f;
-        if (PrayerHandler.isActivated(player, PrayerHandler.SHARP_EYE)) {
-            prayerMod = 1.05f;
-        }
-        else if (PrayerHandler.isActivated(player, PrayerHandler.HAWK_EYE)) {
-            prayerMod = 1.10f;
-        }
-        else if (PrayerHandler.isActivated(player, PrayerHandler.EAGLE_EYE)) {
-            prayerMod = 1.15f;
-        }
-        else if (PrayerHandler.isActivated(player, PrayerHandler.RIGOUR)) {
-            prayerMod = 1.23f;
-        }
-
-        rngStrength *= prayerMod;
-        rngStrength = (float) Math.floor(rngStrength);
+        float rngStrength = CombatTables.RANGED_STRENGTH.apply(player,
+                player.getSkillManager().getCurrentLevel(Skill.RANGED));
 
         FightStyle fightStyle = player.getFightType().getStyle();
         if (fightStyle == FightStyle.ACCURATE) {
@@ -173,7 +143,11 @@ public class DamageFormulas {
         return rngStrength;
     }
 
-    private static int maximumRangeHitDpsCalc(Player player) {
+    /**
+     * Calculates a player's ranged max hit before any special attack is
+     * applied.
+     */
+    static float calculateBaseRangedMaxHit(Player player) {
         int strengthBonus = player.getBonusManager().getOtherBonus()[BonusManager.RANGED_STRENGTH];
 
         float maxHit = effectiveRangedStrength(player);
@@ -183,6 +157,12 @@ public class DamageFormulas {
 
         // Extra gear bonus if/when supported (ex. tbow/salve)
 
+        return maxHit;
+    }
+
+    private static int maximumRangeHitDpsCalc(Player player) {
+        float maxHit = player.getCombatStats().getBaseRangedMaxHit();
+
         if (player.isSpecialActivated() && player.getCombatSpecial().getCombatMethod().type() == CombatType.RANGED) {
             maxHit *= player.getCombatSpecial().getStrengthMultiplier();
         }
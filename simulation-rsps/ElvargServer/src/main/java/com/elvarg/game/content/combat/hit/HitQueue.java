@@ -7,48 +7,61 @@ import com.elvarg.game.event.events.HitAppliedEvent;
 import com.elvarg.game.event.events.HitCalculatedEvent;
 import com.elvarg.game.model.Flag;
 
-import java.util.*;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * Represents a "hitqueue", processing pending hits aswell as pending damage.
  *
+ * Pending hits are kept in a plain array in the order they were added, which
+ * is walked once per tick without allocating. Every pending hit still has to
+ * be looked at each tick, rather than only the ones which are due, because a
+ * hit is dropped as soon as its attacker dies or its target becomes
+ * untargetable even if that only lasts a tick (such as when a training
+ * episode is reset).
+ *
  * @author Professor Oak
  */
 public class HitQueue {
 
-	// Our list containing all our incoming hits waiting to be processed.
-	private List<PendingHit> pendingHits = new ArrayList<PendingHit>();
+	// Our incoming hits waiting to be processed, in the order they were added.
+	private PendingHit[] pendingHits = new PendingHit[8];
+
+	private int pendingHitCount;
 
-	// Our queue of current damage waiting to be dealt.
-	private Queue<HitDamage> pendingDamage = new ConcurrentLinkedQueue<HitDamage>();
+	// Our queue of current damage waiting to be dealt. Only ever touched by the game thread.
+	private final ArrayDeque<HitDamage> pendingDamage = new ArrayDeque<HitDamage>();
 
 	public void process(Mobile character) {
 
 		// If we are dead, clear all pending and current hits.
 		if (character.getHitpoints() <= 0) {
-			pendingHits.clear();
+			clearPendingHits();
 			pendingDamage.clear();
 			return;
 		}
 
-		// Process the pending hits..
-		Iterator<PendingHit> iterator = pendingHits.iterator();
-		while (iterator.hasNext()) {
-			PendingHit hit = iterator.next();
+		// Process the pending hits, shifting the ones which are kept down over the ones which aren't..
+		int kept = 0;
+		for (int i = 0; i < pendingHitCount; i++) {
+			PendingHit hit = pendingHits[i];
+			pendingHits[i] = null;
 			// Make sure we only process the hit if it should be processed.
 			// For example - if attacker died or target is untargetable, don't process.
 			if (hit == null || hit.getTarget() == null || hit.getAttacker() == null || hit.getTarget().isUntargetable()
 					|| hit.getAttacker().getHitpoints() <= 0) {
-				iterator.remove();
 				continue;
 			}
 
 			if (hit.getAndDecrementDelay() <= 0) {
 				CombatFactory.executeHit(hit);
-				iterator.remove();
+				continue;
 			}
+
+			pendingHits[kept++] = hit;
 		}
+		pendingHitCount = kept;
 
 		// Process damage.
 		// Make sure our hits queue isn't empty and that we aren't dead...
@@ -92,7 +105,10 @@ public class HitQueue {
 	 * @param c_h
 	 */
 	public void addPendingHit(PendingHit c_h) {
-		pendingHits.add(c_h);
+		if (pendingHitCount == pendingHits.length) {
+			pendingHits = Arrays.copyOf(pendingHits, pendingHitCount * 2);
+		}
+		pendingHits[pendingHitCount++] = c_h;
 		EventDispatcher.getGlobal().dispatch(new HitCalculatedEvent(c_h));
 	}
 
@@ -102,7 +118,11 @@ public class HitQueue {
 	 * @param hits
 	 */
 	public void addPendingDamage(HitDamage... hits) {
-		Arrays.stream(hits).filter(h -> !Objects.isNull(h)).forEach(h -> pendingDamage.add(h));
+		for (HitDamage hit : hits) {
+			if (hit != null) {
+				pendingDamage.add(hit);
+			}
+		}
 		for (HitDamage hit : hits) {
 			if (hit == null || hit.getMetadata() == null) {
 				continue;
@@ -112,17 +132,29 @@ public class HitQueue {
 	}
 
 	public int getAccumulatedDamage() {
-		var hitDmg = this.pendingHits.stream().filter(pd -> pd.getExecutedInTicks() < 2).mapToInt(PendingHit::getTotalDamage).sum();
-		var dmg = this.pendingDamage.stream().mapToInt(HitDamage::getDamage).sum();
-
-		return hitDmg + dmg;
+		int damage = getPendingDamage();
+		for (int i = 0; i < pendingHitCount; i++) {
+			if (pendingHits[i].getExecutedInTicks() < 2) {
+				damage += pendingHits[i].getTotalDamage();
+			}
+		}
+		return damage;
 	}
 
 	public int getAllAccumulatedDamage() {
-		var hitDmg = this.pendingHits.stream().mapToInt(PendingHit::getTotalDamage).sum();
-		var dmg = this.pendingDamage.stream().mapToInt(HitDamage::getDamage).sum();
+		int damage = getPendingDamage();
+		for (int i = 0; i < pendingHitCount; i++) {
+			damage += pendingHits[i].getTotalDamage();
+		}
+		return damage;
+	}
 
-		return hitDmg + dmg;
+	private int getPendingDamage() {
+		int damage = 0;
+		for (HitDamage hit : pendingDamage) {
+			damage += hit.getDamage();
+		}
+		return damage;
 	}
 
 	public int getTicksUntilNextHit() {
@@ -130,10 +162,12 @@ public class HitQueue {
 		if (!this.pendingDamage.isEmpty()) {
 			return 0;
 		}
-		return this.pendingHits.stream()
-				.mapToInt(PendingHit::getExecutedInTicks)
-				.findFirst()
-				.orElse(-1);
+		return pendingHitCount == 0 ? -1 : pendingHits[0].getExecutedInTicks();
+	}
+
+	private void clearPendingHits() {
+		Arrays.fill(pendingHits, 0, pendingHitCount, null);
+		pendingHitCount = 0;
 	}
 
 	/***
@@ -144,7 +178,8 @@ public class HitQueue {
 	 * @return
 	 */
 	public boolean isEmpty(Mobile exception) {
-		for (PendingHit hit : pendingHits) {
+		for (int i = 0; i < pendingHitCount; i++) {
+			PendingHit hit = pendingHits[i];
 			if (hit == null) {
 				continue;
 			}
@@ -32,7 +32,7 @@ public abstract class CombatSpell extends Spell {
         if (castAnimation().isPresent() && castAnimation == -1) {
             castAnimation().ifPresent(cast::performAnimation);
         } else {
-            cast.performAnimation(new Animation(castAnimation));
+            cast.performAnimation(Animation.of(castAnimation));
         }
 
         // Then send the starting graphic.
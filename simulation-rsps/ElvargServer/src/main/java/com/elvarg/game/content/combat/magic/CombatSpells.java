@@ -1767,7 +1767,7 @@ public enum CombatSpells {
 					return;
 				}
 
-				final int seconds = player.getPrayerActive()[PrayerHandler.PROTECT_FROM_MAGIC] ? 300 : 600;
+				final int seconds = player.isPrayerActive(PrayerHandler.PROTECT_FROM_MAGIC) ? 300 : 600;
 
 				player.getCombat().getTeleBlockTimer().start(seconds);
 				player.getPacketSender().sendEffectTimer(seconds, EffectTimer.TELE_BLOCK)
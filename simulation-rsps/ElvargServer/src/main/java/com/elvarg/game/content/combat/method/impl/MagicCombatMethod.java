@@ -15,11 +15,9 @@ import com.elvarg.game.entity.impl.player.Player;
 import com.elvarg.game.model.Graphic;
 import com.elvarg.game.model.GraphicHeight;
 import com.elvarg.game.model.areas.AreaManager;
-import com.google.common.collect.Streams;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -60,18 +58,12 @@ public class MagicCombatMethod extends CombatMethod {
 			}
 
 			// We passed the checks, so now we do multiple target stuff.
-			Iterator<? extends Mobile> it = null;
-			if (character.isPlayer() && target.isPlayer()) {
-				it = ((Player) character).getLocalPlayers().iterator();
-			} else if (character.isPlayer() && target.isNpc()) {
-				it = ((Player) character).getLocalNpcs().iterator();
-			} else if (character.isNpc() && target.isNpc()) {
-				it = World.getNpcs().iterator();
-			} else if (character.isNpc() && target.isPlayer()) {
-				it = World.getPlayers().iterator();
-			}
+			// Only characters of the same kind as the target are looked up, around the target.
+			List<? extends Mobile> nearby = target.isPlayer()
+					? World.getPlayers().grid().within(target.getLocation(), combatAncientSpell.spellRadius(), target.getPrivateArea())
+					: World.getNpcs().grid().within(target.getLocation(), combatAncientSpell.spellRadius(), target.getPrivateArea());
 
-			List<PendingHit> pendingHits = Streams.stream(it).filter((next) -> {
+			List<PendingHit> pendingHits = nearby.stream().filter((next) -> {
 				if (next == null) {
 					return false;
 				}
@@ -14,11 +14,13 @@ import com.elvarg.util.Misc;
 
 public class MeleeCombatMethod extends CombatMethod {
 
+    private static final Graphic VERACS_GRAPHIC = new Graphic(1041);
+
     @Override
     public void start(Mobile character, Mobile target) {
         int animation = character.getAttackAnim();
         if (animation != -1) {
-            character.performAnimation(new Animation(animation));
+            character.performAnimation(Animation.of(animation));
             SoundManager.sendSound(character.getAsPlayer(), character.getAttackSound());
         }
     }
@@ -32,7 +34,7 @@ public class MeleeCombatMethod extends CombatMethod {
     public PendingHit[] hits(Mobile character, Mobile target) {
         if (CombatFactory.fullVeracs(character) && Misc.getRandom(4) == 1) {
         	if(!character.isNpc()) //gfx does not play on npcs.
-        		target.performGraphic(new Graphic(1041));
+        		target.performGraphic(VERACS_GRAPHIC);
         	return new PendingHit[]{PendingHit.create(character, target, this,  Misc.inclusive(1, DamageFormulas.calculateMaxMeleeHit(character)), true)};
         }
         return new PendingHit[]{new PendingHit(character, target, this)};
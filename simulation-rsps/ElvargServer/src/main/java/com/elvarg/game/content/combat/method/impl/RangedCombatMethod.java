@@ -62,7 +62,7 @@ public class RangedCombatMethod extends CombatMethod {
                               : character.getAttackAnim();
 
         if (animation != -1) {
-            character.performAnimation(new Animation(animation));
+            character.performAnimation(Animation.of(animation));
         }
 
         if (ammo != null && ammo.getStartGraphic() != null) {
@@ -35,7 +35,7 @@ public class ChaosElementalCombatMethod extends CombatMethod {
 
     @Override
     public void start(Mobile character, Mobile target) {
-        character.performAnimation(new Animation(character.getAttackAnim()));
+        character.performAnimation(Animation.of(character.getAttackAnim()));
         Projectile.sendProjectile(character, target, currentAttack.projectile);
     }
 
@@ -42,7 +42,7 @@ public class VetionCombatMethod extends CombatMethod {
 	public void start(Mobile character, Mobile target) {
 		if (!character.isNpc() || !target.isPlayer())
 			return;
-		character.performAnimation(new Animation(character.getAttackAnim()));
+		character.performAnimation(Animation.of(character.getAttackAnim()));
 		
 		if (target.getLocation().getDistance(character.getLocation()) < 2 && Misc.getRandom(1) == 0) {
 			attack = CombatType.MELEE;
@@ -16,6 +16,7 @@ public class AncientGodswordCombatMethod extends MeleeCombatMethod {
 
 	private static final Animation ANIMATION = new Animation(9171, Priority.HIGH);
 	private static final Graphic GRAPHIC = new Graphic(1211, Priority.HIGH);
+	private static final Graphic SACRIFICE_GRAPHIC = new Graphic(377);
 
 	@Override
 	public void start(Mobile character, Mobile target) {
@@ -42,7 +43,7 @@ public class AncientGodswordCombatMethod extends MeleeCombatMethod {
 					}
 					if (processed == 8) {
 						hit.getTarget().sendMessage("You have been sacrificed.");
-						hit.getTarget().performGraphic(new Graphic(377));
+						hit.getTarget().performGraphic(SACRIFICE_GRAPHIC);
 						hit.getAttacker().heal(25);
 						final HitDamage.Metadata hitMeta = HitDamage.Metadata.builder()
 						                                                     .attacker(hit.getAttacker())
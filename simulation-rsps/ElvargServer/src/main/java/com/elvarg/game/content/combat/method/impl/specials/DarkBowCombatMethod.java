@@ -16,6 +16,10 @@ public class DarkBowCombatMethod extends RangedCombatMethod {
 
 	private static final Animation ANIMATION = new Animation(426, Priority.HIGH);
 	private static final Graphic GRAPHIC = new Graphic(1100, GraphicHeight.HIGH, Priority.HIGH);
+	private static final Projectile DRAGON_PROJECTILE_1 = new Projectile(1099, 43, 31, 40, 70);
+	private static final Projectile DRAGON_PROJECTILE_2 = new Projectile(1099, 48, 31, 33, 74);
+	private static final Projectile PROJECTILE_1 = new Projectile(1101, 43, 31, 40, 70);
+	private static final Projectile PROJECTILE_2 = new Projectile(1101, 48, 31, 33, 74);
 
 	@Override
 	public PendingHit[] hits(Mobile character, Mobile target) {
@@ -47,12 +51,9 @@ public class DarkBowCombatMethod extends RangedCombatMethod {
 		final Player player = character.getAsPlayer();
 		CombatSpecial.drain(player, CombatSpecial.DARK_BOW.getDrainAmount());
 		player.performAnimation(ANIMATION);
-		int projectileId = 1099;
-		if (player.getCombat().getAmmunition() != Ammunition.DRAGON_ARROW) {
-			projectileId = 1101;
-		}
-		Projectile.sendProjectile(player, target, new Projectile(projectileId, 43, 31, 40, 70));
-		Projectile.sendProjectile(character, target, new Projectile(projectileId, 48, 31, 33, 74));
+		boolean dragonArrows = player.getCombat().getAmmunition() == Ammunition.DRAGON_ARROW;
+		Projectile.sendProjectile(player, target, dragonArrows ? DRAGON_PROJECTILE_1 : PROJECTILE_1);
+		Projectile.sendProjectile(character, target, dragonArrows ? DRAGON_PROJECTILE_2 : PROJECTILE_2);
 		CombatFactory.decrementAmmo(player, target.getLocation(), 2);
 	}
 
@@ -25,7 +25,7 @@ public class DragonClawCombatMethod extends MeleeCombatMethod {
 
         // Damage rolls occur from a range based around the max hit
         int maxHit = DamageFormulas.calculateMaxMeleeHit(character);
-        if (target.getPrayerActive()[PrayerHandler.PROTECT_FROM_MELEE]) {
+        if (target.isPrayerActive(PrayerHandler.PROTECT_FROM_MELEE)) {
             final double damageMultiplier = target.isNpc() ? CombatConstants.PRAYER_DAMAGE_REDUCTION_AGAINST_NPCS :
                                             CombatConstants.PRAYER_DAMAGE_REDUCTION_AGAINST_PLAYERS;
             maxHit *= damageMultiplier;
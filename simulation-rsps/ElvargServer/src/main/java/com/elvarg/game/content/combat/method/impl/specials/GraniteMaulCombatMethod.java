@@ -9,8 +9,6 @@ import com.elvarg.game.model.Graphic;
 import com.elvarg.game.model.GraphicHeight;
 import com.elvarg.game.model.Priority;
 
-import java.util.stream.IntStream;
-
 public class GraniteMaulCombatMethod extends MeleeCombatMethod {
 
     private static final Animation ANIMATION = new Animation(1667, Priority.HIGH);
@@ -18,9 +16,11 @@ public class GraniteMaulCombatMethod extends MeleeCombatMethod {
 
     @Override
     public PendingHit[] hits(Mobile character, Mobile target) {
-        return IntStream.range(0, getSpecCount(character))
-                .mapToObj(i -> new PendingHit(character, target, this))
-                .toArray(PendingHit[]::new);
+        final PendingHit[] hits = new PendingHit[getSpecCount(character)];
+        for (int i = 0; i < hits.length; i++) {
+            hits[i] = new PendingHit(character, target, this);
+        }
+        return hits;
     }
 
     @Override
@@ -19,7 +19,6 @@ import com.elvarg.game.model.GraphicHeight;
 import com.elvarg.game.model.Location;
 import com.elvarg.game.model.Priority;
 import com.elvarg.game.model.dialogues.DialogueManager;
-import com.elvarg.game.model.movement.MovementQueue.Point;
 import com.elvarg.game.task.Task;
 import com.elvarg.game.task.TaskManager;
 import com.elvarg.util.timers.TimerKey;
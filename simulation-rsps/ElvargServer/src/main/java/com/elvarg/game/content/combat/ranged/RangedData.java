@@ -92,7 +92,7 @@ public class RangedData {
                     Player t = target.getAsPlayer();
                     multiply = !(!t.getCombat().getFireImmunityTimer().finished()
                                  || CombatEquipment.hasDragonProtectionGear(t)
-                                 || t.getPrayerActive()[PrayerHandler.PROTECT_FROM_MAGIC]);
+                                 || t.isPrayerActive(PrayerHandler.PROTECT_FROM_MAGIC));
                 }
 
                 if (multiply) {
@@ -131,7 +131,7 @@ public class RangedData {
                 boolean apply = true;
                 if (target.isPlayer()) {
                     Player t = target.getAsPlayer();
-                    apply = !t.getPrayerActive()[PrayerHandler.PROTECT_FROM_MAGIC];
+                    apply = !t.isPrayerActive(PrayerHandler.PROTECT_FROM_MAGIC);
                 }
 
                 if (apply) {
@@ -16,14 +16,9 @@ import com.elvarg.game.content.combat.magic.Autocasting;
 import com.elvarg.game.content.skill.SkillManager;
 import com.elvarg.game.entity.impl.player.Player;
 import com.elvarg.game.entity.impl.playerbot.PlayerBot;
-import com.github.naton1.rl.env.nh.NhLmsMedLoadout;
-import com.github.naton1.rl.env.nh.NhLmsPureLoadout;
-import com.github.naton1.rl.env.nh.NhLmsZerkLoadout;
-import com.github.naton1.rl.env.dharok.DharokLoadout;
-import com.github.naton1.rl.env.nh.NhMaxLoadout;
-import com.github.naton1.rl.env.nh.NhMedLoadout;
-import com.github.naton1.rl.env.nh.NhPureLoadout;
-import com.github.naton1.rl.env.nh.NhZerkLoadout;
+import com.github.naton1.rl.env.dharok.DharokEnvironmentDescriptor;
+import com.github.naton1.rl.env.nh.NhEnvironmentDescriptor;
+import com.github.naton1.rl.env.nh.NhEnvironmentParams.AccountBuild;
 import com.elvarg.game.model.Flag;
 import com.elvarg.game.model.Item;
 import com.elvarg.game.model.Skill;
@@ -47,17 +42,18 @@ public class Presetables {
 	private static final int INTERFACE_ID = 45000;
 
 	/**
-	 * Pre-made sets by the server which everyone can use.
+	 * Pre-made sets by the server which everyone can use, taken from the
+	 * loadouts the environments share.
 	 */
 	public static final Presetable[] GLOBAL_PRESETS = new Presetable[] {
-			new NhMedLoadout().asPreset(),
-			new NhPureLoadout().asPreset(),
-			new NhMaxLoadout().asPreset(),
-			new NhZerkLoadout().asPreset(),
-			new NhLmsMedLoadout().asPreset(),
-			new NhLmsPureLoadout().asPreset(),
-			new NhLmsZerkLoadout().asPreset(),
-			new DharokLoadout().asPreset()
+			NhEnvironmentDescriptor.getLoadout(AccountBuild.MED).asPreset(),
+			NhEnvironmentDescriptor.getLoadout(AccountBuild.PURE).asPreset(),
+			NhEnvironmentDescriptor.getLoadout(AccountBuild.MAXED).asPreset(),
+			NhEnvironmentDescriptor.getLoadout(AccountBuild.ZERKER).asPreset(),
+			NhEnvironmentDescriptor.getLoadout(AccountBuild.LMS_MED).asPreset(),
+			NhEnvironmentDescriptor.getLoadout(AccountBuild.LMS_PURE).asPreset(),
+			NhEnvironmentDescriptor.getLoadout(AccountBuild.LMS_ZERKER).asPreset(),
+			DharokEnvironmentDescriptor.getLoadout().asPreset()
 	};
 
 	/**
@@ -322,7 +318,7 @@ public class Presetables {
 
 		// Send valuable items in inventory/equipment to bank
 		boolean sent = false;
-		for (Item item : Misc.concat(player.getInventory().getCopiedItems(), player.getEquipment().getCopiedItems())) {
+		for (Item item : Misc.concat(player.getInventory().getItems(), player.getEquipment().getItems())) {
 			if (!item.isValid()) {
 				continue;
 			}
@@ -386,7 +382,7 @@ public class Presetables {
 		Arrays.stream(preset.getInventory()).filter(t -> !Objects.isNull(t) && t.isValid())
 				.forEach(t -> player.getInventory().add(t));
 
-		// Set equipment
+		// Set equipment, copying the items since presets are shared
 		Arrays.stream(preset.getEquipment()).filter(t -> !Objects.isNull(t) && t.isValid())
 				.forEach(t -> player.getEquipment().setItem(t.getDefinition().getEquipmentType().getSlot(), t.clone()));
 
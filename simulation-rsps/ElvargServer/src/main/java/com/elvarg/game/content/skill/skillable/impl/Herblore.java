@@ -11,6 +11,7 @@ import com.elvarg.game.model.AnimationLoop;
 import com.elvarg.game.model.Item;
 import com.elvarg.game.model.RequiredItem;
 import com.elvarg.game.model.Skill;
+import com.elvarg.game.model.container.ItemCategory;
 import com.elvarg.game.model.menu.CreationMenu;
 import com.elvarg.util.ItemIdentifiers;
 
@@ -358,7 +359,7 @@ public class Herblore extends ItemIdentifiers {
      *
      * @author Ruse
      */
-    public enum PotionDose {
+    public enum PotionDose implements ItemCategory {
         STRENGTH(119, 117, 115, 113, VIAL_OF_WATER, "Strength"),
         SUPER_STRENGTH(161, 159, 157, 2440, VIAL_OF_WATER, "Super strength"),
         SUPER_COMBAT(12701, 12699, 12697, 12695, VIAL_OF_WATER, "Super combat"),
@@ -457,6 +458,14 @@ public class Herblore extends ItemIdentifiers {
             return -1;
         }
 
+        /**
+         * Counts the doses of this potion.
+         */
+        @Override
+        public int weight(int itemId) {
+            return Math.max(0, getDoseForID(itemId));
+        }
+
         public int getIDForDose(int dose) {
             if (dose == 1) {
                 return this.oneDosePotionID;
@@ -1,8 +1,12 @@
 package com.elvarg.game.definition;
 
 import com.elvarg.game.content.combat.WeaponInterfaces.WeaponInterface;
+import com.elvarg.game.definition.loader.DefinitionCache;
 import com.elvarg.game.model.EquipmentType;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -20,6 +24,12 @@ public class ItemDefinition {
      */
     public static final Map<Integer, ItemDefinition> definitions = new HashMap<Integer, ItemDefinition>();
 
+    /**
+     * The same definitions indexed by item id, so looking one up doesn't box
+     * the id. Kept in sync with {@link #definitions} by {@link #init}.
+     */
+    private static ItemDefinition[] byId = new ItemDefinition[0];
+
     /**
      * The default {@link ItemDefinition} that will be used.
      */
@@ -61,7 +71,106 @@ public class ItemDefinition {
      * @return
      */
     public static ItemDefinition forId(int item) {
-        return definitions.getOrDefault(item, DEFAULT);
+        ItemDefinition[] table = byId;
+        if (item >= 0 && item < table.length) {
+            ItemDefinition definition = table[item];
+            if (definition != null) {
+                return definition;
+            }
+        }
+        return DEFAULT;
+    }
+
+    /**
+     * Replaces every loaded definition.
+     *
+     * @param defs the new definitions.
+     */
+    public static void init(ItemDefinition[] defs) {
+        definitions.clear();
+        int maxId = -1;
+        for (ItemDefinition def : defs) {
+            definitions.put(def.getId(), def);
+            maxId = Math.max(maxId, def.getId());
+        }
+        ItemDefinition[] table = new ItemDefinition[maxId + 1];
+        for (ItemDefinition def : defs) {
+            if (def.getId() >= 0) {
+                table[def.getId()] = def;
+            }
+        }
+        byId = table;
+    }
+
+    /**
+     * Reads a definition written by {@link #write} from a
+     * {@link DefinitionCache} file.
+     */
+    public static ItemDefinition read(DataInputStream in) throws IOException {
+        ItemDefinition def = new ItemDefinition();
+        def.id = in.readInt();
+        def.name = DefinitionCache.readString(in);
+        def.examine = DefinitionCache.readString(in);
+        def.weaponInterface = DefinitionCache.readEnum(in, WeaponInterface.class);
+        def.equipmentType = DefinitionCache.readEnum(in, EquipmentType.class);
+        def.doubleHanded = in.readBoolean();
+        def.stackable = in.readBoolean();
+        def.tradeable = in.readBoolean();
+        def.dropable = in.readBoolean();
+        def.sellable = in.readBoolean();
+        def.noted = in.readBoolean();
+        def.value = in.readInt();
+        def.bloodMoneyValue = in.readInt();
+        def.highAlch = in.readInt();
+        def.lowAlch = in.readInt();
+        def.dropValue = in.readInt();
+        def.noteId = in.readInt();
+        def.blockAnim = in.readInt();
+        def.standAnim = in.readInt();
+        def.walkAnim = in.readInt();
+        def.runAnim = in.readInt();
+        def.standTurnAnim = in.readInt();
+        def.turn180Anim = in.readInt();
+        def.turn90CWAnim = in.readInt();
+        def.turn90CCWAnim = in.readInt();
+        def.weight = in.readDouble();
+        def.bonuses = DefinitionCache.readInts(in);
+        def.requirements = DefinitionCache.readInts(in);
+        return def;
+    }
+
+    /**
+     * Writes this definition into a {@link DefinitionCache} file.
+     */
+    public void write(DataOutputStream out) throws IOException {
+        out.writeInt(id);
+        DefinitionCache.writeString(out, name);
+        DefinitionCache.writeString(out, examine);
+        DefinitionCache.writeEnum(out, weaponInterface);
+        DefinitionCache.writeEnum(out, equipmentType);
+        out.writeBoolean(doubleHanded);
+        out.writeBoolean(stackable);
+        out.writeBoolean(tradeable);
+        out.writeBoolean(dropable);
+        out.writeBoolean(sellable);
+        out.writeBoolean(noted);
+        out.writeInt(value);
+        out.writeInt(bloodMoneyValue);
+        out.writeInt(highAlch);
+        out.writeInt(lowAlch);
+        out.writeInt(dropValue);
+        out.writeInt(noteId);
+        out.writeInt(blockAnim);
+        out.writeInt(standAnim);
+        out.writeInt(walkAnim);
+        out.writeInt(runAnim);
+        out.writeInt(standTurnAnim);
+        out.writeInt(turn180Anim);
+        out.writeInt(turn90CWAnim);
+        out.writeInt(turn90CCWAnim);
+        out.writeDouble(weight);
+        DefinitionCache.writeInts(out, bonuses);
+        DefinitionCache.writeInts(out, requirements);
     }
 
     public int getId() {
@@ -1,5 +1,10 @@
 package com.elvarg.game.definition;
 
+import com.elvarg.game.definition.loader.DefinitionCache;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -17,6 +22,12 @@ public class NpcDefinition {
      */
     public static final Map<Integer, NpcDefinition> definitions = new HashMap<Integer, NpcDefinition>();
 
+    /**
+     * The same definitions indexed by npc id, so looking one up doesn't box
+     * the id. Kept in sync with {@link #definitions} by {@link #init}.
+     */
+    private static NpcDefinition[] byId = new NpcDefinition[0];
+
     /**
      * The default {@link ItemDefinition} that will be used.
      */
@@ -58,7 +69,94 @@ public class NpcDefinition {
      * @return
      */
     public static NpcDefinition forId(int item) {
-        return definitions.getOrDefault(item, DEFAULT);
+        NpcDefinition[] table = byId;
+        if (item >= 0 && item < table.length) {
+            NpcDefinition definition = table[item];
+            if (definition != null) {
+                return definition;
+            }
+        }
+        return DEFAULT;
+    }
+
+    /**
+     * Replaces every loaded definition.
+     *
+     * @param defs the new definitions.
+     */
+    public static void init(NpcDefinition[] defs) {
+        definitions.clear();
+        int maxId = -1;
+        for (NpcDefinition def : defs) {
+            definitions.put(def.getId(), def);
+            maxId = Math.max(maxId, def.getId());
+        }
+        NpcDefinition[] table = new NpcDefinition[maxId + 1];
+        for (NpcDefinition def : defs) {
+            if (def.getId() >= 0) {
+                table[def.getId()] = def;
+            }
+        }
+        byId = table;
+    }
+
+    /**
+     * Reads a definition written by {@link #write} from a
+     * {@link DefinitionCache} file.
+     */
+    public static NpcDefinition read(DataInputStream in) throws IOException {
+        NpcDefinition def = new NpcDefinition();
+        def.id = in.readInt();
+        def.name = DefinitionCache.readString(in);
+        def.examine = DefinitionCache.readString(in);
+        def.size = in.readInt();
+        def.walkRadius = in.readInt();
+        def.attackable = in.readBoolean();
+        def.retreats = in.readBoolean();
+        def.aggressive = in.readBoolean();
+        def.aggressiveTolerance = in.readBoolean();
+        def.poisonous = in.readBoolean();
+        def.fightsBack = in.readBoolean();
+        def.respawn = in.readInt();
+        def.maxHit = in.readInt();
+        def.hitpoints = in.readInt();
+        def.attackSpeed = in.readInt();
+        def.attackAnim = in.readInt();
+        def.defenceAnim = in.readInt();
+        def.deathAnim = in.readInt();
+        def.combatLevel = in.readInt();
+        def.stats = DefinitionCache.readInts(in);
+        def.slayerLevel = in.readInt();
+        def.combatFollowDistance = in.readInt();
+        return def;
+    }
+
+    /**
+     * Writes this definition into a {@link DefinitionCache} file.
+     */
+    public void write(DataOutputStream out) throws IOException {
+        out.writeInt(id);
+        DefinitionCache.writeString(out, name);
+        DefinitionCache.writeString(out, examine);
+        out.writeInt(size);
+        out.writeInt(walkRadius);
+        out.writeBoolean(attackable);
+        out.writeBoolean(retreats);
+        out.writeBoolean(aggressive);
+        out.writeBoolean(aggressiveTolerance);
+        out.writeBoolean(poisonous);
+        out.writeBoolean(fightsBack);
+        out.writeInt(respawn);
+        out.writeInt(maxHit);
+        out.writeInt(hitpoints);
+        out.writeInt(attackSpeed);
+        out.writeInt(attackAnim);
+        out.writeInt(defenceAnim);
+        out.writeInt(deathAnim);
+        out.writeInt(combatLevel);
+        DefinitionCache.writeInts(out, stats);
+        out.writeInt(slayerLevel);
+        out.writeInt(combatFollowDistance);
     }
 
     public int getId() {
@@ -12,11 +12,13 @@ public final class ObjectDefinition extends ObjectIdentifiers {
 
     private static final int[] OBELISK_IDS = {14829, 14830, 14827, 14828, 14826, 14831};
     public static boolean lowMemory;
-    public static Buffer stream;
     public static int[] streamIndices;
-    public static int cacheIndex;
-    public static ObjectDefinition[] cache;
     public static int totalObjects;
+    /**
+     * Every object definition, indexed by id. Filled once on startup and never
+     * modified afterwards.
+     */
+    private static ObjectDefinition[] definitions = new ObjectDefinition[0];
     public boolean obstructsGround;
     public byte ambientLighting;
     public int translateX;
@@ -79,12 +81,21 @@ public final class ObjectDefinition extends ObjectIdentifiers {
 
 
     public static ObjectDefinition forId(int id) {
-        if (id > streamIndices.length)
-            id = streamIndices.length - 1;
-        for (int index = 0; index < 20; index++)
-            if (cache[index].id == id)
-                return cache[index];
+        if (id >= definitions.length)
+            id = definitions.length - 1;
+        if (id < 0)
+            return null;
+        return definitions[id];
+    }
 
+    /**
+     * Decodes the definition of an object from the cache.
+     *
+     * @param stream the buffer holding all of the object definitions.
+     * @param id     the id of the object.
+     * @return the decoded definition.
+     */
+    private static ObjectDefinition decode(Buffer stream, int id) {
         if (id == 25913)
             id = 15552;
 
@@ -94,8 +105,7 @@ public final class ObjectDefinition extends ObjectIdentifiers {
         if (id == 25917)
             id = 15554;
 
-        cacheIndex = (cacheIndex + 1) % 20;
-        ObjectDefinition objectDef = cache[cacheIndex];
+        ObjectDefinition objectDef = new ObjectDefinition();
         stream.offset = streamIndices[id];
         objectDef.id = id;
         objectDef.reset();
@@ -178,12 +188,17 @@ public final class ObjectDefinition extends ObjectIdentifiers {
         return objectDef;
     }
 
+    /**
+     * Decodes every object definition up front, so that {@link #forId(int)} is
+     * a plain array read which is safe to call from any thread once the server
+     * has started.
+     */
     public static void init() {
         try {
             byte[] dat = FileUtil.readFile(GameConstants.CLIPPING_DIRECTORY + "loc.dat");
             byte[] idx = FileUtil.readFile(GameConstants.CLIPPING_DIRECTORY + "loc.idx");
 
-            stream = new Buffer(dat);
+            Buffer stream = new Buffer(dat);
             Buffer idxBuffer525 = new Buffer(idx);
 
             int totalObjects525 = idxBuffer525.readUnsignedWord();
@@ -194,12 +209,12 @@ public final class ObjectDefinition extends ObjectIdentifiers {
                 i += idxBuffer525.readUnsignedWord();
             }
 
-            cache = new ObjectDefinition[20];
-            for (int k = 0; k < 20; k++) {
-                cache[k] = new ObjectDefinition();
+            ObjectDefinition[] decoded = new ObjectDefinition[totalObjects525];
+            for (int id = 0; id < totalObjects525; id++) {
+                decoded[id] = decode(stream, id);
             }
-
-            //		+ totalObjects667 + " cache object definitions #667 in " + (System.currentTimeMillis() - startup) + "ms");
+            totalObjects = totalObjects525;
+            definitions = decoded;
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -0,0 +1,194 @@
+package com.elvarg.game.definition.loader;
+
+import com.elvarg.game.GameConstants;
+import com.elvarg.game.definition.ItemDefinition;
+import com.elvarg.game.definition.NpcDefinition;
+import com.google.gson.Gson;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.function.IntFunction;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Precompiled binary copies of the large definition files, so that the server
+ * doesn't have to parse megabytes of json on startup.
+ *
+ * The files are built offline with the {@code buildDefinitionCache} Gradle
+ * task, which runs {@link #main(String[])}. Each file holds the checksum of
+ * the json file it was built from, so it's ignored once the json has changed.
+ * Each definition reads and writes its own fields, using the helpers here for
+ * values which can be missing from the json.
+ */
+public final class DefinitionCache {
+
+    private static final Logger logger = Logger.getLogger(DefinitionCache.class.getName());
+
+    /**
+     * Identifies a definition cache file, "DEFS".
+     */
+    private static final int MAGIC = 0x44454653;
+
+    /**
+     * The version of the file format.
+     */
+    private static final int VERSION = 1;
+
+    public static final Path ITEMS = Paths.get(GameConstants.DEFINITIONS_DIRECTORY, "items.dat");
+
+    public static final Path NPCS = Paths.get(GameConstants.DEFINITIONS_DIRECTORY, "npc_defs.dat");
+
+    private DefinitionCache() {
+    }
+
+    /**
+     * Reads every definition from a cache file.
+     *
+     * @param file    the cache file.
+     * @param source  the json file the cache was built from.
+     * @param factory creates the array to read the definitions into.
+     * @param reader  reads a single definition.
+     * @return the definitions, or {@code null} if there is no up to date cache
+     *         file.
+     * @throws IOException
+     */
+    public static <T> T[] read(Path file, Path source, IntFunction<T[]> factory, DefinitionReader<T> reader)
+            throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                logger.warning("Ignoring " + file + ", it was built by a different version.");
+                return null;
+            }
+            int checksum = in.readInt();
+            // Without the json, the cache is all there is..
+            if (Files.exists(source) && checksum != checksum(source)) {
+                logger.warning("Ignoring " + file + ", " + source + " has changed since it was built.");
+                return null;
+            }
+            T[] definitions = factory.apply(in.readInt());
+            for (int i = 0; i < definitions.length; i++) {
+                definitions[i] = reader.read(in);
+            }
+            return definitions;
+        }
+    }
+
+    /**
+     * Writes definitions into a cache file.
+     *
+     * @param file        the cache file.
+     * @param source      the json file the definitions were parsed from.
+     * @param definitions the definitions.
+     * @param writer      writes a single definition.
+     * @throws IOException
+     */
+    public static <T> void write(Path file, Path source, T[] definitions, DefinitionWriter<T> writer)
+            throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(checksum(source));
+            out.writeInt(definitions.length);
+            for (T definition : definitions) {
+                writer.write(definition, out);
+            }
+        }
+    }
+
+    private static int checksum(Path source) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(Files.readAllBytes(source));
+        return (int) crc.getValue();
+    }
+
+    public static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    public static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    public static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values == null ? -1 : values.length);
+        if (values != null) {
+            for (int value : values) {
+                out.writeInt(value);
+            }
+        }
+    }
+
+    public static int[] readInts(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    public static void writeEnum(DataOutputStream out, Enum<?> value) throws IOException {
+        writeString(out, value == null ? null : value.name());
+    }
+
+    public static <E extends Enum<E>> E readEnum(DataInputStream in, Class<E> type) throws IOException {
+        String name = readString(in);
+        return name == null ? null : Enum.valueOf(type, name);
+    }
+
+    @FunctionalInterface
+    public interface DefinitionReader<T> {
+        T read(DataInputStream in) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface DefinitionWriter<T> {
+        void write(T definition, DataOutputStream out) throws IOException;
+    }
+
+    private static <T> T[] parse(Path source, Class<T[]> type) throws IOException {
+        // Read the same way as the loaders, so the cache matches what they'd parse
+        try (Reader reader = new FileReader(source.toFile())) {
+            return new Gson().fromJson(reader, type);
+        }
+    }
+
+    /**
+     * Builds the cache files from the json definitions.
+     *
+     * @param args
+     * @throws Exception
+     */
+    public static void main(String[] args) throws Exception {
+        Path items = Paths.get(GameConstants.DEFINITIONS_DIRECTORY, "items.json");
+        if (Files.exists(items)) {
+            ItemDefinition[] definitions = parse(items, ItemDefinition[].class);
+            write(ITEMS, items, definitions, ItemDefinition::write);
+            logger.info("Wrote " + definitions.length + " item definitions to " + ITEMS + ".");
+        }
+        Path npcs = Paths.get(GameConstants.DEFINITIONS_DIRECTORY, "npc_defs.json");
+        if (Files.exists(npcs)) {
+            NpcDefinition[] definitions = parse(npcs, NpcDefinition[].class);
+            write(NPCS, npcs, definitions, NpcDefinition::write);
+            logger.info("Wrote " + definitions.length + " npc definitions to " + NPCS + ".");
+        }
+    }
+}
@@ -2,22 +2,25 @@ package com.elvarg.game.definition.loader.impl;
 
 import com.elvarg.game.GameConstants;
 import com.elvarg.game.definition.ItemDefinition;
+import com.elvarg.game.definition.loader.DefinitionCache;
 import com.elvarg.game.definition.loader.DefinitionLoader;
 import com.google.gson.Gson;
 
 import java.io.FileReader;
+import java.nio.file.Paths;
 
 public class ItemDefinitionLoader extends DefinitionLoader {
 
     @Override
     public void load() throws Throwable {
-    	ItemDefinition.definitions.clear();
-        FileReader reader = new FileReader(file());
-        ItemDefinition[] defs = new Gson().fromJson(reader, ItemDefinition[].class);
-        for (ItemDefinition def : defs) {
-            ItemDefinition.definitions.put(def.getId(), def);
+        ItemDefinition[] defs = DefinitionCache.read(DefinitionCache.ITEMS, Paths.get(file()), ItemDefinition[]::new,
+                ItemDefinition::read);
+        if (defs == null) {
+            FileReader reader = new FileReader(file());
+            defs = new Gson().fromJson(reader, ItemDefinition[].class);
+            reader.close();
         }
-        reader.close();
+        ItemDefinition.init(defs);
     }
 
     @Override
@@ -2,22 +2,25 @@ package com.elvarg.game.definition.loader.impl;
 
 import com.elvarg.game.GameConstants;
 import com.elvarg.game.definition.NpcDefinition;
+import com.elvarg.game.definition.loader.DefinitionCache;
 import com.elvarg.game.definition.loader.DefinitionLoader;
 import com.google.gson.Gson;
 
 import java.io.FileReader;
+import java.nio.file.Paths;
 
 public class NpcDefinitionLoader extends DefinitionLoader {
 
     @Override
     public void load() throws Throwable {
-    	NpcDefinition.definitions.clear();
-        FileReader reader = new FileReader(file());
-        NpcDefinition[] defs = new Gson().fromJson(reader, NpcDefinition[].class);
-        for (NpcDefinition def : defs) {
-            NpcDefinition.definitions.put(def.getId(), def);
+        NpcDefinition[] defs = DefinitionCache.read(DefinitionCache.NPCS, Paths.get(file()), NpcDefinition[]::new,
+                NpcDefinition::read);
+        if (defs == null) {
+            FileReader reader = new FileReader(file());
+            defs = new Gson().fromJson(reader, NpcDefinition[].class);
+            reader.close();
         }
-        reader.close();
+        NpcDefinition.init(defs);
     }
 
     @Override
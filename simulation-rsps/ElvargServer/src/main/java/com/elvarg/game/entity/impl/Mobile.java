@@ -1,5 +1,6 @@
 package com.elvarg.game.entity.impl;
 
+import com.elvarg.game.content.ActivePrayers;
 import com.elvarg.game.content.combat.CombatFactory;
 import com.elvarg.game.content.minigames.impl.pestcontrol.PestControl;
 import com.elvarg.game.content.sound.Sound;
@@ -8,11 +9,15 @@ import com.elvarg.game.content.combat.Combat;
 import com.elvarg.game.content.combat.CombatType;
 import com.elvarg.game.content.combat.hit.HitDamage;
 import com.elvarg.game.content.combat.hit.PendingHit;
+import com.elvarg.game.World;
 import com.elvarg.game.entity.Entity;
 import com.elvarg.game.entity.impl.npc.NPC;
 import com.elvarg.game.entity.impl.player.Player;
 import com.elvarg.game.entity.impl.playerbot.PlayerBot;
 import com.elvarg.game.model.*;
+import com.elvarg.game.model.areas.Area;
+import com.elvarg.game.model.areas.AreaManager;
+import com.elvarg.game.model.areas.impl.PrivateArea;
 import com.elvarg.game.model.movement.MovementQueue;
 import com.elvarg.game.task.Task;
 import com.elvarg.game.task.TaskManager;
@@ -71,6 +76,15 @@ public abstract class Mobile extends Entity {
 	private int npcTransformationId = -1;
 	private int poisonDamage;
 	private boolean[] prayerActive = new boolean[30], curseActive = new boolean[20];
+	/**
+	 * The amount of times this entity's active prayers have changed.
+	 */
+	private int prayerVersion;
+	/**
+	 * The prayers in {@link #prayerActive}, as a shared set with everything
+	 * derived from them worked out.
+	 */
+	private ActivePrayers activePrayers = ActivePrayers.NONE;
 	private boolean resetMovementQueue;
 	private boolean needsPlacement;
 	private boolean untargetable;
@@ -85,6 +99,24 @@ public abstract class Mobile extends Entity {
 	 * Is this entity registered.
 	 */
 	private boolean registered;
+	/**
+	 * The key of the chunk this entity is indexed in by its {@link MobileGrid}.
+	 */
+	private long gridKey = MobileGrid.NO_CHUNK;
+	/**
+	 * The instance this entity has been placed in, which it stays in no matter
+	 * which area it walks into.
+	 */
+	private PrivateArea instance;
+	/**
+	 * The chunk the {@link AreaManager} last looked this entity's area up in,
+	 * if every tile of that chunk is in the same area.
+	 */
+	private long areaChunk = AreaManager.NO_CHUNK;
+	/**
+	 * The area every tile of {@link #areaChunk} is in.
+	 */
+	private Area areaChunkArea;
 
 	/**
 	 * Constructs this character/entity
@@ -109,6 +141,70 @@ public abstract class Mobile extends Entity {
 
 	public abstract PendingHit manipulateHit(PendingHit hit);
 
+	/**
+	 * Sets the location of this character and keeps the {@link MobileGrid} of
+	 * the world list it is registered in up to date.
+	 */
+	@Override
+	public Entity setLocation(Location location) {
+		super.setLocation(location);
+		relocate();
+		return this;
+	}
+
+	@Override
+	public void setArea(Area area) {
+		super.setArea(area);
+		relocate();
+	}
+
+	@Override
+	public PrivateArea getPrivateArea() {
+		return instance != null ? instance : super.getPrivateArea();
+	}
+
+	public PrivateArea getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Places this entity in an instance, or takes it out of its instance if
+	 * {@code instance} is null.
+	 *
+	 * @param instance
+	 */
+	public void setInstance(PrivateArea instance) {
+		this.instance = instance;
+		relocate();
+	}
+
+	public long getAreaChunk() {
+		return areaChunk;
+	}
+
+	public Area getAreaChunkArea() {
+		return areaChunkArea;
+	}
+
+	public void setAreaChunk(long areaChunk, Area areaChunkArea) {
+		this.areaChunk = areaChunk;
+		this.areaChunkArea = areaChunkArea;
+	}
+
+	/**
+	 * Updates this entity's place in the {@link MobileGrid} of the world list
+	 * it is registered in.
+	 */
+	private void relocate() {
+		if (registered) {
+			if (isPlayer()) {
+				World.getPlayers().relocate(getAsPlayer());
+			} else if (isNpc()) {
+				World.getNpcs().relocate(getAsNpc());
+			}
+		}
+	}
+
 	/**
 	 * Teleports the character to a target location
 	 *
@@ -402,9 +498,38 @@ public abstract class Mobile extends Entity {
 
 	public Mobile setPrayerActive(boolean[] prayerActive) {
 		this.prayerActive = prayerActive;
+		this.activePrayers = ActivePrayers.of(prayerActive);
+		prayerVersion++;
 		return this;
 	}
 
+	/**
+	 * Gets this entity's active prayers. These are kept in step with
+	 * {@link #getPrayerActive()} as long as prayers are changed through the
+	 * setters.
+	 */
+	public ActivePrayers getActivePrayers() {
+		return activePrayers;
+	}
+
+	public long getPrayerMask() {
+		return activePrayers.getMask();
+	}
+
+	public boolean isPrayerActive(int id) {
+		return activePrayers.isActive(id);
+	}
+
+	/**
+	 * Gets the amount of times this entity's active prayers have changed, so
+	 * anything derived from them can tell whether it's still up to date.
+	 * Prayers must be changed through {@link #setPrayerActive(int, boolean)}
+	 * for this to change.
+	 */
+	public int getPrayerVersion() {
+		return prayerVersion;
+	}
+
 	public boolean[] getCurseActive() {
 		return curseActive;
 	}
@@ -415,7 +540,11 @@ public abstract class Mobile extends Entity {
 	}
 
 	public Mobile setPrayerActive(int id, boolean prayerActive) {
-		this.prayerActive[id] = prayerActive;
+		if (this.prayerActive[id] != prayerActive) {
+			this.prayerActive[id] = prayerActive;
+			this.activePrayers = activePrayers.with(id, prayerActive);
+			prayerVersion++;
+		}
 		return this;
 	}
 
@@ -534,6 +663,14 @@ public abstract class Mobile extends Entity {
 		this.registered = registered;
 	}
 
+	long getGridKey() {
+		return gridKey;
+	}
+
+	void setGridKey(long gridKey) {
+		this.gridKey = gridKey;
+	}
+
 	public boolean isNeedsPlacement() {
 		return needsPlacement;
 	}
@@ -0,0 +1,162 @@
+package com.elvarg.game.entity.impl;
+
+import com.elvarg.game.model.Location;
+import com.elvarg.game.model.areas.impl.PrivateArea;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A spatial hash of {@link Mobile}s which buckets them by the 8x8 chunk they
+ * are standing in. Every {@link MobileList} keeps one up to date as its
+ * characters are added, removed and moved, so that looking up the characters
+ * around a location only has to visit the chunks nearby instead of every slot
+ * in the world.
+ *
+ * Characters in a {@link PrivateArea} are bucketed apart from everyone else,
+ * so instances sharing the same coordinates don't see each other's
+ * characters at all.
+ *
+ * @param <E>
+ *            the type of character being indexed.
+ */
+public final class MobileGrid<E extends Mobile> {
+
+	/**
+	 * The amount of bits a coordinate is shifted by to get its chunk.
+	 */
+	private static final int CHUNK_SHIFT = 3;
+
+	/**
+	 * The key of a character which isn't in any chunk.
+	 */
+	static final long NO_CHUNK = -1L;
+
+	/**
+	 * The characters in each chunk, keyed by {@link #key(int, int, int, PrivateArea)}.
+	 */
+	private final Map<Long, List<E>> chunks = new HashMap<>();
+
+	/**
+	 * Adds a character to the chunk it is currently in.
+	 *
+	 * @param e
+	 *            the character to add.
+	 */
+	void add(E e) {
+		long key = key(e);
+		chunks.computeIfAbsent(key, k -> new ArrayList<>()).add(e);
+		e.setGridKey(key);
+	}
+
+	/**
+	 * Removes a character from the chunk it was last added to.
+	 *
+	 * @param e
+	 *            the character to remove.
+	 */
+	void remove(E e) {
+		long key = e.getGridKey();
+		if (key == NO_CHUNK) {
+			return;
+		}
+		List<E> chunk = chunks.get(key);
+		if (chunk != null) {
+			chunk.remove(e);
+		}
+		e.setGridKey(NO_CHUNK);
+	}
+
+	/**
+	 * Moves a character to a different chunk if its location or private area
+	 * has changed since it was last indexed.
+	 *
+	 * @param e
+	 *            the character which has moved.
+	 */
+	void move(E e) {
+		long key = key(e);
+		if (key == e.getGridKey()) {
+			return;
+		}
+		remove(e);
+		add(e);
+	}
+
+	/**
+	 * Collects every character in {@code privateArea} on the same height as
+	 * {@code center} which is at most {@code radius} tiles away from it on
+	 * either axis.
+	 *
+	 * @param center
+	 *            the location to search around.
+	 * @param radius
+	 *            the maximum distance on each axis.
+	 * @param privateArea
+	 *            the private area to search in, or null for the open world.
+	 * @param out
+	 *            the collection the found characters are added to.
+	 */
+	public void collect(Location center, int radius, PrivateArea privateArea, Collection<? super E> out) {
+		final int x = center.getX();
+		final int y = center.getY();
+		final int z = center.getZ();
+		final int minChunkX = (x - radius) >> CHUNK_SHIFT, maxChunkX = (x + radius) >> CHUNK_SHIFT;
+		final int minChunkY = (y - radius) >> CHUNK_SHIFT, maxChunkY = (y + radius) >> CHUNK_SHIFT;
+		for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+			for (int chunkY = minChunkY; chunkY <= maxChunkY; chunkY++) {
+				List<E> chunk = chunks.get(key(chunkX, chunkY, z, privateArea));
+				if (chunk == null) {
+					continue;
+				}
+				for (int i = 0; i < chunk.size(); i++) {
+					E e = chunk.get(i);
+					Location location = e.getLocation();
+					if (Math.abs(location.getX() - x) <= radius && Math.abs(location.getY() - y) <= radius
+							&& location.getZ() == z) {
+						out.add(e);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets every character in {@code privateArea} on the same height as
+	 * {@code center} which is at most {@code radius} tiles away from it on
+	 * either axis.
+	 *
+	 * @param center
+	 *            the location to search around.
+	 * @param radius
+	 *            the maximum distance on each axis.
+	 * @param privateArea
+	 *            the private area to search in, or null for the open world.
+	 * @return the characters found.
+	 */
+	public List<E> within(Location center, int radius, PrivateArea privateArea) {
+		List<E> found = new ArrayList<>();
+		collect(center, radius, privateArea, found);
+		return found;
+	}
+
+	/**
+	 * Gets the key of the chunk a character is currently in.
+	 */
+	private static long key(Mobile e) {
+		Location location = e.getLocation();
+		return key(location.getX() >> CHUNK_SHIFT, location.getY() >> CHUNK_SHIFT, location.getZ(),
+				e.getPrivateArea());
+	}
+
+	/**
+	 * Packs a chunk, height and private area into a single key.
+	 */
+	private static long key(int chunkX, int chunkY, int z, PrivateArea privateArea) {
+		long instance = privateArea == null ? 0 : privateArea.getInstanceId() & 0x7FFFFF;
+		return (instance << 40) | ((long) (z & 0xFF) << 32) | ((long) (chunkX & 0xFFFF) << 16) | (chunkY & 0xFFFF);
+	}
+}
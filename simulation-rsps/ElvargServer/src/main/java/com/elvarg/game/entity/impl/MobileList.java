@@ -38,6 +38,10 @@ public final class MobileList<E extends Mobile> implements Iterable<E> {
 	 * The size of this collection.
 	 */
 	private int size;
+	/**
+	 * The spatial index of the {@link E}s within this collection.
+	 */
+	private final MobileGrid<E> grid = new MobileGrid<>();
 
 	/**
 	 * Creates a new {@link MobileList}.
@@ -75,6 +79,7 @@ public final class MobileList<E extends Mobile> implements Iterable<E> {
 			e.setRegistered(true);
 			e.setIndex(slot);
 			characters[slot] = e;
+			grid.add(e);
 			e.onAdd();
 			size++;
 			return true;
@@ -98,6 +103,7 @@ public final class MobileList<E extends Mobile> implements Iterable<E> {
 		if (e.isRegistered() && characters[e.getIndex()] != null) {
 			e.setRegistered(false);
 			characters[e.getIndex()] = null;
+			grid.remove(e);
 			slotQueue.add(e.getIndex());
 			e.onRemove();
 			size--;
@@ -107,6 +113,28 @@ public final class MobileList<E extends Mobile> implements Iterable<E> {
 		return false;
 	}
 
+	/**
+	 * Updates the chunk an element is indexed in after it has moved.
+	 *
+	 * @param e
+	 *            the element which has moved.
+	 */
+	public void relocate(E e) {
+		if (e.isRegistered() && characters[e.getIndex()] == e) {
+			grid.move(e);
+		}
+	}
+
+	/**
+	 * Gets the spatial index of the elements in this collection, which is used
+	 * to look up the elements around a location.
+	 *
+	 * @return the spatial index of this collection.
+	 */
+	public MobileGrid<E> grid() {
+		return grid;
+	}
+
 	/**
 	 * Determines if this collection contains the specified element.
 	 *
@@ -233,10 +233,7 @@ public class NPC extends Mobile {
 	
 	public List<Player> getPlayersWithinDistance(int distance) {
 		List<Player> list = new ArrayList<>();
-		for (Player player : World.getPlayers()) {
-			if (player == null) {
-				continue;
-			}
+		for (Player player : World.getPlayers().grid().within(getLocation(), distance, getPrivateArea())) {
 			if (player.getPrivateArea() != getPrivateArea()) {
 			    continue;
 			}
@@ -74,7 +74,7 @@ public class NPCMovementCoordinator {
                 break;
             case RETREATING:
             case AWAY:
-                PathFinder.calculateWalkRoute(npc, npc.getSpawnPosition().getX(), npc.getSpawnPosition().getY());
+                PathFinder.calculateBoundedRoute(npc, npc.getSpawnPosition().getX(), npc.getSpawnPosition().getY(), PathFinder.DEFAULT_MAX_EXPANSIONS);
                 break;
         }
     }
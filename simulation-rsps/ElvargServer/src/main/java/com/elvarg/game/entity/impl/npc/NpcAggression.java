@@ -1,9 +1,11 @@
 package com.elvarg.game.entity.impl.npc;
 
+import com.elvarg.game.World;
 import com.elvarg.game.content.combat.CombatFactory;
 import com.elvarg.game.content.combat.method.CombatMethod;
 import com.elvarg.game.definition.NpcDefinition;
 import com.elvarg.game.entity.impl.player.Player;
+import com.elvarg.game.model.Location;
 import com.elvarg.game.model.areas.AreaManager;
 import com.elvarg.game.model.areas.impl.PrivateArea;
 import com.elvarg.game.model.areas.impl.WildernessArea;
@@ -33,7 +35,7 @@ public final class NpcAggression {
             return;
         }
 
-        runAggression(player, player.getLocalNpcs());
+        runAggression(player, World.getNpcs().grid().within(player.getLocation(), Location.VIEW_DISTANCE, player.getPrivateArea()));
 
         if (player.getArea() instanceof PrivateArea) {
             runAggression(player, (player.getArea()).getNpcs());
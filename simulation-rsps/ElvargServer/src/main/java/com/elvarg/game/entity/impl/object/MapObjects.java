@@ -1,11 +1,8 @@
 package com.elvarg.game.entity.impl.object;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
 
 import com.elvarg.game.collision.RegionManager;
 import com.elvarg.game.entity.impl.player.Player;
@@ -13,6 +10,7 @@ import com.elvarg.game.model.Location;
 import com.elvarg.game.model.areas.Area;
 import com.elvarg.game.model.areas.impl.PrivateArea;
 import com.elvarg.game.model.rights.PlayerRights;
+import com.elvarg.util.LongObjectMap;
 
 /**
  * Map objects are objects that are in the maps. These are loaded when the maps
@@ -24,9 +22,9 @@ import com.elvarg.game.model.rights.PlayerRights;
 public class MapObjects {
 
     /**
-     * A map which holds all of our map objects.
+     * A map which holds all of our map objects, keyed by {@link #getHash}.
      */
-    public static final Map<Long, ArrayList<GameObject>> mapObjects = new HashMap<Long, ArrayList<GameObject>>();
+    public static final LongObjectMap<ArrayList<GameObject>> mapObjects = new LongObjectMap<ArrayList<GameObject>>();
 
     /**
      * Attempts to get an object with the given id and position.
@@ -70,11 +68,6 @@ public class MapObjects {
         }
         long hash = getHash(location.getX(), location.getY(), location.getZ());
 
-        // Check if the map contains the hash..
-        if (!mapObjects.containsKey(hash)) {
-            return null;
-        }
-
         // Go through the objects in the list..
         ArrayList<GameObject> list = mapObjects.get(hash);
         if (list != null) {
@@ -108,11 +101,6 @@ public class MapObjects {
         }
         long hash = getHash(location.getX(), location.getY(), location.getZ());
 
-        // Check if the map contains the hash..
-        if (!mapObjects.containsKey(hash)) {
-            return null;
-        }
-
         // Go through the objects in the list..
         ArrayList<GameObject> list = mapObjects.get(hash);
         if (list != null) {
@@ -149,10 +137,10 @@ public class MapObjects {
             // Get hash for object..
             long hash = getHash(object.getLocation().getX(), object.getLocation().getY(), object.getLocation().getZ());
             
-            if (mapObjects.containsKey(hash)) {
+            List<GameObject> list = mapObjects.get(hash);
+            if (list != null) {
                 // Check if object already exists in this list..
                 boolean exists = false;
-                List<GameObject> list = mapObjects.get(hash);
                 Iterator<GameObject> it = list.iterator();
                 for (; it.hasNext(); ) {
                     GameObject o = it.next();
@@ -163,12 +151,12 @@ public class MapObjects {
                 }
                 // If it didn't exist, add it.
                 if (!exists) {
-                    mapObjects.get(hash).add(object);
+                    list.add(object);
                 }
             } else {
-                ArrayList<GameObject> list = new ArrayList<GameObject>();
-                list.add(object);
-                mapObjects.put(hash, list);
+                ArrayList<GameObject> newList = new ArrayList<GameObject>();
+                newList.add(object);
+                mapObjects.put(hash, newList);
             }
         }
 
@@ -188,8 +176,9 @@ public class MapObjects {
         long hash = getHash(object.getLocation().getX(), object.getLocation().getY(), object.getLocation().getZ());
 
         // Attempt to delete..
-        if (mapObjects.containsKey(hash)) {
-            Iterator<GameObject> it = mapObjects.get(hash).iterator();
+        List<GameObject> list = mapObjects.get(hash);
+        if (list != null) {
+            Iterator<GameObject> it = list.iterator();
             while (it.hasNext()) {
                 GameObject o = it.next();
                 if (o.getId() == object.getId() && o.getLocation().equals(object.getLocation())) {
@@ -212,8 +201,9 @@ public class MapObjects {
         long hash = getHash(position.getX(), position.getY(), position.getZ());
 
         // Attempt to delete..
-        if (mapObjects.containsKey(hash)) {
-            Iterator<GameObject> it = mapObjects.get(hash).iterator();
+        List<GameObject> list = mapObjects.get(hash);
+        if (list != null) {
+            Iterator<GameObject> it = list.iterator();
             while (it.hasNext()) {
                 GameObject o = it.next();
                 if (o.getLocation().equals(position)) {
@@ -27,6 +27,7 @@ import com.elvarg.game.content.combat.FightType;
 import com.elvarg.game.content.combat.WeaponInterfaces;
 import com.elvarg.game.content.combat.WeaponInterfaces.WeaponInterface;
 import com.elvarg.game.content.combat.bountyhunter.BountyHunter;
+import com.elvarg.game.content.combat.formula.CombatStats;
 import com.elvarg.game.content.combat.hit.PendingHit;
 import com.elvarg.game.content.combat.magic.Autocasting;
 import com.elvarg.game.content.minigames.impl.Barrows;
@@ -44,6 +45,7 @@ import com.elvarg.game.entity.impl.Mobile;
 import com.elvarg.game.entity.impl.npc.NPC;
 import com.elvarg.game.entity.impl.npc.NpcAggression;
 import com.elvarg.game.entity.impl.playerbot.PlayerBot;
+import com.elvarg.game.entity.updating.UpdateBlockCache;
 import com.elvarg.game.event.EventDispatcher;
 import com.elvarg.game.event.events.HitCalculatedEvent;
 import com.elvarg.game.event.events.PlayerLoggedOutEvent;
@@ -94,7 +96,6 @@ import com.elvarg.util.NpcIdentifiers;
 import com.elvarg.util.Stopwatch;
 import com.elvarg.util.timers.TimerKey;
 
-import io.netty.buffer.ByteBuf;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -113,6 +114,7 @@ public class Player extends Mobile {
 	private final PlayerRelations relations = new PlayerRelations(this);
 	private final FrameUpdater frameUpdater = new FrameUpdater();
 	private final BonusManager bonusManager = new BonusManager();
+	private final CombatStats combatStats = new CombatStats(this);
 	private final QuickPrayers quickPrayers = new QuickPrayers(this);
 	private final Inventory inventory = new Inventory(this);
 	private final Equipment equipment = new Equipment(this);
@@ -241,9 +243,9 @@ public class Player extends Mobile {
 	private PlayerRights rights = PlayerRights.DEVELOPER;
 	private DonatorRights donatorRights = DonatorRights.NONE;
 	/**
-	 * The cached player update block for updating.
+	 * The cached player update blocks for updating.
 	 */
-	private ByteBuf cachedUpdateBlock;
+	private final UpdateBlockCache updateBlockCache = new UpdateBlockCache();
 	private String loyaltyTitle = "empty";
 	private boolean spawnedBarrows;
 	private Location oldPosition;
@@ -295,6 +297,7 @@ public class Player extends Mobile {
 	@Override
 	public void onRemove() {
 		onLogout();
+		updateBlockCache.clear();
 	}
 
 	@Override
@@ -440,7 +443,9 @@ public class Player extends Mobile {
 		getCombat().process();
 
 		// Process aggression
-		NpcAggression.process(this);
+		if (GameConstants.SERVER_PROFILE.processesNpcs()) {
+			NpcAggression.process(this);
+		}
 
 		// Process areas..
 		AreaManager.process(this);
@@ -458,7 +463,7 @@ public class Player extends Mobile {
 		// Updates appearance if an update
 		// has been requested
 		// or if skull timer hits 0.
-		if (isSkulled() && getAndDecrementSkullTimer() == 0) {
+		if (isSkulled() && getAndDecrementSkullTimer() == 1) {
 			getUpdateFlag().flag(Flag.APPEARANCE);
 		}
 
@@ -602,7 +607,10 @@ public class Player extends Mobile {
 
 		getPacketSender().sendInterfaceRemoval();
 
-		// Leave area
+		// Leave instance, then area
+		if (getInstance() != null) {
+			getInstance().remove(this);
+		}
 		if (getArea() != null) {
 			getArea().leave(this, true);
 			getArea().postLeave(this, true);
@@ -724,7 +732,7 @@ public class Player extends Mobile {
 			Presetables.load(this, Presetables.GLOBAL_PRESETS[presetIndex]);
 		}
 
-		if (!(this instanceof PlayerBot)) {
+		if (!(this instanceof PlayerBot) && GameConstants.SERVER_PROFILE.spawnsDefaultPlayerBots()) {
 			// Spawn player bots when a real player logs in
 			for (PlayerBotDefinition definition : GameConstants.PLAYER_BOTS) {
 				if (World.getPlayerBots().containsKey(definition.getUsername())) {
@@ -849,6 +857,7 @@ public class Player extends Mobile {
 
 	public Player setLongUsername(Long longUsername) {
 		this.longUsername = longUsername;
+		getUpdateFlag().flag(Flag.APPEARANCE);
 		return this;
 	}
 
@@ -876,6 +885,7 @@ public class Player extends Mobile {
 
 	public Player setRights(PlayerRights rights) {
 		this.rights = rights;
+		getUpdateFlag().flag(Flag.APPEARANCE);
 		return this;
 	}
 
@@ -970,6 +980,10 @@ public class Player extends Mobile {
 		return bonusManager;
 	}
 
+	public CombatStats getCombatStats() {
+		return combatStats;
+	}
+
 	public int getMultiIcon() {
 		return multiIcon;
 	}
@@ -987,6 +1001,14 @@ public class Player extends Mobile {
 		return equipment;
 	}
 
+	/**
+	 * Sends the inventory and equipment if they were refreshed this tick.
+	 */
+	public void flushItemContainers() {
+		inventory.flushRefresh(Inventory.INTERFACE_ID);
+		equipment.flushRefresh(Equipment.INVENTORY_INTERFACE_ID);
+	}
+
 	public ForceMovement getForceMovement() {
 		return forceMovement;
 	}
@@ -1004,6 +1026,9 @@ public class Player extends Mobile {
 	}
 
 	public Player setSkillAnimation(int animation) {
+		if (this.skillAnimation != animation) {
+			getUpdateFlag().flag(Flag.APPEARANCE);
+		}
 		this.skillAnimation = animation;
 		return this;
 	}
@@ -1097,7 +1122,11 @@ public class Player extends Mobile {
 	}
 
 	public void setSkullTimer(int skullTimer) {
+		boolean wasSkulled = isSkulled();
 		this.skullTimer = skullTimer;
+		if (isSkulled() != wasSkulled) {
+			getUpdateFlag().flag(Flag.APPEARANCE);
+		}
 	}
 
 	public int getPoints() {
@@ -1394,6 +1423,9 @@ public class Player extends Mobile {
 	}
 
 	public void setSkullType(SkullType skullType) {
+		if (this.skullType != skullType) {
+			getUpdateFlag().flag(Flag.APPEARANCE);
+		}
 		this.skullType = skullType;
 	}
 
@@ -1429,12 +1461,18 @@ public class Player extends Mobile {
 		return aggressionTolerance;
 	}
 
-	public ByteBuf getCachedUpdateBlock() {
-		return cachedUpdateBlock;
+	/**
+	 * Gets a number which changes whenever anything shown in the player's
+	 * appearance does: it's bumped whenever the appearance is flagged and
+	 * whenever the equipment changes, even if that isn't flagged.
+	 */
+	public long getAppearanceVersion() {
+		return ((long) getUpdateFlag().getAppearanceVersion() << 32)
+				| (getEquipment().getVersion() & 0xFFFFFFFFL);
 	}
 
-	public void setCachedUpdateBlock(ByteBuf cachedUpdateBlock) {
-		this.cachedUpdateBlock = cachedUpdateBlock;
+	public UpdateBlockCache getUpdateBlockCache() {
+		return updateBlockCache;
 	}
 
 	public int getRegionHeight() {
@@ -33,17 +33,17 @@ public abstract class EnemyDefenseAwareCombatSwitch implements CombatAction {
             if (styleSwitch.getCombatType() == CombatType.MELEE) {
                 // TODO: logic to pick correct bonus
                 defenseRoll = AccuracyFormulasDpsCalc.defenseMeleeRoll(enemy, BonusManager.ATTACK_SLASH);
-                if (enemy.getPrayerActive()[PrayerHandler.PROTECT_FROM_MELEE]) {
+                if (enemy.isPrayerActive(PrayerHandler.PROTECT_FROM_MELEE)) {
                     maxHit *= 0.7;
                 }
             } else if (styleSwitch.getCombatType() == CombatType.RANGED) {
                 defenseRoll = AccuracyFormulasDpsCalc.defenseRangedRoll(enemy);
-                if (enemy.getPrayerActive()[PrayerHandler.PROTECT_FROM_MISSILES]) {
+                if (enemy.isPrayerActive(PrayerHandler.PROTECT_FROM_MISSILES)) {
                     maxHit *= 0.7;
                 }
             } else if (styleSwitch.getCombatType() == CombatType.MAGIC) {
                 defenseRoll = AccuracyFormulasDpsCalc.defenseMagicRoll(enemy);
-                if (enemy.getPrayerActive()[PrayerHandler.PROTECT_FROM_MAGIC]) {
+                if (enemy.isPrayerActive(PrayerHandler.PROTECT_FROM_MAGIC)) {
                     maxHit *= 0.7;
                 }
             }
@@ -131,7 +131,7 @@ public class MidTribridMaxFighterPreset implements FighterPreset {
                     return canAttackNextTick && playerBot.getMovementQueue().getMobility().canMove()
                             && enemy.getHitpointsAfterPendingDamage() <= 49
                             && playerBot.getSpecialPercentage() >= 50
-                            && !enemy.getPrayerActive()[PrayerHandler.PROTECT_FROM_MELEE];
+                            && !enemy.isPrayerActive(PrayerHandler.PROTECT_FROM_MELEE);
                 }
 
                 @Override
@@ -51,7 +51,7 @@ public class ObbyMaulerFighterPreset implements FighterPreset {
                 @Override
                 public boolean shouldPerform(PlayerBot playerBot, Mobile enemy) {
                     return playerBot.getSpecialPercentage() >= 55 &&
-                            (!enemy.getPrayerActive()[PrayerHandler.PROTECT_FROM_MISSILES]
+                            (!enemy.isPrayerActive(PrayerHandler.PROTECT_FROM_MISSILES)
                                     && enemy.getHitpointsAfterPendingDamage() < 40);
                 }
 
@@ -130,7 +130,7 @@ public class TribridMaxFighterPreset implements FighterPreset {
                     return canAttackNextTick && playerBot.getMovementQueue().getMobility().canMove()
                             && enemy.getHitpointsAfterPendingDamage() <= 49
                             && playerBot.getSpecialPercentage() >= 50
-                            && !enemy.getPrayerActive()[PrayerHandler.PROTECT_FROM_MELEE];
+                            && !enemy.isPrayerActive(PrayerHandler.PROTECT_FROM_MELEE);
                 }
 
                 @Override
@@ -20,8 +20,6 @@ import com.elvarg.util.ItemIdentifiers;
 import com.elvarg.util.Misc;
 import com.elvarg.util.timers.TimerKey;
 
-import java.util.Arrays;
-import java.util.Objects;
 import java.util.Optional;
 
 import static com.elvarg.game.content.PotionConsumable.*;
@@ -100,49 +98,37 @@ public class CombatInteraction {
         }
         // Boost range
         if (!playerBot.getSkillManager().isBoosted(Skill.RANGED)) {
-            var pot = Arrays.stream(RANGE_POTIONS.getIds())
-                    .mapToObj(id -> ItemInSlot.getFromInventory(id, this.playerBot.getInventory()))
-                    .filter(Objects::nonNull)
-                    .findFirst();
+            var pot = ItemInSlot.getFromInventory(RANGE_POTIONS.getIds(), this.playerBot.getInventory());
 
-            if (pot.isPresent()) {
-                PotionConsumable.drink(playerBot, pot.get().getId(), pot.get().getSlot());
+            if (pot != null) {
+                PotionConsumable.drink(playerBot, pot.getId(), pot.getSlot());
                 return;
             }
         }
         // Boost all
         if (!playerBot.getSkillManager().isBoosted(Skill.STRENGTH)) {
-            var pot = Arrays.stream(SUPER_COMBAT_POTIONS.getIds())
-                    .mapToObj(id -> ItemInSlot.getFromInventory(id, this.playerBot.getInventory()))
-                    .filter(Objects::nonNull)
-                    .findFirst();
+            var pot = ItemInSlot.getFromInventory(SUPER_COMBAT_POTIONS.getIds(), this.playerBot.getInventory());
 
-            if (pot.isPresent()) {
-                PotionConsumable.drink(playerBot, pot.get().getId(), pot.get().getSlot());
+            if (pot != null) {
+                PotionConsumable.drink(playerBot, pot.getId(), pot.getSlot());
                 return;
             }
         }
         // Boost strength
         if (!playerBot.getSkillManager().isBoosted(Skill.STRENGTH)) {
-            var pot = Arrays.stream(SUPER_STRENGTH_POTIONS.getIds())
-                    .mapToObj(id -> ItemInSlot.getFromInventory(id, this.playerBot.getInventory()))
-                    .filter(Objects::nonNull)
-                    .findFirst();
+            var pot = ItemInSlot.getFromInventory(SUPER_STRENGTH_POTIONS.getIds(), this.playerBot.getInventory());
 
-            if (pot.isPresent()) {
-                PotionConsumable.drink(playerBot, pot.get().getId(), pot.get().getSlot());
+            if (pot != null) {
+                PotionConsumable.drink(playerBot, pot.getId(), pot.getSlot());
                 return;
             }
         }
         //Boost attack
         if (!playerBot.getSkillManager().isBoosted(Skill.ATTACK)) {
-            var pot = Arrays.stream(SUPER_ATTACK_POTIONS.getIds())
-                    .mapToObj(id -> ItemInSlot.getFromInventory(id, this.playerBot.getInventory()))
-                    .filter(Objects::nonNull)
-                    .findFirst();
+            var pot = ItemInSlot.getFromInventory(SUPER_ATTACK_POTIONS.getIds(), this.playerBot.getInventory());
 
-            if (pot.isPresent()) {
-                PotionConsumable.drink(playerBot, pot.get().getId(), pot.get().getSlot());
+            if (pot != null) {
+                PotionConsumable.drink(playerBot, pot.getId(), pot.getSlot());
                 return;
             }
         }
@@ -180,12 +166,13 @@ public class CombatInteraction {
     }
 
     private ItemInSlot edibleItemSlot() {
-        var edible = Arrays.stream(Food.Edible.values())
-                .map(food -> ItemInSlot.getFromInventory(food.getItem().getId(), this.playerBot.getInventory()))
-                .filter(Objects::nonNull)
-                .findFirst();
-
-        return edible.orElse(null);
+        for (Food.Edible food : Food.Edible.values()) {
+            var edible = ItemInSlot.getFromInventory(food.getItem().getId(), this.playerBot.getInventory());
+            if (edible != null) {
+                return edible;
+            }
+        }
+        return null;
     }
 
     // Called when the Player Bot is just about to die
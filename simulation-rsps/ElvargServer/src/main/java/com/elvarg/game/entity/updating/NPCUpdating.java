@@ -8,6 +8,7 @@ import com.elvarg.game.model.Flag;
 import com.elvarg.game.model.Location;
 import com.elvarg.game.model.UpdateFlag;
 import com.elvarg.game.model.areas.AreaManager;
+import com.elvarg.net.NetworkConstants;
 import com.elvarg.net.packet.ByteOrder;
 import com.elvarg.net.packet.PacketBuilder;
 import com.elvarg.net.packet.PacketType;
@@ -33,6 +34,23 @@ public class NPCUpdating {
     public static void update(Player player) {
         PacketBuilder update = new PacketBuilder();
         PacketBuilder packet = new PacketBuilder(65, PacketType.VARIABLE_SHORT);
+        boolean written = false;
+        try {
+            write(player, update, packet);
+            written = true;
+        } finally {
+            if (!written) {
+                // The buffers are pooled, so they mustn't leak if encoding fails
+                packet.releaseIfRetained();
+                update.releaseIfRetained();
+            }
+        }
+    }
+
+    /**
+     * Builds the update packet and sends it, handing both builders on.
+     */
+    private static void write(Player player, PacketBuilder update, PacketBuilder packet) {
         packet.initializeAccess(AccessType.BIT);
         packet.putBits(8, player.getLocalNpcs().size());
         for (Iterator<NPC> npcIterator = player.getLocalNpcs().iterator(); npcIterator.hasNext(); ) {
@@ -52,7 +70,7 @@ public class NPCUpdating {
                 packet.putBits(2, 3);
             }
         }
-        for (NPC npc : World.getNpcs()) {
+        for (NPC npc : World.getNpcs().grid().within(player.getLocation(), Location.VIEW_DISTANCE, player.getPrivateArea())) {
             if (player.getLocalNpcs().size() >= 79) //Originally 255
                 break;
             if (npc == null || player.getLocalNpcs().contains(npc) || !npc.isVisible() || npc.isNeedsPlacement()
@@ -70,9 +88,15 @@ public class NPCUpdating {
             packet.putBits(14, 16383);
 
             packet.initializeAccess(AccessType.BYTE);
-            packet.writeBuffer(update.buffer());
+            if (NetworkConstants.COMPOSITE_UPDATE_BLOCKS) {
+                packet.writeComposite(update.buffer());
+            } else {
+                packet.writeBuffer(update.buffer());
+                update.release();
+            }
         } else {
             packet.initializeAccess(AccessType.BYTE);
+            update.release();
         }
         player.getSession().write(packet);
     }
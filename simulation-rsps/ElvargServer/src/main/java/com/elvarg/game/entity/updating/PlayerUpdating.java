@@ -8,12 +8,15 @@ import com.elvarg.game.entity.impl.playerbot.PlayerBot;
 import com.elvarg.game.model.*;
 import com.elvarg.game.model.areas.AreaManager;
 import com.elvarg.game.model.container.impl.Equipment;
+import com.elvarg.net.NetworkConstants;
 import com.elvarg.net.packet.ByteOrder;
 import com.elvarg.net.packet.PacketBuilder;
 import com.elvarg.net.packet.PacketBuilder.AccessType;
 import com.elvarg.net.packet.PacketType;
 import com.elvarg.net.packet.ValueType;
 
+import io.netty.buffer.ByteBuf;
+
 import java.util.Iterator;
 
 /**
@@ -40,6 +43,23 @@ public class PlayerUpdating {
 	public static void update(final Player player) {
 		PacketBuilder update = new PacketBuilder();
 		PacketBuilder packet = new PacketBuilder(81, PacketType.VARIABLE_SHORT);
+		boolean written = false;
+		try {
+			write(player, update, packet);
+			written = true;
+		} finally {
+			if (!written) {
+				// The buffers are pooled, so they mustn't leak if encoding fails
+				packet.releaseIfRetained();
+				update.releaseIfRetained();
+			}
+		}
+	}
+
+	/**
+	 * Builds the update packet and sends it, handing both builders on.
+	 */
+	private static void write(Player player, PacketBuilder update, PacketBuilder packet) {
 		packet.initializeAccess(AccessType.BIT);
 		updateMovement(player, packet);
 		appendUpdates(player, update, player, false, true);
@@ -62,7 +82,7 @@ public class PlayerUpdating {
 		}
 		int playersAdded = 0;
 
-		for (Player otherPlayer : World.getPlayers()) {
+		for (Player otherPlayer : World.getPlayers().grid().within(player.getLocation(), Location.VIEW_DISTANCE, player.getPrivateArea())) {
 			if (player.getLocalPlayers().size() >= 79 || playersAdded > MAX_NEW_PLAYERS_PER_CYCLE)
 				break;
 			if (otherPlayer == null || otherPlayer == player || player.getLocalPlayers().contains(otherPlayer)
@@ -79,9 +99,15 @@ public class PlayerUpdating {
 		if (update.buffer().writerIndex() > 0) {
 			packet.putBits(11, 2047);
 			packet.initializeAccess(AccessType.BYTE);
-			packet.putBytes(update.buffer());
+			if (NetworkConstants.COMPOSITE_UPDATE_BLOCKS) {
+				packet.writeComposite(update.buffer());
+			} else {
+				packet.writeBuffer(update.buffer());
+				update.release();
+			}
 		} else {
 			packet.initializeAccess(AccessType.BYTE);
+			update.release();
 		}
 		player.getSession().write(packet);
 	}
@@ -332,14 +358,49 @@ public class PlayerUpdating {
 		if (!target.getUpdateFlag().isUpdateRequired() && !updateAppearance)
 			return;
 
-		// If we don't need to update again, simply send the cached update block
-		// if it's available.
-		/*
-		 * if (player.getCachedUpdateBlock() != null && !player.equals(target) &&
-		 * !updateAppearance && !noChat) {
-		 * builder.putBytes(player.getCachedUpdateBlock()); return; }
-		 */
+		final UpdateFlag flag = target.getUpdateFlag();
+
+		// Blocks which don't depend on the viewer are encoded once per cycle
+		// and shared between every player viewing the target.
+		if (!updateAppearance && !noChat && player != target && !(player instanceof PlayerBot)
+				&& !flag.flagged(Flag.FORCED_MOVEMENT)
+				&& !(flag.flagged(Flag.CHAT) && player.getRelations().getIgnoreList().contains(target.getLongUsername()))) {
+			UpdateBlockCache cache = target.getUpdateBlockCache();
+			synchronized (cache) {
+				if (cache.getUpdateBlock() == null) {
+					PacketBuilder block = new PacketBuilder();
+					try {
+						encodeUpdates(player, block, target, false, false);
+					} catch (RuntimeException e) {
+						block.release();
+						throw e;
+					}
+					cache.setUpdateBlock(block.buffer());
+				}
+				builder.putBytes(cache.getUpdateBlock());
+			}
+			return;
+		}
 
+		encodeUpdates(player, builder, target, updateAppearance, noChat);
+	}
+
+	/**
+	 * Encodes the update masks of {@code target} as seen by {@code player}.
+	 *
+	 * @param player
+	 *            The player viewing the target.
+	 * @param builder
+	 *            The packet builder to write information on.
+	 * @param target
+	 *            The player to update masks for.
+	 * @param updateAppearance
+	 *            Update the player's appearance without the flag being set?
+	 * @param noChat
+	 *            Do not allow player to chat?
+	 */
+	private static void encodeUpdates(Player player, PacketBuilder builder, Player target, boolean updateAppearance,
+			boolean noChat) {
 		final UpdateFlag flag = target.getUpdateFlag();
 		int mask = 0;
 		if (flag.flagged(Flag.GRAPHIC) && target.getGraphic() != null) {
@@ -399,7 +460,7 @@ public class PlayerUpdating {
 			updateEntityInteraction(builder, target);
 		}
 		if (flag.flagged(Flag.APPEARANCE) || updateAppearance) {
-			updateAppearance(player, builder, target);
+			updateAppearance(builder, target);
 		}
 		if (flag.flagged(Flag.FACE_POSITION) && target.getPositionToFace() != null) {
 			updateFacingPosition(builder, target);
@@ -410,9 +471,6 @@ public class PlayerUpdating {
 		if (flag.flagged(Flag.DOUBLE_HIT)) {
 			updateDoubleHit(builder, target);
 		}
-		/*if (!player.equals(target) && !updateAppearance && !noChat) {
-			player.setCachedUpdateBlock(builder.buffer());
-		}*/
 	}
 
 	/**
@@ -581,16 +639,46 @@ public class PlayerUpdating {
 	 * their equipment, clothing, combat level, gender, head icons, user name and
 	 * animations.
 	 *
+	 * The block is only encoded again once the target's appearance version has
+	 * changed, otherwise the cached one is written.
+	 *
 	 * @param out
 	 *            The packet builder to write information on.
 	 * @param target
 	 *            The player to update appearance for.
 	 * @return The PlayerUpdating instance.
 	 */
-	private static void updateAppearance(Player player, PacketBuilder out, Player target) {
+	private static void updateAppearance(PacketBuilder out, Player target) {
+		UpdateBlockCache cache = target.getUpdateBlockCache();
+		synchronized (cache) {
+			long version = target.getAppearanceVersion();
+			if (cache.isAppearanceStale(version)) {
+				PacketBuilder properties = new PacketBuilder();
+				try {
+					encodeAppearance(properties, target);
+				} catch (RuntimeException e) {
+					properties.release();
+					throw e;
+				}
+				cache.setAppearanceBlock(properties.buffer(), version);
+			}
+			ByteBuf properties = cache.getAppearanceBlock();
+			out.put(properties.writerIndex(), ValueType.C);
+			out.putBytes(properties);
+		}
+	}
+
+	/**
+	 * Encodes the appearance properties of a player.
+	 *
+	 * @param properties
+	 *            The packet builder to write the properties on.
+	 * @param target
+	 *            The player to encode the appearance of.
+	 */
+	private static void encodeAppearance(PacketBuilder properties, Player target) {
 		Appearance appearance = target.getAppearance();
 		Equipment equipment = target.getEquipment();
-		PacketBuilder properties = new PacketBuilder();
 
 		properties.put(appearance.isMale() ? 0 : 1);
 
@@ -603,7 +691,7 @@ public class PlayerUpdating {
 		// Some sort of headhint (arrow over head)
 		properties.put(0);
 
-		if (player.getNpcTransformationId() == -1) {
+		if (target.getNpcTransformationId() == -1) {
 			int[] equip = new int[equipment.capacity()];
 			for (int i = 0; i < equipment.capacity(); i++) {
 				equip[i] = equipment.getItems()[i].getId();
@@ -679,7 +767,7 @@ public class PlayerUpdating {
 			}
 		} else {
 			properties.putShort(-1);
-			properties.putShort(player.getNpcTransformationId());
+			properties.putShort(target.getNpcTransformationId());
 		}
 		properties.put(appearance.getLook()[Appearance.HAIR_COLOUR]);
 		properties.put(appearance.getLook()[Appearance.TORSO_COLOUR]);
@@ -706,8 +794,5 @@ public class PlayerUpdating {
 		properties.put(target.getSkillManager().getCombatLevel());
 		properties.put(target.getRights().ordinal());
 		properties.putString(target.getLoyaltyTitle());
-
-		out.put(properties.buffer().writerIndex(), ValueType.C);
-		out.putBytes(properties.buffer());
 	}
 }
\ No newline at end of file
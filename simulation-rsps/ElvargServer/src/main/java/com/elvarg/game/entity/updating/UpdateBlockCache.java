@@ -0,0 +1,84 @@
+package com.elvarg.game.entity.updating;
+
+import com.elvarg.game.entity.impl.player.Player;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Holds the update blocks of a {@link Player} which are the same for every
+ * player viewing them, so that they are only encoded once instead of once per
+ * viewer.
+ *
+ * Viewers are updated concurrently, so the blocks should only be accessed
+ * while synchronized on this cache.
+ */
+public final class UpdateBlockCache {
+
+	/**
+	 * The update block shared by every viewer this cycle.
+	 */
+	private ByteBuf updateBlock;
+
+	/**
+	 * The appearance block, which is kept across cycles until the player's
+	 * appearance changes.
+	 */
+	private ByteBuf appearanceBlock;
+
+	/**
+	 * The appearance version the appearance block was encoded at, see
+	 * {@link Player#getAppearanceVersion()}.
+	 */
+	private long appearanceVersion;
+
+	ByteBuf getUpdateBlock() {
+		return updateBlock;
+	}
+
+	void setUpdateBlock(ByteBuf updateBlock) {
+		this.updateBlock = updateBlock;
+	}
+
+	/**
+	 * Checks if the appearance block should be encoded again.
+	 *
+	 * @param version
+	 *            the player's current appearance version.
+	 */
+	boolean isAppearanceStale(long version) {
+		return appearanceBlock == null || appearanceVersion != version;
+	}
+
+	ByteBuf getAppearanceBlock() {
+		return appearanceBlock;
+	}
+
+	void setAppearanceBlock(ByteBuf appearanceBlock, long version) {
+		if (this.appearanceBlock != null) {
+			this.appearanceBlock.release();
+		}
+		this.appearanceBlock = appearanceBlock;
+		this.appearanceVersion = version;
+	}
+
+	/**
+	 * Discards the update block of this cycle, keeping the appearance block.
+	 */
+	public synchronized void reset() {
+		if (updateBlock != null) {
+			updateBlock.release();
+			updateBlock = null;
+		}
+	}
+
+	/**
+	 * Discards all of the cached blocks, used once the player has logged out.
+	 */
+	public synchronized void clear() {
+		reset();
+		if (appearanceBlock != null) {
+			appearanceBlock.release();
+			appearanceBlock = null;
+		}
+	}
+}
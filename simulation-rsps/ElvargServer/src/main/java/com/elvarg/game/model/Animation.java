@@ -12,6 +12,10 @@ public class Animation {
      * The default reset animation for an entity.
      */
     public static final Animation DEFAULT_RESET_ANIMATION = new Animation(65535);
+    /**
+     * The shared animations handed out by {@link #of(int)}, by id.
+     */
+    private static final Animation[] SHARED = new Animation[65536];
     /**
      * The animation's id.
      */
@@ -60,6 +64,25 @@ public class Animation {
         this.priority = Priority.LOW;
     }
 
+    /**
+     * Gets the shared animation with the specified id, with no delay and a low
+     * priority. Animations are immutable, so this can be used instead of
+     * creating a new one each time an animation is performed.
+     *
+     * @param id The id of the animation.
+     * @return the animation.
+     */
+    public static Animation of(int id) {
+        if (id < 0 || id >= SHARED.length) {
+            return new Animation(id);
+        }
+        Animation animation = SHARED[id];
+        if (animation == null) {
+            SHARED[id] = animation = new Animation(id);
+        }
+        return animation;
+    }
+
     /**
      * Gets the animation's id.
      *
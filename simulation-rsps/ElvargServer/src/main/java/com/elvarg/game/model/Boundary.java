@@ -48,4 +48,18 @@ public class Boundary {
     public boolean inside(Location p) {
         return p.getX() >= x && p.getX() <= x2 && p.getY() >= y && p.getY() <= y2 && height == p.getZ();
     }
+
+    /**
+     * Checks if any tile of a rectangle might be inside of this boundary.
+     */
+    public boolean overlaps(int x, int x2, int y, int y2, int height) {
+        return this.height == height && this.x <= x2 && this.x2 >= x && this.y <= y2 && this.y2 >= y;
+    }
+
+    /**
+     * Checks if every tile of a rectangle is inside of this boundary.
+     */
+    public boolean covers(int x, int x2, int y, int y2, int height) {
+        return this.height == height && this.x <= x && this.x2 >= x2 && this.y <= y && this.y2 >= y2;
+    }
 }
@@ -2,6 +2,7 @@ package com.elvarg.game.model;
 
 import com.elvarg.game.content.minigames.impl.Barrows;
 import com.elvarg.game.definition.ItemDefinition;
+import com.elvarg.game.model.container.ItemContainer;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
 
 /**
@@ -22,6 +23,13 @@ public class Item {
      */
     private int amount;
 
+    /**
+     * The container whose slot holds the item, which is told whenever the id
+     * or amount changes so that it knows its items have changed. An item is
+     * only ever held by one slot at a time.
+     */
+    private transient ItemContainer container;
+
     /**
      * An Item object constructor.
      *
@@ -56,6 +64,7 @@ public class Item {
      */
     public Item setId(int id) {
         this.id = id;
+        changed();
         return this;
     }
 
@@ -71,6 +80,7 @@ public class Item {
      */
     public Item setAmount(int amount) {
         this.amount = amount;
+        changed();
         return this;
     }
 
@@ -91,6 +101,7 @@ public class Item {
             return;
         }
         amount++;
+        changed();
     }
 
     /**
@@ -101,6 +112,7 @@ public class Item {
             return;
         }
         amount--;
+        changed();
     }
 
     /**
@@ -112,6 +124,7 @@ public class Item {
         } else {
             this.amount += amount;
         }
+        changed();
     }
 
     /**
@@ -123,6 +136,31 @@ public class Item {
         } else {
             this.amount -= amount;
         }
+        changed();
+    }
+
+    /**
+     * Gets the container whose slot holds this item.
+     *
+     * @return the container, or {@code null} if no slot holds this item.
+     */
+    public ItemContainer getContainer() {
+        return container;
+    }
+
+    /**
+     * Sets the container which holds this item. Only a container should call
+     * this, when it puts the item into one of its slots or takes it out of
+     * one.
+     */
+    public void setContainer(ItemContainer container) {
+        this.container = container;
+    }
+
+    private void changed() {
+        if (container != null) {
+            container.onItemChanged();
+        }
     }
 
     public int getIdOnDropOrDeath() {
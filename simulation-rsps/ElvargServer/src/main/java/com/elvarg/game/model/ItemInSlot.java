@@ -3,8 +3,6 @@ package com.elvarg.game.model;
 import com.elvarg.game.definition.ItemDefinition;
 import com.elvarg.game.model.container.impl.Inventory;
 
-import java.util.stream.IntStream;
-
 /**
  * Represents an item and its slot in an inventory.
  *
@@ -49,13 +47,7 @@ public class ItemInSlot {
 
     public static ItemInSlot getFromInventory(int itemId, Inventory inventory) {
 
-        // Search player's inventory for this.id
-        int[] itemIds = inventory.getItemIdsArray();
-
-        int slot = IntStream.range(0, itemIds.length)
-                .filter(i -> itemId == itemIds[i])
-                .findFirst()
-                .orElse(-1);
+        int slot = inventory.indexOf(itemId);
         if (slot == -1) {
             return null;
         }
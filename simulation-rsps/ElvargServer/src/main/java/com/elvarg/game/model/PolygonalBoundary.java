@@ -11,7 +11,8 @@ public class PolygonalBoundary extends Boundary {
      * @param points
      */
     public PolygonalBoundary(int[][] points) {
-        super(0, 0, 0, 0);
+        // Bound the polygon by its enclosing rectangle
+        super(min(points, 0), max(points, 0), min(points, 1), max(points, 1));
 
         int[] xCoords = new int[points.length];
         int[] yCoords = new int[points.length];
@@ -28,4 +29,38 @@ public class PolygonalBoundary extends Boundary {
     public boolean inside(Location p) {
         return this.polygon.contains(p.getX(), p.getY());
     }
+
+    @Override
+    public boolean overlaps(int x, int x2, int y, int y2, int height) {
+        // Polygons cover every height
+        return getX() <= x2 && getX2() >= x && getY() <= y2 && getY2() >= y;
+    }
+
+    @Override
+    public boolean covers(int x, int x2, int y, int y2, int height) {
+        for (int tileX = x; tileX <= x2; tileX++) {
+            for (int tileY = y; tileY <= y2; tileY++) {
+                if (!this.polygon.contains(tileX, tileY)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static int min(int[][] points, int axis) {
+        int min = Integer.MAX_VALUE;
+        for (int[] point : points) {
+            min = Math.min(min, point[axis]);
+        }
+        return min;
+    }
+
+    private static int max(int[][] points, int axis) {
+        int max = Integer.MIN_VALUE;
+        for (int[] point : points) {
+            max = Math.max(max, point[axis]);
+        }
+        return max;
+    }
 }
@@ -79,10 +79,7 @@ public class Projectile {
 	private static void sendProjectile(Location start, Location end, Mobile lockon, Projectile p,
 			PrivateArea privateArea) {
 		int speed = p.getSpeed(start, end);
-		for (Player player : World.getPlayers()) {
-			if (player == null) {
-				continue;
-			}
+		for (Player player : World.getPlayers().grid().within(start, Location.VIEW_DISTANCE, privateArea)) {
 			if (player.getPrivateArea() != privateArea) {
 				continue;
 			}
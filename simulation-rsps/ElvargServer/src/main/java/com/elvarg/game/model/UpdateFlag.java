@@ -15,6 +15,12 @@ public class UpdateFlag {
      */
     private BitSet flags = new BitSet();
 
+    /**
+     * Counts the times the appearance has been flagged. Unlike the flags,
+     * this is never reset.
+     */
+    private int appearanceVersion;
+
     /**
      * Checks if {@code flag} is contained in the entity's flag set.
      *
@@ -42,9 +48,20 @@ public class UpdateFlag {
      */
     public UpdateFlag flag(Flag flag) {
         flags.set(flag.ordinal(), true);
+        if (flag == Flag.APPEARANCE) {
+            appearanceVersion++;
+        }
         return this;
     }
 
+    /**
+     * Gets the amount of times the appearance has been flagged, which changes
+     * whenever anything in it does.
+     */
+    public int getAppearanceVersion() {
+        return appearanceVersion;
+    }
+
     /**
      * Removes every flag in the flags set.
      *
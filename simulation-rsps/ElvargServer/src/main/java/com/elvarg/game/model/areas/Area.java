@@ -37,6 +37,25 @@ public abstract class Area {
     }
 
     public final void enter(Mobile character) {
+        // Mobiles in an instance are kept track of by their instance instead
+        if (character.getInstance() == null) {
+            track(character);
+        }
+        this.postEnter(character);
+    }
+
+    public void postEnter(Mobile character) {}
+
+    public final void leave(Mobile character, boolean logout) {
+        untrack(character);
+    }
+
+    /**
+     * Adds a mobile to this area's players, player bots or npcs.
+     *
+     * @param character
+     */
+    public final void track(Mobile character) {
         if (character.isPlayerBot()) {
             this.playerBots.put(character.getIndex(), character.getAsPlayerBot());
         }
@@ -46,12 +65,14 @@ public abstract class Area {
         } else if (character.isNpc()) {
             this.npcs.put(character.getIndex(), character.getAsNpc());
         }
-        this.postEnter(character);
     }
 
-    public void postEnter(Mobile character) {}
-
-    public final void leave(Mobile character, boolean logout) {
+    /**
+     * Removes a mobile from this area's players, player bots or npcs.
+     *
+     * @param character
+     */
+    public final void untrack(Mobile character) {
         if (character.isPlayerBot()) {
             this.playerBots.remove(character.getIndex());
         }
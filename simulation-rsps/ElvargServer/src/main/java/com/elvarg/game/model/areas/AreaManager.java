@@ -12,27 +12,71 @@ import com.elvarg.game.model.areas.impl.DuelArenaArea;
 import com.elvarg.game.model.areas.impl.GodwarsDungeonArea;
 import com.elvarg.game.model.areas.impl.KingBlackDragonArea;
 import com.elvarg.game.model.areas.impl.WildernessArea;
+import com.elvarg.util.LongObjectMap;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class AreaManager {
 
+    /**
+     * The chunk key of an entity whose area hasn't been looked up by chunk.
+     */
+    public static final long NO_CHUNK = -1;
+
+    /**
+     * The areas a position can be in, in order of priority. Only add to this
+     * through {@link #add(Area)} so the areas stay indexed.
+     */
     public static List<Area> areas = new ArrayList<>();
 
+    /**
+     * The areas with a boundary overlapping each 64x64 region, in the same
+     * order as {@link #areas}, keyed by region id.
+     */
+    private static final LongObjectMap<Area[]> regionAreas = new LongObjectMap<>();
+
+    private static final Area[] NO_AREAS = new Area[0];
+
     static {
-        areas.add(new BarrowsArea());
-        areas.add(new DuelArenaArea());
-        areas.add(new WildernessArea());
-        areas.add(new KingBlackDragonArea());
-        areas.add(new GodwarsDungeonArea());
-        areas.add(CastleWars.LOBBY_AREA);
-        areas.add(CastleWars.ZAMORAK_WAITING_AREA);
-        areas.add(CastleWars.SARADOMIN_WAITING_AREA);
-        areas.add(CastleWars.GAME_AREA);
-        areas.add(PestControl.GAME_AREA);
-        areas.add(PestControl.NOVICE_BOAT_AREA);
-        areas.add(PestControl.OUTPOST_AREA);
+        add(new BarrowsArea());
+        add(new DuelArenaArea());
+        add(new WildernessArea());
+        add(new KingBlackDragonArea());
+        add(new GodwarsDungeonArea());
+        add(CastleWars.LOBBY_AREA);
+        add(CastleWars.ZAMORAK_WAITING_AREA);
+        add(CastleWars.SARADOMIN_WAITING_AREA);
+        add(CastleWars.GAME_AREA);
+        add(PestControl.GAME_AREA);
+        add(PestControl.NOVICE_BOAT_AREA);
+        add(PestControl.OUTPOST_AREA);
+    }
+
+    /**
+     * Adds an area, after every area added before it, and indexes it by the
+     * regions its boundaries overlap.
+     *
+     * @param area
+     */
+    public static void add(Area area) {
+        areas.add(area);
+        for (Boundary b : area.getBoundaries()) {
+            for (int regionX = b.getX() >> 6; regionX <= b.getX2() >> 6; regionX++) {
+                for (int regionY = b.getY() >> 6; regionY <= b.getY2() >> 6; regionY++) {
+                    long regionId = (regionX << 8) + regionY;
+                    Area[] current = regionAreas.get(regionId);
+                    if (current == null) {
+                        regionAreas.put(regionId, new Area[] { area });
+                    } else if (current[current.length - 1] != area) {
+                        Area[] added = Arrays.copyOf(current, current.length + 1);
+                        added[current.length] = area;
+                        regionAreas.put(regionId, added);
+                    }
+                }
+            }
+        }
     }
 
     /**
@@ -46,15 +90,16 @@ public class AreaManager {
 
         Area previousArea = null;
 
+        Area newArea = get(c, position);
+
         if (area != null) {
-            if (!inside(position, area)) {
+            if (area != newArea && !inside(position, area)) {
                 area.leave(c, false);
                 previousArea = area;
                 area = null;
             }
         }
 
-        Area newArea = get(position);
         if (area == null || area != newArea) {
             area = newArea;
             if (area != null) {
@@ -135,7 +180,7 @@ public class AreaManager {
      * @return
      */
     public static Area get(Location position) {
-        for (Area area : areas) {
+        for (Area area : candidates(position.getX(), position.getY())) {
             if (inside(position, area)) {
                 return area;
             }
@@ -143,6 +188,65 @@ public class AreaManager {
         return null;
     }
 
+    /**
+     * Gets the {@link Area} a {@link Mobile} is in, skipping the lookup while
+     * it stays inside of a chunk which is entirely in one area.
+     *
+     * @param c
+     * @param position
+     * @return
+     */
+    private static Area get(Mobile c, Location position) {
+        int chunkX = position.getX() >> 3;
+        int chunkY = position.getY() >> 3;
+        long chunk = ((long) position.getZ() << 40) | ((long) chunkX << 20) | chunkY;
+        if (c.getAreaChunk() == chunk) {
+            return c.getAreaChunkArea();
+        }
+        Area area = get(position);
+        c.setAreaChunk(isWhollyIn(chunkX, chunkY, position.getZ(), area) ? chunk : NO_CHUNK, area);
+        return area;
+    }
+
+    /**
+     * Checks if every tile of a chunk would be found in the given area, or in
+     * no area at all if {@code area} is null.
+     */
+    private static boolean isWhollyIn(int chunkX, int chunkY, int z, Area area) {
+        int x = chunkX << 3;
+        int y = chunkY << 3;
+        for (Area candidate : candidates(x, y)) {
+            boolean whole = false;
+            boolean overlaps = false;
+            for (Boundary b : candidate.getBoundaries()) {
+                if (!b.overlaps(x, x + 7, y, y + 7, z)) {
+                    continue;
+                }
+                overlaps = true;
+                if (b.covers(x, x + 7, y, y + 7, z)) {
+                    whole = true;
+                    break;
+                }
+            }
+            if (candidate == area) {
+                return whole;
+            }
+            if (overlaps) {
+                // Part of the chunk is in an area with a higher priority
+                return false;
+            }
+        }
+        return area == null;
+    }
+
+    /**
+     * Gets the areas which could contain a position, in order of priority.
+     */
+    private static Area[] candidates(int x, int y) {
+        Area[] candidates = regionAreas.get(((x >> 6) << 8) + (y >> 6));
+        return candidates != null ? candidates : NO_AREAS;
+    }
+
     /**
      * Checks if a position is inside of an area's boundaries.
      *
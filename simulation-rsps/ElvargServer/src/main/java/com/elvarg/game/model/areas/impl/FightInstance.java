@@ -0,0 +1,132 @@
+package com.elvarg.game.model.areas.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+import com.elvarg.game.content.combat.bountyhunter.BountyHunter;
+import com.elvarg.game.entity.Entity;
+import com.elvarg.game.entity.impl.Mobile;
+import com.elvarg.game.entity.impl.npc.NPC;
+import com.elvarg.game.entity.impl.player.Player;
+
+/**
+ * A lightweight instance which isolates a single fight from every other
+ * fight happening in the same place, used to run many 1v1 training fights in
+ * the same patch of the wilderness at once.
+ *
+ * Unlike other private areas, a fight instance doesn't replace the area its
+ * fighters are standing in. They keep following the rules of the area around
+ * them, such as the {@link WildernessArea}, and are only hidden from, and
+ * unable to attack, anyone outside of their instance. The instance shares the
+ * world's clipping, with any clipping added during the fight kept on top of
+ * it.
+ *
+ * The players and npcs in an instance are kept track of by the instance
+ * rather than by the area around them, so that the cost of a fight doesn't
+ * grow with the amount of other fights in the same area.
+ *
+ * Instances are pooled, and are recycled as soon as their last player leaves.
+ * Any npcs spawned inside of an instance are removed along with it.
+ */
+public final class FightInstance extends PrivateArea {
+
+    /**
+     * The instances which are no longer in use.
+     */
+    private static final Deque<FightInstance> POOL = new ArrayDeque<>();
+
+    private FightInstance() {
+        super(Collections.emptyList());
+    }
+
+    /**
+     * Gets an empty instance, reusing a recycled one if there is any.
+     *
+     * @return the instance.
+     */
+    public static FightInstance acquire() {
+        FightInstance instance = POOL.poll();
+        return instance != null ? instance : new FightInstance();
+    }
+
+    /**
+     * Places the given fighters in a new instance, taking them out of the
+     * instances they were in before.
+     *
+     * @param fighters the fighters.
+     * @return the instance.
+     */
+    public static FightInstance start(Mobile... fighters) {
+        FightInstance instance = acquire();
+        for (Mobile fighter : fighters) {
+            if (fighter.getInstance() != null) {
+                fighter.getInstance().remove(fighter);
+            }
+            instance.add(fighter);
+        }
+        return instance;
+    }
+
+    @Override
+    public void add(Entity entity) {
+        if (entities.contains(entity)) {
+            return;
+        }
+        entities.add(entity);
+        if (entity instanceof Mobile mobile) {
+            if (mobile.getArea() != null) {
+                mobile.getArea().untrack(mobile);
+            }
+            track(mobile);
+            mobile.setInstance(this);
+            if (mobile.isPlayer()) {
+                // Fighters in an instance can't be assigned targets from outside of it
+                BountyHunter.unassign(mobile.getAsPlayer());
+                BountyHunter.PLAYERS_IN_WILD.remove(mobile.getAsPlayer());
+            }
+        }
+    }
+
+    @Override
+    public void remove(Entity entity) {
+        if (!entities.remove(entity)) {
+            return;
+        }
+        if (entity instanceof Mobile mobile) {
+            untrack(mobile);
+            if (mobile.getInstance() == this) {
+                mobile.setInstance(null);
+                if (mobile.getArea() != null) {
+                    mobile.getArea().track(mobile);
+                }
+            }
+            if (mobile.isPlayer() && mobile.getArea() instanceof WildernessArea) {
+                Player player = mobile.getAsPlayer();
+                if (!BountyHunter.PLAYERS_IN_WILD.contains(player)) {
+                    BountyHunter.PLAYERS_IN_WILD.add(player);
+                }
+            }
+            if (mobile.isPlayer() && getPlayers().isEmpty()) {
+                recycle();
+            }
+        }
+    }
+
+    /**
+     * Removes everything left in this instance and returns it to the pool.
+     */
+    private void recycle() {
+        List<NPC> npcs = new ArrayList<>(getNpcs());
+        clear();
+        for (NPC npc : npcs) {
+            untrack(npc);
+            if (npc.getInstance() == this) {
+                npc.setInstance(null);
+            }
+        }
+        POOL.push(this);
+    }
+}
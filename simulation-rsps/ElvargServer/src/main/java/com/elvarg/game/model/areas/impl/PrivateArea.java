@@ -1,10 +1,8 @@
 package com.elvarg.game.model.areas.impl;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 
 import com.elvarg.game.World;
 import com.elvarg.game.entity.Entity;
@@ -18,17 +16,26 @@ import com.elvarg.game.entity.impl.player.Player;
 import com.elvarg.game.model.Boundary;
 import com.elvarg.game.model.Location;
 import com.elvarg.game.model.areas.Area;
+import com.elvarg.util.LongIntMap;
 
 public abstract class PrivateArea extends Area {
 
+    /**
+     * The id given to the next private area created.
+     */
+    private static int nextInstanceId = 1;
+
     public final List<Entity> entities;
-    private final Map<Location, Integer> clips;
+    private final LongIntMap clips;
+    private int clipVersion;
+    private final int instanceId;
     private boolean destroyed;
     
     public PrivateArea(List<Boundary> boundaries) {
         super(boundaries);
         entities = new ArrayList<>();
-        clips = new HashMap<>();
+        clips = new LongIntMap();
+        instanceId = nextInstanceId++;
     }
 
     @Override
@@ -66,6 +73,15 @@ public abstract class PrivateArea extends Area {
         if (destroyed) {
             return;
         }
+        clear();
+        destroyed = true;
+    }
+
+    /**
+     * Removes everything left in this area: its npcs, objects, ground items
+     * and clipping.
+     */
+    protected void clear() {
         for (NPC npc : getNpcs()) {
             if (npc.isRegistered()) {
                 World.getRemoveNPCQueue().add(npc);
@@ -81,7 +97,7 @@ public abstract class PrivateArea extends Area {
         }
         entities.clear();
         clips.clear();
-        destroyed = true;
+        clipVersion++;
     }
 
     public List<GameObject> getObjects() {
@@ -94,25 +110,60 @@ public abstract class PrivateArea extends Area {
         return objects;
     }
     
+    public void setClip(int x, int y, int z, int mask) {
+        clips.put(clipKey(x, y, z), mask);
+        clipVersion++;
+    }
+    
+    public void removeClip(int x, int y, int z) {
+        clips.remove(clipKey(x, y, z));
+        clipVersion++;
+    }
+
+    /**
+     * Gets the version of the clipping added to this area, which changes
+     * every time any of it does, including when the area is cleared.
+     */
+    public int getClipVersion() {
+        return clipVersion;
+    }
+    
+    public int getClip(int x, int y, int z) {
+        return clips.get(clipKey(x, y, z), 0);
+    }
+
+    /**
+     * Checks if any clipping has been added to this area on top of the
+     * world's own clipping.
+     */
+    public boolean hasClips() {
+        return !clips.isEmpty();
+    }
+
     public void setClip(Location location, int mask) {
-        clips.put(location, mask);
+        setClip(location.getX(), location.getY(), location.getZ(), mask);
     }
     
     public void removeClip(Location location) {
-        Iterator<Location> it = clips.keySet().iterator();
-        while (it.hasNext()) {
-            Location clipLocation = it.next();
-            if (clipLocation.equals(location)) {
-                it.remove();
-            }
-        }
+        removeClip(location.getX(), location.getY(), location.getZ());
     }
     
     public int getClip(Location location) {
-        return clips.getOrDefault(location, 0);
+        return getClip(location.getX(), location.getY(), location.getZ());
+    }
+
+    private static long clipKey(int x, int y, int z) {
+        return ((long) z << 32) | ((long) (x & 0xFFFF) << 16) | (y & 0xFFFF);
     }
     
     public boolean isDestroyed() {
         return destroyed;
     }
+
+    /**
+     * Gets the id which tells this area apart from every other private area.
+     */
+    public int getInstanceId() {
+        return instanceId;
+    }
 }
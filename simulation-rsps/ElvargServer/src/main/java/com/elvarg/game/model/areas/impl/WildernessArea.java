@@ -51,7 +51,7 @@ public class WildernessArea extends Area {
 			player.getPacketSender().sendInteractionOption("Attack", 2, true);
 			player.getPacketSender().sendWalkableInterface(197);
 			BountyHunter.updateInterface(player);
-			if (!BountyHunter.PLAYERS_IN_WILD.contains(player)) {
+			if (player.getInstance() == null && !BountyHunter.PLAYERS_IN_WILD.contains(player)) {
 				BountyHunter.PLAYERS_IN_WILD.add(player);
 			}
 		}
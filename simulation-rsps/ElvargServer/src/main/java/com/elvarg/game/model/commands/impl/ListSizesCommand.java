@@ -4,12 +4,13 @@ import com.elvarg.game.World;
 import com.elvarg.game.entity.impl.player.Player;
 import com.elvarg.game.model.commands.Command;
 import com.elvarg.game.model.rights.PlayerRights;
+import com.elvarg.net.packet.PacketSender;
 
 public class ListSizesCommand implements Command {
 
     @Override
     public void execute(Player player, String command, String[] parts) {
-        player.getPacketSender().sendMessage("Players: " + World.getPlayers().size() + ", NPCs: " + World.getNpcs().size() + ", Objects: " + World.getObjects().size() + ", GroundItems: " + World.getItems().size() + ".");
+        player.getPacketSender().sendMessage("Players: " + World.getPlayers().size() + ", NPCs: " + World.getNpcs().size() + ", Objects: " + World.getObjects().size() + ", GroundItems: " + World.getItems().size() + ", Avoided packets: " + PacketSender.getAvoidedPackets() + ".");
     }
 
     @Override
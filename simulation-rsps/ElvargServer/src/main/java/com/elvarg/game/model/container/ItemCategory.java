@@ -0,0 +1,20 @@
+package com.elvarg.game.model.container;
+
+/**
+ * A category of items which an {@link ItemContainer} can keep a running count
+ * of, such as food or the doses of a potion.
+ *
+ * @see ItemContainer#count(ItemCategory)
+ */
+@FunctionalInterface
+public interface ItemCategory {
+
+    /**
+     * Gets how much one of an item counts for in this category, such as the
+     * amount of doses in a potion.
+     *
+     * @param itemId The item id.
+     * @return The weight of the item, or 0 if it isn't in this category.
+     */
+    int weight(int itemId);
+}
@@ -30,12 +30,43 @@ public abstract class ItemContainer {
      */
     private Item[] items = new Item[capacity()];
 
+    /**
+     * Bumped whenever an item is put into a slot or one of the items in the
+     * slots changes, see {@link ItemIndex}.
+     */
+    private int version;
+
+    /**
+     * The items indexed by id, created when first needed.
+     */
+    private ItemIndex index;
+
+    /**
+     * Whether the container should be sent at the end of the tick, see
+     * {@link #queueRefresh()}.
+     */
+    private boolean refreshQueued;
+
+    /**
+     * The ids and amounts of the items as they were last sent, so that only the
+     * slots which have changed since need to be sent.
+     */
+    private int[] sentIds;
+    private int[] sentAmounts;
+
+    /**
+     * The size of a packet updating a single slot, and of a packet sending the
+     * whole container per slot.
+     */
+    private static final int SLOT_UPDATE_SIZE = 12;
+    private static final int CONTAINER_SLOT_SIZE = 6;
+
     /**
      * ItemContainer constructor to create a new blank instance.
      */
     public ItemContainer() {
         for (int i = 0; i < capacity(); i++) {
-            items[i] = new Item(-1, 0);
+            items[i] = hold(new Item(-1, 0));
         }
     }
 
@@ -45,7 +76,7 @@ public abstract class ItemContainer {
     public ItemContainer(int capacity) {
         items = new Item[capacity];
         for (int i = 0; i < capacity; i++) {
-            items[i] = new Item(-1, 0);
+            items[i] = hold(new Item(-1, 0));
         }
     }
 
@@ -57,7 +88,7 @@ public abstract class ItemContainer {
     public ItemContainer(Player player) {
         this.player = player;
         for (int i = 0; i < capacity(); i++) {
-            items[i] = new Item(-1, 0);
+            items[i] = hold(new Item(-1, 0));
         }
     }
 
@@ -70,7 +101,7 @@ public abstract class ItemContainer {
         this.player = player;
         items = new Item[capacity];
         for (int i = 0; i < capacity; i++) {
-            items[i] = new Item(-1, 0);
+            items[i] = hold(new Item(-1, 0));
         }
     }
 
@@ -90,6 +121,85 @@ public abstract class ItemContainer {
      */
     public abstract ItemContainer refreshItems();
 
+    /**
+     * Queues the container to be sent to the player at the end of the tick,
+     * rather than straight away. However many times the container changes
+     * and is refreshed during the tick, it's only sent once, and only the slots
+     * which actually changed are.
+     *
+     * @return The ItemContainer instance.
+     */
+    protected ItemContainer queueRefresh() {
+        refreshQueued = true;
+        return this;
+    }
+
+    /**
+     * Sends the container to the player if a refresh has been queued. Bots
+     * don't have a client, so nothing is sent to them.
+     *
+     * @param interfaceId The interface the container is shown on.
+     */
+    public void flushRefresh(int interfaceId) {
+        if (!refreshQueued) {
+            return;
+        }
+        refreshQueued = false;
+        if (player == null || player.isPlayerBot()) {
+            return;
+        }
+        if (sentIds == null || sentIds.length != items.length) {
+            sentIds = new int[items.length];
+            sentAmounts = new int[items.length];
+            sendAll(interfaceId);
+            return;
+        }
+        int changed = 0;
+        for (int slot = 0; slot < items.length; slot++) {
+            if (sentIds[slot] != sentId(items[slot]) || sentAmounts[slot] != sentAmount(items[slot])) {
+                changed++;
+            }
+        }
+        if (changed == 0) {
+            return;
+        }
+        if (changed * SLOT_UPDATE_SIZE >= items.length * CONTAINER_SLOT_SIZE || items.length > 255) {
+            sendAll(interfaceId);
+            return;
+        }
+        for (int slot = 0; slot < items.length; slot++) {
+            int id = sentId(items[slot]);
+            int amount = sentAmount(items[slot]);
+            if (sentIds[slot] != id || sentAmounts[slot] != amount) {
+                player.getPacketSender().sendItemOnInterface(interfaceId, id, slot, amount);
+                sentIds[slot] = id;
+                sentAmounts[slot] = amount;
+            }
+        }
+    }
+
+    private void sendAll(int interfaceId) {
+        player.getPacketSender().sendItemContainer(this, interfaceId);
+        for (int slot = 0; slot < items.length; slot++) {
+            sentIds[slot] = sentId(items[slot]);
+            sentAmounts[slot] = sentAmount(items[slot]);
+        }
+    }
+
+    /**
+     * Gets the id the client is sent for an item, -1 for an empty slot.
+     */
+    private int sentId(Item item) {
+        if (item == null || item.getId() <= 0 || item.getAmount() <= 0 && !(this instanceof Bank)) {
+            return -1;
+        }
+        return item.getId();
+    }
+
+    private int sentAmount(Item item) {
+        return sentId(item) == -1 ? 0 : item.getAmount();
+    }
+
     /**
      * The full method which contains the content a player will receive upon
      * container being full, such as a message when inventory is full.
@@ -136,7 +246,14 @@ public abstract class ItemContainer {
      * @param items The item array to which set the container to hold.
      */
     public ItemContainer setItems(Item[] items) {
+        for (Item item : this.items) {
+            release(item);
+        }
+        for (int i = 0; i < items.length; i++) {
+            items[i] = hold(items[i]);
+        }
         this.items = items;
+        version++;
         return this;
     }
 
@@ -190,7 +307,9 @@ public abstract class ItemContainer {
      * @param item Item that will occupy the slot.
      */
     public ItemContainer setItem(int slot, Item item) {
-        items[slot] = item;
+        release(items[slot]);
+        items[slot] = hold(item);
+        version++;
         return this;
     }
 
@@ -269,6 +388,9 @@ public abstract class ItemContainer {
      * @return Container contains item with the specified id.
      */
     public boolean contains(int id) {
+        if (id > 0) {
+            return index().firstSlot(id) != -1;
+        }
         for (Item items : this.items) {
             if (items.getId() == id) {
                 return true;
@@ -361,6 +483,9 @@ public abstract class ItemContainer {
      * @return The slot index the item is located in.
      */
     public int getSlotForItemId(int id) {
+        if (id > 0) {
+            return index().heldSlot(id);
+        }
         for (int i = 0; i < capacity(); i++) {
             if (items[i].getId() == id) {
                 if (items[i].getAmount() > 0 || (this instanceof Bank && items[i].getAmount() == 0)) {
@@ -378,6 +503,9 @@ public abstract class ItemContainer {
      * @return The total amount of items in the container with said id.
      */
     public int getAmount(int id) {
+        if (id > 0) {
+            return index().amount(id);
+        }
         int totalAmount = 0;
         for (Item item : items) {
             if (item.getId() == id) {
@@ -387,6 +515,87 @@ public abstract class ItemContainer {
         return totalAmount;
     }
 
+    /**
+     * Gets the first slot with said id in it, whatever its amount.
+     *
+     * @param id The item id.
+     * @return The slot index, or -1 if there is no such item in the container.
+     */
+    public int indexOf(int id) {
+        if (id > 0) {
+            return index().firstSlot(id);
+        }
+        for (int i = 0; i < items.length; i++) {
+            if (items[i] != null && items[i].getId() == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the total weight of the items in a category, such as the remaining
+     * doses of a potion.
+     *
+     * @param category The category to count.
+     * @return The sum of each item's weight times its amount.
+     */
+    public int count(ItemCategory category) {
+        return index().count(category);
+    }
+
+    /**
+     * Gets a number which changes whenever a slot is replaced or one of the
+     * items in the slots changes.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Called by the items in the container whenever their id or amount
+     * changes.
+     */
+    public void onItemChanged() {
+        version++;
+    }
+
+    /**
+     * Makes an item tell this container when it changes. An item which is
+     * still held by another slot, of this or any other container, is copied
+     * first, as it can only tell one container about its changes.
+     *
+     * @return the item to put into the slot.
+     */
+    private Item hold(Item item) {
+        if (item == null) {
+            return null;
+        }
+        if (item.getContainer() != null) {
+            item = item.clone();
+        }
+        item.setContainer(this);
+        return item;
+    }
+
+    /**
+     * Stops an item which is leaving one of this container's slots from
+     * telling this container about its changes.
+     */
+    private void release(Item item) {
+        if (item != null && item.getContainer() == this) {
+            item.setContainer(null);
+        }
+    }
+
+    private ItemIndex index() {
+        if (index == null) {
+            index = new ItemIndex();
+        }
+        index.update(this, version);
+        return index;
+    }
+
     /**
      * Gets the total amount of items in the container in the specified slot
      *
@@ -404,8 +613,10 @@ public abstract class ItemContainer {
      */
     public ItemContainer resetItems() {
         for (int i = 0; i < capacity(); i++) {
-            items[i] = new Item(-1, 0);
+            release(items[i]);
+            items[i] = hold(new Item(-1, 0));
         }
+        version++;
         return this;
     }
 
@@ -772,6 +983,10 @@ public abstract class ItemContainer {
      * @return the item id on this index.
      */
     public Item getById(int id) {
+        if (id > 0) {
+            int slot = index().firstSlot(id);
+            return slot == -1 ? null : items[slot];
+        }
         for (int i = 0; i < items.length; i++) {
             if (items[i] == null) {
                 continue;
@@ -796,7 +1011,9 @@ public abstract class ItemContainer {
     }
 
     public void set(int slot, Item item) {
-        items[slot] = item;
+        release(items[slot]);
+        items[slot] = hold(item);
+        version++;
     }
 
     public Item get(int slot) {
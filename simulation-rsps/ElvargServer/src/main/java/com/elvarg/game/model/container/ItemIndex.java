@@ -0,0 +1,165 @@
+package com.elvarg.game.model.container;
+
+import com.elvarg.game.model.Item;
+import com.elvarg.game.model.container.impl.Bank;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Indexes the items of an {@link ItemContainer} by id, so that looking up an
+ * item's amount or slot doesn't have to go through every slot.
+ *
+ * Items are mutable and handed out by their containers, so rather than being
+ * kept up to date on every change, the index is rebuilt in a single pass the
+ * first time it's used after the container's version has changed. The version
+ * is bumped when a slot is replaced and when an item in one of the slots
+ * changes, so changes to other containers' items never cause a rebuild.
+ *
+ * @see ItemContainer#onItemChanged()
+ */
+final class ItemIndex {
+
+    /**
+     * The id of an unused entry in the table, item ids above 0 are the only
+     * ones indexed.
+     */
+    private static final int FREE = 0;
+
+    /**
+     * An open addressing table of the item ids in the container.
+     */
+    private int[] ids;
+
+    /**
+     * The total amount of each item in the container.
+     */
+    private int[] amounts;
+
+    /**
+     * The first slot each item is in.
+     */
+    private int[] firstSlots;
+
+    /**
+     * The first slot each item is in which counts as holding it, see
+     * {@link ItemContainer#getSlotForItemId(int)}.
+     */
+    private int[] heldSlots;
+
+    /**
+     * The used entries in the table.
+     */
+    private int[] used;
+
+    private int size;
+
+    private int mask;
+
+    /**
+     * The counts of the categories which have been asked for since the index
+     * was last built.
+     */
+    private final Map<ItemCategory, Integer> categories = new IdentityHashMap<>();
+
+    /**
+     * The container version the index was built at.
+     */
+    private int version = -1;
+
+    /**
+     * Rebuilds the index if the container has changed since it was last built.
+     */
+    void update(ItemContainer container, int version) {
+        if (this.version == version) {
+            return;
+        }
+        this.version = version;
+        build(container.getItems(), Math.min(container.capacity(), container.getItems().length),
+                container instanceof Bank);
+    }
+
+    private void build(Item[] items, int capacity, boolean bank) {
+        if (used == null || used.length != items.length) {
+            int tableSize = Integer.highestOneBit(Math.max(2, items.length) * 2 - 1) << 1;
+            ids = new int[tableSize];
+            amounts = new int[tableSize];
+            firstSlots = new int[tableSize];
+            heldSlots = new int[tableSize];
+            used = new int[items.length];
+            mask = tableSize - 1;
+        } else {
+            Arrays.fill(ids, FREE);
+        }
+        size = 0;
+        categories.clear();
+        for (int slot = 0; slot < items.length; slot++) {
+            Item item = items[slot];
+            if (item == null || item.getId() <= 0) {
+                continue;
+            }
+            int index = find(item.getId());
+            if (ids[index] == FREE) {
+                ids[index] = item.getId();
+                amounts[index] = 0;
+                firstSlots[index] = slot;
+                heldSlots[index] = -1;
+                used[size++] = index;
+            }
+            amounts[index] += item.getAmount();
+            if (heldSlots[index] == -1 && slot < capacity && (item.getAmount() > 0 || bank && item.getAmount() == 0)) {
+                heldSlots[index] = slot;
+            }
+        }
+    }
+
+    private int find(int id) {
+        int hash = id * 0x9E3779B9;
+        int index = (hash ^ (hash >>> 16)) & mask;
+        while (ids[index] != FREE && ids[index] != id) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    /**
+     * Gets the total amount of an item.
+     */
+    int amount(int id) {
+        int index = find(id);
+        return ids[index] == FREE ? 0 : amounts[index];
+    }
+
+    /**
+     * Gets the first slot an item is in, or -1 if it isn't in the container.
+     */
+    int firstSlot(int id) {
+        int index = find(id);
+        return ids[index] == FREE ? -1 : firstSlots[index];
+    }
+
+    /**
+     * Gets the first slot which holds an item, or -1 if there isn't one.
+     */
+    int heldSlot(int id) {
+        int index = find(id);
+        return ids[index] == FREE ? -1 : heldSlots[index];
+    }
+
+    /**
+     * Gets the total weight of every item in a category.
+     */
+    int count(ItemCategory category) {
+        Integer count = categories.get(category);
+        if (count == null) {
+            int total = 0;
+            for (int i = 0; i < size; i++) {
+                int index = used[i];
+                total += category.weight(ids[index]) * amounts[index];
+            }
+            categories.put(category, count = total);
+        }
+        return count;
+    }
+}
@@ -119,8 +119,7 @@ public class Equipment extends ItemContainer {
 
     @Override
     public ItemContainer refreshItems() {
-        getPlayer().getPacketSender().sendItemContainer(this, INVENTORY_INTERFACE_ID);
-        return this;
+        return queueRefresh();
     }
 
     @Override
@@ -35,7 +35,7 @@ public class Inventory extends ItemContainer {
 
     @Override
     public Inventory refreshItems() {
-        getPlayer().getPacketSender().sendItemContainer(this, INTERFACE_ID);
+        queueRefresh();
         return this;
     }
 
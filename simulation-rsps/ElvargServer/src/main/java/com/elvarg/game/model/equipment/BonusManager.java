@@ -8,9 +8,15 @@ import com.elvarg.game.entity.impl.player.Player;
 import com.elvarg.game.model.Item;
 import com.elvarg.game.model.container.impl.Equipment;
 
+import java.util.Arrays;
+
 /**
  * Represents a bonus manager. Handles a player's equipment bonuses.
  *
+ * The bonuses are kept up to date incrementally: each update only looks up
+ * the definitions of the equipment slots which changed since the last one,
+ * and only the bonuses whose values changed are sent to the client.
+ *
  * @author Professor Oak
  */
 public class BonusManager {
@@ -32,10 +38,47 @@ public class BonusManager {
     private static final int RANGED_MAXHIT_FRAME = 15116;
     private static final int MAGIC_MAXHIT_FRAME = 15117;
 
+    /**
+     * The amount of equipment slots.
+     */
+    private static final int EQUIPMENT_SLOTS = 14;
+
     private int[] attackBonus = new int[5];
     private int[] defenceBonus = new int[5];
     private int[] otherBonus = new int[4];
 
+    /**
+     * The id of the item in each equipment slot as of the last update.
+     */
+    private final int[] slotItems = new int[EQUIPMENT_SLOTS];
+
+    /**
+     * The id of the item whose bonuses are counted for each equipment slot,
+     * or -1 if nothing in that slot is counted.
+     */
+    private final int[] countedItems = new int[EQUIPMENT_SLOTS];
+
+    /**
+     * Were the bonuses of ammunition skipped in the last update?
+     */
+    private boolean skippedAmmunition;
+
+    /**
+     * The value of each bonus last sent to the client.
+     */
+    private final int[] sentBonuses = new int[STRING_ID.length];
+
+    /**
+     * The amount of times the bonuses have changed.
+     */
+    private int version;
+
+    public BonusManager() {
+        Arrays.fill(slotItems, -1);
+        Arrays.fill(countedItems, -1);
+        Arrays.fill(sentBonuses, Integer.MIN_VALUE);
+    }
+
     /**
      * Opens the interface which displays the player's bonuses.
      *
@@ -52,36 +95,17 @@ public class BonusManager {
      * @param player
      */
     public static void update(Player player) {
-        int totalBonuses = STRING_ID.length;
-        int[] bonuses = new int[totalBonuses];
-        final RangedWeapon rangedWeapon = RangedWeapon.getFor(player);
-        for (Item item : player.getEquipment().getItems()) {
-            ItemDefinition definition = ItemDefinition.forId(item.getId());
-            if (definition.getBonuses() != null) {
-                if (rangedWeapon != null && !rangedWeapon.getType().isUsesAmmoSlot()
-                    && definition.getEquipmentType().getSlot() == Equipment.AMMUNITION_SLOT) {
-                    // Don't count ammo slot bonuses if weapon doesn't use it
-                    continue;
-                }
-                for (int i = 0; i < definition.getBonuses().length; i++) {
-                    bonuses[i] += definition.getBonuses()[i];
-                }
+        BonusManager manager = player.getBonusManager();
+        manager.refresh(player);
+
+        for (int i = 0; i < STRING_ID.length; i++) {
+            int bonus = manager.getBonus(i);
+            if (manager.sentBonuses[i] != bonus) {
+                manager.sentBonuses[i] = bonus;
+                player.getPacketSender().sendString(Integer.parseInt(STRING_ID[i][0]), STRING_ID[i][1] + ": " + bonus);
             }
         }
 
-        for (int i = 0; i < totalBonuses; i++) {
-            if (i <= 4) {
-                player.getBonusManager().attackBonus[i] = bonuses[i];
-            } else if (i <= 9) {
-                int index = i - 5;
-                player.getBonusManager().defenceBonus[index] = bonuses[i];
-            } else {
-                int index = i - 10;
-                player.getBonusManager().otherBonus[index] = bonuses[i];
-            }
-            player.getPacketSender().sendString(Integer.valueOf(STRING_ID[i][0]), STRING_ID[i][1] + ": " + bonuses[i]);
-        }
-
         /**
          * Update maxhit frames on the interface.
          */
@@ -101,6 +125,84 @@ public class BonusManager {
         }
     }
 
+    /**
+     * Brings the bonuses up to date with the player's equipment, only looking
+     * at the slots which changed since the last refresh.
+     *
+     * @param player
+     */
+    private void refresh(Player player) {
+        final RangedWeapon rangedWeapon = RangedWeapon.getFor(player);
+        // Don't count ammo slot bonuses if weapon doesn't use it
+        final boolean skipAmmunition = rangedWeapon != null && !rangedWeapon.getType().isUsesAmmoSlot();
+        final boolean recount = skipAmmunition != skippedAmmunition;
+        skippedAmmunition = skipAmmunition;
+
+        Item[] items = player.getEquipment().getItems();
+        for (int slot = 0; slot < items.length && slot < slotItems.length; slot++) {
+            int id = items[slot] == null ? -1 : items[slot].getId();
+            if (id == slotItems[slot] && !recount) {
+                continue;
+            }
+            slotItems[slot] = id;
+
+            int counted = -1;
+            ItemDefinition definition = ItemDefinition.forId(id);
+            if (definition.getBonuses() != null && !(skipAmmunition
+                    && definition.getEquipmentType().getSlot() == Equipment.AMMUNITION_SLOT)) {
+                counted = id;
+            }
+            if (counted == countedItems[slot]) {
+                continue;
+            }
+            if (countedItems[slot] != -1) {
+                add(ItemDefinition.forId(countedItems[slot]).getBonuses(), -1);
+            }
+            if (counted != -1) {
+                add(definition.getBonuses(), 1);
+            }
+            countedItems[slot] = counted;
+            version++;
+        }
+    }
+
+    /**
+     * Adds or subtracts an item's bonuses from the totals.
+     */
+    private void add(int[] bonuses, int sign) {
+        for (int i = 0; i < bonuses.length; i++) {
+            if (i <= 4) {
+                attackBonus[i] += bonuses[i] * sign;
+            } else if (i <= 9) {
+                defenceBonus[i - 5] += bonuses[i] * sign;
+            } else {
+                otherBonus[i - 10] += bonuses[i] * sign;
+            }
+        }
+    }
+
+    /**
+     * Gets a bonus by its index in an item definition's bonuses.
+     */
+    private int getBonus(int index) {
+        if (index <= 4) {
+            return attackBonus[index];
+        } else if (index <= 9) {
+            return defenceBonus[index - 5];
+        }
+        return otherBonus[index - 10];
+    }
+
+    /**
+     * Gets the amount of times the bonuses have changed, so anything derived
+     * from them can tell whether it's still up to date.
+     *
+     * @return the version.
+     */
+    public int getVersion() {
+        return version;
+    }
+
     private static String getDamageString(int damage) {
         if (damage == 0) {
             return "---";
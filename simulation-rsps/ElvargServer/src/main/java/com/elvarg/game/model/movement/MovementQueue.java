@@ -1,8 +1,6 @@
 package com.elvarg.game.model.movement;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Deque;
 import java.util.List;
 
 import com.elvarg.game.World;
@@ -28,6 +26,10 @@ import com.elvarg.util.timers.TimerKey;
 /**
  * A queue of {@link Direction}s which a {@link Mobile} will follow.
  *
+ * Steps are packed into longs and kept in a fixed ring buffer, so queueing
+ * and walking them doesn't allocate anything besides the {@link Location}
+ * the mobile ends up on.
+ *
  * @author Graham Edgecombe
  */
 public final class MovementQueue {
@@ -92,6 +94,24 @@ public final class MovementQueue {
      */
     private static final int MAXIMUM_SIZE = 100;
 
+    /**
+     * The capacity of the ring buffer, a power of two above
+     * {@link #MAXIMUM_SIZE}.
+     */
+    private static final int CAPACITY = 128;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The bits of a packed step which hold its tile, leaving out its direction.
+     */
+    private static final long TILE_MASK = (1L << 48) - 1;
+
+    /**
+     * The packed location of a route which isn't being followed.
+     */
+    private static final long NO_ROUTE = -1;
+
     /**
      * The character whose walking queue this is.
      */
@@ -103,9 +123,37 @@ public final class MovementQueue {
     private Player player;
 
     /**
-     * The queue of directions.
+     * The queued steps, packed by {@link #pack}.
      */
-    private final Deque<Point> points = new ArrayDeque<Point>();
+    private final long[] steps = new long[CAPACITY];
+
+    /**
+     * The index of the first queued step in {@link #steps}.
+     */
+    private int head;
+
+    /**
+     * The amount of queued steps.
+     */
+    private int size;
+
+    /**
+     * The packed steps of the route being combat followed, from
+     * {@link #followOrigin} to the tile it was calculated towards. It's kept
+     * apart from the queue, which following resets every tick.
+     */
+    private final long[] followRoute = new long[MAXIMUM_SIZE];
+
+    /**
+     * The amount of steps in {@link #followRoute}, or 0 if there is no route
+     * being followed.
+     */
+    private int followRouteLength;
+
+    /**
+     * The packed tile {@link #followRoute} starts from.
+     */
+    private long followOrigin = NO_ROUTE;
 
     /**
      * Whether movement is currently blocked for this Mobile.
@@ -195,10 +243,8 @@ public final class MovementQueue {
      * @param y       Y to walk to
      */
     public void walkStep(int x, int y) {
-        Location position = character.getLocation().clone();
-        position.setX(position.getX() + x);
-        position.setY(position.getY() + y);
-        addStep(position);
+        Location position = character.getLocation();
+        addStep(position.getX() + x, position.getY() + y, position.getZ());
     }
 
     /**
@@ -208,20 +254,22 @@ public final class MovementQueue {
      * @param y           The y coordinate of this step.
      * @param heightLevel
      */
-    private void addStep(int x, int y, int heightLevel) {
+    private void addSingleStep(int x, int y, int heightLevel) {
         if (!this.getMobility().canMove()) {
             return;
         }
 
-        if (points.size() >= MAXIMUM_SIZE)
+        if (size >= MAXIMUM_SIZE)
             return;
 
-        final Point last = getLast();
-        final int deltaX = x - last.position.getX();
-        final int deltaY = y - last.position.getY();
+        final long last = getLast();
+        final int deltaX = x - stepX(last);
+        final int deltaY = y - stepY(last);
         final Direction direction = Direction.fromDeltas(deltaX, deltaY);
-        if (direction != Direction.NONE)
-            points.add(new Point(new Location(x, y, heightLevel), direction));
+        if (direction != Direction.NONE) {
+            steps[(head + size) & (CAPACITY - 1)] = pack(x, y, heightLevel, direction);
+            size++;
+        }
     }
 
     /**
@@ -231,15 +279,24 @@ public final class MovementQueue {
      * @oaram flag
      */
     public void addStep(Location step) {
+        addStep(step.getX(), step.getY(), step.getZ());
+    }
+
+    /**
+     * Adds the steps in a straight line from the last step to a tile.
+     *
+     * @param x           The x coordinate of the tile.
+     * @param y           The y coordinate of the tile.
+     * @param heightLevel
+     */
+    private void addStep(int x, int y, int heightLevel) {
         if (!this.getMobility().canMove()) {
             return;
         }
 
-        final Point last = getLast();
-        final int x = step.getX();
-        final int y = step.getY();
-        int deltaX = x - last.position.getX();
-        int deltaY = y - last.position.getY();
+        final long last = getLast();
+        int deltaX = x - stepX(last);
+        int deltaY = y - stepY(last);
         final int max = Math.max(Math.abs(deltaX), Math.abs(deltaY));
         for (int i = 0; i < max; i++) {
             if (deltaX < 0)
@@ -250,16 +307,16 @@ public final class MovementQueue {
                 deltaY++;
             else if (deltaY > 0)
                 deltaY--;
-            addStep(x - deltaX, y - deltaY, step.getZ());
+            addSingleStep(x - deltaX, y - deltaY, heightLevel);
         }
     }
 
     public Location getDestination() {
-        final Point last = points.peekLast();
-        if (last == null) {
+        if (size == 0) {
             return null;
         }
-        return last.position;
+        final long last = steps[(head + size - 1) & (CAPACITY - 1)];
+        return new Location(stepX(last), stepY(last), stepZ(last));
     }
 
     /**
@@ -324,15 +381,51 @@ public final class MovementQueue {
     }
 
     /**
-     * Gets the last point.
+     * Gets the last step, or the character's location if there isn't any.
      *
-     * @return The last point.
+     * @return The last step, packed.
      */
-    private Point getLast() {
-        final Point last = points.peekLast();
-        if (last == null)
-            return new Point(character.getLocation(), Direction.NONE);
-        return last;
+    private long getLast() {
+        if (size == 0) {
+            final Location location = character.getLocation();
+            return pack(location.getX(), location.getY(), location.getZ(), Direction.NONE);
+        }
+        return steps[(head + size - 1) & (CAPACITY - 1)];
+    }
+
+    /**
+     * Removes the first step from the queue.
+     *
+     * @return The step, packed, or {@link #NO_ROUTE} if the queue is empty.
+     */
+    private long poll() {
+        if (size == 0) {
+            return NO_ROUTE;
+        }
+        final long step = steps[head];
+        head = (head + 1) & (CAPACITY - 1);
+        size--;
+        return step;
+    }
+
+    private static long pack(int x, int y, int z, Direction direction) {
+        return (x & 0xFFFFL) | (y & 0xFFFFL) << 16 | (z & 0xFFFFL) << 32 | (long) direction.ordinal() << 48;
+    }
+
+    private static int stepX(long step) {
+        return (int) (step & 0xFFFF);
+    }
+
+    private static int stepY(long step) {
+        return (int) (step >>> 16 & 0xFFFF);
+    }
+
+    private static int stepZ(long step) {
+        return (short) (step >>> 32);
+    }
+
+    private static Direction stepDirection(long step) {
+        return DIRECTIONS[(int) (step >>> 48)];
     }
 
 
@@ -363,25 +456,23 @@ public final class MovementQueue {
 
         // Poll through the actual movement queue and
         // begin moving.
-        Point walkPoint = null;
-        Point runPoint = null;
-
-        walkPoint = points.poll();
+        long walkPoint = poll();
+        long runPoint = NO_ROUTE;
 
         if (isRunToggled()) {
-            runPoint = points.poll();
+            runPoint = poll();
         }
 
         Location oldPosition = character.getLocation();
         boolean moved = false;
 
-        if (walkPoint != null && walkPoint.direction != Direction.NONE) {
-            Location next = walkPoint.position;
+        if (walkPoint != NO_ROUTE && stepDirection(walkPoint) != Direction.NONE) {
+            Location next = new Location(stepX(walkPoint), stepY(walkPoint), stepZ(walkPoint));
             if (canWalkTo(next)) {
                 followX = oldPosition.getX();
                 followY = oldPosition.getY();
                 character.setLocation(next);
-                character.setWalkingDirection(walkPoint.direction);
+                character.setWalkingDirection(stepDirection(walkPoint));
                 moved = true;
             } else {
                 reset();
@@ -389,14 +480,14 @@ public final class MovementQueue {
             }
         }
 
-        if (runPoint != null && runPoint.direction != Direction.NONE) {
-            Location next = runPoint.position;
+        if (runPoint != NO_ROUTE && stepDirection(runPoint) != Direction.NONE) {
+            Location next = new Location(stepX(runPoint), stepY(runPoint), stepZ(runPoint));
             if (canWalkTo(next)) {
                 followX = oldPosition.getX();
                 followY = oldPosition.getY();
                 oldPosition = next;
                 character.setLocation(next);
-                character.setRunningDirection(runPoint.direction);
+                character.setRunningDirection(stepDirection(runPoint));
                 moved = true;
             } else {
                 reset();
@@ -419,13 +510,8 @@ public final class MovementQueue {
 
     public boolean canWalkTo(Location next) {
         if (character.isNpc() && !((NPC) character).canWalkThroughNPCs()) {
-            for (NPC npc : World.getNpcs()) {
-                if (npc == null) {
-                    continue;
-                }
-                if (npc.getLocation().equals(next)) {
-                    return false;
-                }
+            if (!World.getNpcs().grid().within(next, 0, character.getPrivateArea()).isEmpty()) {
+                return false;
             }
         }
         return true;
@@ -476,7 +562,8 @@ public final class MovementQueue {
      * Stops the movement.
      */
     public MovementQueue reset() {
-        points.clear();
+        head = 0;
+        size = 0;
         followX = -1;
         followY = -1;
         isMoving = false;
@@ -485,6 +572,7 @@ public final class MovementQueue {
     }
 
     public void resetFollow() {
+        followRouteLength = 0;
         character.setCombatFollowing(null);
         character.setFollowing(null);
         character.setPositionToFace(null);
@@ -686,7 +774,114 @@ public final class MovementQueue {
                 return;
             }
         }
+
+        if (continueFollowRoute(destination)) {
+            return;
+        }
+
         PathFinder.calculateWalkRoute(character, destination.getX(), destination.getY());
+        rememberFollowRoute(destination);
+    }
+
+    /**
+     * Remembers the route which was just queued, so it can be continued on
+     * the following ticks.
+     *
+     * @param destination The tile the route was calculated towards.
+     */
+    private void rememberFollowRoute(Location destination) {
+        followRouteLength = 0;
+
+        // Only routes which lead all the way to the destination can be continued
+        final long last = getLast();
+        if (size == 0 || stepX(last) != destination.getX() || stepY(last) != destination.getY()
+                || stepZ(last) != destination.getZ()) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            followRoute[i] = steps[(head + i) & (CAPACITY - 1)];
+        }
+        followRouteLength = size;
+        final Location location = character.getLocation();
+        followOrigin = pack(location.getX(), location.getY(), location.getZ(), Direction.NONE);
+    }
+
+    /**
+     * Queues the rest of the route followed on previous ticks instead of
+     * calculating a new one, if the destination is still within a tile of
+     * where the route leads and the character is still on it.
+     *
+     * The route is cut short at the first tile left on it which the
+     * destination can be stepped onto from, and the destination added after
+     * it. A target stepping towards the character therefore shortens the
+     * route, rather than sending the character past it and back.
+     *
+     * @param destination The tile currently being followed towards.
+     * @return {@code true} if the route is being followed again.
+     */
+    private boolean continueFollowRoute(Location destination) {
+        if (followRouteLength == 0) {
+            return false;
+        }
+        final long end = followRoute[followRouteLength - 1];
+        if (destination.getZ() != stepZ(end) || Math.abs(destination.getX() - stepX(end)) > 1
+                || Math.abs(destination.getY() - stepY(end)) > 1) {
+            return false;
+        }
+        final int next = followRouteProgress();
+        if (next == -1) {
+            // The character was moved off of the route
+            return false;
+        }
+
+        // Find the first tile, starting from the character's own, to continue from
+        int length = -1;
+        for (int i = next - 1; i < followRouteLength && length == -1; i++) {
+            final long tile = i < 0 ? followOrigin : followRoute[i];
+            final int x = stepX(tile);
+            final int y = stepY(tile);
+            if (x == destination.getX() && y == destination.getY()) {
+                length = i + 1;
+            } else if (i + 1 < MAXIMUM_SIZE && Math.abs(destination.getX() - x) <= 1
+                    && Math.abs(destination.getY() - y) <= 1
+                    && RegionManager.canMove(x, y, destination.getX(), destination.getY(), destination.getZ(),
+                            character.size(), character.size(), character.getPrivateArea())) {
+                followRoute[i + 1] = pack(destination.getX(), destination.getY(), destination.getZ(),
+                        Direction.fromDeltas(destination.getX() - x, destination.getY() - y));
+                length = i + 2;
+            }
+        }
+        if (length == -1) {
+            return false;
+        }
+        followRouteLength = length;
+
+        for (int i = next; i < followRouteLength; i++) {
+            steps[(head + size) & (CAPACITY - 1)] = followRoute[i];
+            size++;
+        }
+        return true;
+    }
+
+    /**
+     * Finds how far along {@link #followRoute} the character is.
+     *
+     * @return The index of the next step to take, or -1 if the character isn't
+     *         on the route.
+     */
+    private int followRouteProgress() {
+        final Location location = character.getLocation();
+        final long tile = pack(location.getX(), location.getY(), location.getZ(), Direction.NONE);
+        for (int i = followRouteLength - 1; i >= 0; i--) {
+            if (sameTile(followRoute[i], tile)) {
+                return i + 1;
+            }
+        }
+        return sameTile(followOrigin, tile) ? 0 : -1;
+    }
+
+    private static boolean sameTile(long step, long other) {
+        return (step & TILE_MASK) == (other & TILE_MASK);
     }
 
     /**
@@ -695,7 +890,16 @@ public final class MovementQueue {
      * @return The size of the queue.
      */
     public int size() {
-        return points.size();
+        return size;
+    }
+
+    /**
+     * Checks if there are no steps left in the queue.
+     *
+     * @return {@code true} if the queue is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
     }
 
     public boolean isRunToggled() {
@@ -733,10 +937,6 @@ public final class MovementQueue {
         return foundRoute;
     }
 
-    public Deque<Point> points() {
-        return points;
-    }
-
     /**
      * This function is called to reset everything when a player walks to an entity/tile.
      */
@@ -755,26 +955,4 @@ public final class MovementQueue {
     public Player getPlayer() {
         return this.player;
     }
-
-    /**
-     * Represents a single point in the queue.
-     *
-     * @author Graham Edgecombe
-     */
-    public static final class Point {
-
-        private final Location position;
-        private final Direction direction;
-
-        public Point(Location position, Direction direction) {
-            this.position = position;
-            this.direction = direction;
-        }
-
-        @Override
-        public String toString() {
-            return Point.class.getName() + " [direction=" + direction + ", position=" + position + "]";
-        }
-
-    }
 }
\ No newline at end of file
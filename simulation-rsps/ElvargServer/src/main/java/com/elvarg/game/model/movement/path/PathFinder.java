@@ -26,6 +26,22 @@ public class PathFinder {
             NORTH = 0x1280120, SOUTHEAST = 0x1280183, SOUTHWEST = 0x128010e,
             NORTHEAST = 0x12801e0, NORTHWEST = 0x1280138;
 
+    /**
+     * The steps a route can take from a tile, in the order the client checks
+     * them, and the direction stored for the tile each step leads to.
+     */
+    private static final int[] STEP_X = {-1, 1, 0, 0, -1, 1, -1, 1};
+    private static final int[] STEP_Y = {0, 0, -1, 1, -1, -1, 1, 1};
+    private static final int[] STEP_DIRECTION = {2, 8, 1, 4, 3, 9, 6, 12};
+
+    /**
+     * The amount of tiles {@link #isReachable(Mobile, int, int)} expands before
+     * giving up.
+     */
+    public static final int DEFAULT_MAX_EXPANSIONS = 2048;
+
+    private static final ThreadLocal<SearchGrid> SEARCH_GRID = ThreadLocal.withInitial(SearchGrid::new);
+
     /**
      * A list of all the deltas for distances 1-10 from any given tile.
      */
@@ -277,33 +293,17 @@ public class PathFinder {
     }
 
     public static int calculateRoute(Mobile entity, int size, int destX, int destY, int xLength, int yLength, int direction, int blockingMask, boolean basicPather) {
+        /** Reused between searches on this thread, so nothing has to be allocated or cleared **/
+        SearchGrid grid = SEARCH_GRID.get();
+        grid.reset();
 
-        /** RS Protocol **/
-        byte byte0 = 104;
-        byte byte1 = 104;
-
-        int[][] directions = new int[104][104];
-
-        int[][] distanceValues = new int[104][104];
-
-        int[] routeStepsX = new int[4096];
-
-        int[] routeStepsY = new int[4096];
+        int[] routeStepsX = grid.queueX;
 
-        int anInt1264 = 0;
-
-        int anInt1288 = 0;
+        int[] routeStepsY = grid.queueY;
 
         entity.getMovementQueue().lastDestX = destX;
 
         entity.getMovementQueue().lastDestY = destY;
-        /** RS Protocol **/
-        for (int l2 = 0; l2 < 104; l2++) {
-            for (int i3 = 0; i3 < 104; i3++) {
-                directions[l2][i3] = 0;
-                distanceValues[l2][i3] = 0x5f5e0ff;
-            }
-        }
 
         /** Required for based on client **/
         int localX = entity.getLocation().getLocalX();
@@ -316,8 +316,7 @@ public class PathFinder {
         /** DestinationY for LocalY **/
         var destinationY = destY - (entity.getLocation().getRegionY() << 3);
         /** RS Protocol **/
-        directions[localX][localY] = 99;
-        distanceValues[localX][localY] = 0;
+        grid.visit(localX, localY, 99, 0);
         /** Size of the 2nd queue **/
         int tail = 0;
         /** Size of the 1st queue **/
@@ -328,13 +327,11 @@ public class PathFinder {
         /** Required for custom object walk-to actions. **/
         entity.getMovementQueue().setRoute(false);
         /** Size of the main queue **/
-        int queueSizeX = routeStepsX.length;
+        int queueSizeX = SearchGrid.QUEUE_SIZE;
         /** Entities height **/
         int height = entity.getLocation().getZ();
         /** Private Area **/
         PrivateArea area = entity.getPrivateArea();
-        /** Steps taken to get to best route **/
-        int steps = 0;
         /** Loops and checks flags for best route to destination. **/
         while (queueIndex != tail) {
             baseX = routeStepsX[queueIndex];
@@ -372,76 +369,21 @@ public class PathFinder {
             }
 
             /** Cost for the distance **/
-            int priceValue = distanceValues[baseX][baseY] + 1;
+            int priceValue = grid.distance(baseX, baseY) + 1;
 
-            if (baseX > 0 && directions[baseX - 1][baseY] == 0 && (RegionManager.getClipping(absoluteX - 1, absoluteY, height, area) & WEST) == 0) {
-                routeStepsX[tail] = baseX - 1;
-                routeStepsY[tail] = baseY;
-                tail = (tail + 1) % queueSizeX;
-                directions[baseX - 1][baseY] = 2;
-                distanceValues[baseX - 1][baseY] = priceValue;
-            }
-
-            if (baseX < byte0 - 1 && directions[baseX + 1][baseY] == 0 && (RegionManager.getClipping(absoluteX + 1, absoluteY, height, area) & EAST) == 0) {
-                routeStepsX[tail] = baseX + 1;
-                routeStepsY[tail] = baseY;
-                tail = (tail + 1) % queueSizeX;
-                directions[baseX + 1][baseY] = 8;
-                distanceValues[baseX + 1][baseY] = priceValue;
-            }
-            if (baseY > 0 && directions[baseX][baseY - 1] == 0 && (RegionManager.getClipping(absoluteX, absoluteY - 1, height, area) & SOUTH) == 0) {
-                routeStepsX[tail] = baseX;
-                routeStepsY[tail] = baseY - 1;
-                tail = (tail + 1) % queueSizeX;
-                directions[baseX][baseY - 1] = 1;
-                distanceValues[baseX][baseY - 1] = priceValue;
-            }
-            if (baseY < byte1 - 1 && directions[baseX][baseY + 1] == 0 && (RegionManager.getClipping(absoluteX, absoluteY + 1, height, area) & NORTH) == 0) {
-                routeStepsX[tail] = baseX;
-                routeStepsY[tail] = baseY + 1;
-                tail = (tail + 1) % queueSizeX;
-                directions[baseX][baseY + 1] = 4;
-                distanceValues[baseX][baseY + 1] = priceValue;
-            }
-            if (baseX > 0 && baseY > 0 && directions[baseX - 1][baseY - 1] == 0 && (RegionManager.getClipping(absoluteX - 1, absoluteY - 1, height, area) & SOUTHWEST) == 0
-                    && (RegionManager.getClipping(absoluteX - 1, absoluteY, height, area) & WEST) == 0 && (RegionManager.getClipping(absoluteX, absoluteY - 1, height, area) & SOUTH) == 0) {
-                routeStepsX[tail] = baseX - 1;
-                routeStepsY[tail] = baseY - 1;
-                tail = (tail + 1) % queueSizeX;
-                directions[baseX - 1][baseY - 1] = 3;
-                distanceValues[baseX - 1][baseY - 1] = priceValue;
-            }
-
-            if (baseX < byte0 - 1 && baseY > 0 && directions[baseX + 1][baseY - 1] == 0
-                    && (RegionManager.getClipping(absoluteX + 1, absoluteY - 1, height, area) & SOUTHEAST) == 0 && (RegionManager.getClipping(absoluteX + 1, absoluteY, height, area) & EAST) == 0
-                    && (RegionManager.getClipping(absoluteX, absoluteY - 1, height, area) & SOUTH) == 0) {
-                routeStepsX[tail] = baseX + 1;
-                routeStepsY[tail] = baseY - 1;
-                tail = (tail + 1) % queueSizeX;
-                directions[baseX + 1][baseY - 1] = 9;
-                distanceValues[baseX + 1][baseY - 1] = priceValue;
-            }
-
-            if (baseX > 0 && baseY < byte1 - 1 && directions[baseX - 1][baseY + 1] == 0
-                    && (RegionManager.getClipping(absoluteX - 1, absoluteY + 1, height, area) & NORTHWEST) == 0 && (RegionManager.getClipping(absoluteX - 1, absoluteY, height, area) & WEST) == 0
-                    && (RegionManager.getClipping(absoluteX, absoluteY + 1, height, area) & NORTH) == 0) {
-                routeStepsX[tail] = baseX - 1;
-                routeStepsY[tail] = baseY + 1;
-                tail = (tail + 1) % queueSizeX;
-                directions[baseX - 1][baseY + 1] = 6;
-                distanceValues[baseX - 1][baseY + 1] = priceValue;
-            }
-            if (baseX < byte0 - 1 && baseY < byte1 - 1 && directions[baseX + 1][baseY + 1] == 0
-                    && (RegionManager.getClipping(absoluteX + 1, absoluteY + 1, height, area) & NORTHEAST) == 0 && (RegionManager.getClipping(absoluteX + 1, absoluteY, height, area) & EAST) == 0
-                    && (RegionManager.getClipping(absoluteX, absoluteY + 1, height, area) & NORTH) == 0) {
-                routeStepsX[tail] = baseX + 1;
-                routeStepsY[tail] = baseY + 1;
+            for (int i = 0; i < STEP_X.length; i++) {
+                int nextX = baseX + STEP_X[i];
+                int nextY = baseY + STEP_Y[i];
+                if (nextX < 0 || nextY < 0 || nextX >= SearchGrid.SIZE || nextY >= SearchGrid.SIZE
+                        || grid.visited(nextX, nextY) || !canStep(absoluteX, absoluteY, STEP_X[i], STEP_Y[i], height, area)) {
+                    continue;
+                }
+                routeStepsX[tail] = nextX;
+                routeStepsY[tail] = nextY;
                 tail = (tail + 1) % queueSizeX;
-                directions[baseX + 1][baseY + 1] = 12;
-                distanceValues[baseX + 1][baseY + 1] = priceValue;
+                grid.visit(nextX, nextY, STEP_DIRECTION[i], priceValue);
             }
         }
-        anInt1264 = 0;
 
         if (!entity.getMovementQueue().hasRoute()) {
             if (basicPather) {
@@ -449,11 +391,10 @@ public class PathFinder {
                 for (int range = 1; range < 5; range++) {
                     for (int xOffset = destinationX - range; xOffset <= destinationX + range; xOffset++) {
                         for (int yOffset = destinationY - range; yOffset <= destinationY + range; yOffset++) {
-                            if (xOffset >= 0 && yOffset >= 0 && xOffset < 104 && yOffset < 104 && distanceValues[xOffset][yOffset] < cost) {
-                                cost = distanceValues[xOffset][yOffset];
+                            if (xOffset >= 0 && yOffset >= 0 && xOffset < SearchGrid.SIZE && yOffset < SearchGrid.SIZE && grid.distance(xOffset, yOffset) < cost) {
+                                cost = grid.distance(xOffset, yOffset);
                                 baseX = xOffset;
                                 baseY = yOffset;
-                                anInt1264 = 1;
                                 entity.getMovementQueue().setRoute(true);
                             }
                         }
@@ -468,12 +409,178 @@ public class PathFinder {
             }
         }
 
-        queueIndex = 0;
+        return addRouteSteps(entity, grid, baseX, baseY);
+    }
+
+    /**
+     * Calculates a walking route for an entity using a bounded A* search, which
+     * only visits the tiles on the way to the destination instead of flooding
+     * the whole area around the entity like {@link #calculateRoute} does.
+     *
+     * As the client never needs to reproduce these routes, this is meant for
+     * routes only the server walks, such as npcs walking back to their spawn.
+     * If the destination can't be reached within the budget, the entity walks
+     * to the closest tile that was found instead.
+     *
+     * @param entity        The entity to walk.
+     * @param destX         The destination x coordinate.
+     * @param destY         The destination y coordinate.
+     * @param maxExpansions The maximum amount of tiles to expand.
+     * @return The amount of steps added, or -1 if no route was found.
+     */
+    public static int calculateBoundedRoute(Mobile entity, int destX, int destY, int maxExpansions) {
+        SearchGrid grid = SEARCH_GRID.get();
+
+        entity.getMovementQueue().lastDestX = destX;
+        entity.getMovementQueue().lastDestY = destY;
+        entity.getMovementQueue().setRoute(false);
+
+        int end = search(entity, grid, destX, destY, maxExpansions, true);
+        if (end == -1) {
+            return -1;
+        }
+        int endX = SearchGrid.x(end);
+        int endY = SearchGrid.y(end);
+        entity.getMovementQueue().setRoute(true);
+        entity.getMovementQueue().setPathX(endX).setPathY(endY);
+        return addRouteSteps(entity, grid, endX, endY);
+    }
+
+    /**
+     * Checks if an entity can walk to a tile, without building a route or
+     * touching its movement queue.
+     *
+     * @param entity The entity.
+     * @param destX  The destination x coordinate.
+     * @param destY  The destination y coordinate.
+     * @return {@code true} if there is a walkable route to the tile.
+     */
+    public static boolean isReachable(Mobile entity, int destX, int destY) {
+        return isReachable(entity, destX, destY, DEFAULT_MAX_EXPANSIONS);
+    }
+
+    /**
+     * Checks if an entity can walk to a tile, without building a route or
+     * touching its movement queue.
+     *
+     * @param entity        The entity.
+     * @param destX         The destination x coordinate.
+     * @param destY         The destination y coordinate.
+     * @param maxExpansions The maximum amount of tiles to expand before giving up.
+     * @return {@code true} if a route to the tile was found within the budget.
+     */
+    public static boolean isReachable(Mobile entity, int destX, int destY, int maxExpansions) {
+        return search(entity, SEARCH_GRID.get(), destX, destY, maxExpansions, false) != -1;
+    }
+
+    /**
+     * Searches for a route from an entity to a tile with A*, using the
+     * Chebyshev distance as the heuristic since every step, diagonal or not,
+     * costs the same.
+     *
+     * @param closest Should the closest tile found be returned if the
+     *                destination can't be reached?
+     * @return The local tile the route ends at, packed as a {@link SearchGrid}
+     * entry, or -1 if there is none.
+     */
+    private static int search(Mobile entity, SearchGrid grid, int destX, int destY, int maxExpansions, boolean closest) {
+        grid.reset();
+
+        Location location = entity.getLocation();
+        int regionBaseX = location.getRegionX() << 3;
+        int regionBaseY = location.getRegionY() << 3;
+        int localX = location.getLocalX();
+        int localY = location.getLocalY();
+        int destinationX = destX - regionBaseX;
+        int destinationY = destY - regionBaseY;
+        int height = location.getZ();
+        PrivateArea area = entity.getPrivateArea();
+
+        boolean inside = destinationX >= 0 && destinationY >= 0 && destinationX < SearchGrid.SIZE && destinationY < SearchGrid.SIZE;
+        if (!inside && !closest) {
+            return -1;
+        }
+
+        grid.visit(localX, localY, 99, 0);
+        grid.push(heuristic(localX, localY, destinationX, destinationY), localX, localY);
+
+        int best = -1;
+        int bestHeuristic = Integer.MAX_VALUE;
+        int expansions = 0;
+        while (!grid.isEmpty() && expansions < maxExpansions) {
+            int entry = grid.pop();
+            int baseX = SearchGrid.x(entry);
+            int baseY = SearchGrid.y(entry);
+            int distance = grid.distance(baseX, baseY);
+            int h = heuristic(baseX, baseY, destinationX, destinationY);
+            if (SearchGrid.priority(entry) != distance + h) {
+                // A shorter route to this tile has been found since it was queued
+                continue;
+            }
+            if (h == 0) {
+                return entry;
+            }
+            if (h < bestHeuristic) {
+                bestHeuristic = h;
+                best = entry;
+            }
+            expansions++;
+
+            int absoluteX = regionBaseX + baseX;
+            int absoluteY = regionBaseY + baseY;
+            for (int i = 0; i < STEP_X.length; i++) {
+                int nextX = baseX + STEP_X[i];
+                int nextY = baseY + STEP_Y[i];
+                if (nextX < 0 || nextY < 0 || nextX >= SearchGrid.SIZE || nextY >= SearchGrid.SIZE
+                        || grid.distance(nextX, nextY) <= distance + 1
+                        || !canStep(absoluteX, absoluteY, STEP_X[i], STEP_Y[i], height, area)) {
+                    continue;
+                }
+                grid.visit(nextX, nextY, STEP_DIRECTION[i], distance + 1);
+                grid.push(distance + 1 + heuristic(nextX, nextY, destinationX, destinationY), nextX, nextY);
+            }
+        }
+        return closest ? best : -1;
+    }
+
+    private static int heuristic(int x, int y, int destX, int destY) {
+        return Math.max(Math.abs(destX - x), Math.abs(destY - y));
+    }
+
+    /**
+     * Checks if a single step can be taken from a tile, using the same clipping
+     * rules as the client.
+     */
+    private static boolean canStep(int absX, int absY, int dx, int dy, int height, PrivateArea area) {
+        int clip = RegionManager.getClipping(absX + dx, absY + dy, height, area);
+        if (dx == 0) {
+            return (clip & (dy < 0 ? SOUTH : NORTH)) == 0;
+        }
+        if (dy == 0) {
+            return (clip & (dx < 0 ? WEST : EAST)) == 0;
+        }
+        int diagonal = dx < 0 ? (dy < 0 ? SOUTHWEST : NORTHWEST) : (dy < 0 ? SOUTHEAST : NORTHEAST);
+        return (clip & diagonal) == 0 && canStep(absX, absY, dx, 0, height, area) && canStep(absX, absY, 0, dy, height, area);
+    }
+
+    /**
+     * Walks back from the end of a route to the entity's location and adds the
+     * tiles where the route changes direction to the entity's movement queue.
+     */
+    private static int addRouteSteps(Mobile entity, SearchGrid grid, int baseX, int baseY) {
+        int[] routeStepsX = grid.queueX;
+        int[] routeStepsY = grid.queueY;
+        int localX = entity.getLocation().getLocalX();
+        int localY = entity.getLocation().getLocalY();
+        int height = entity.getLocation().getZ();
+        int steps = 0;
+
+        int queueIndex = 0;
         routeStepsX[queueIndex] = baseX;
         routeStepsY[queueIndex++] = baseY;
 
         int l5;
-        for (int dirc = l5 = directions[baseX][baseY]; baseX != localX || baseY != localY; dirc = directions[baseX][baseY]) {
+        for (int dirc = l5 = grid.direction(baseX, baseY); baseX != localX || baseY != localY; dirc = grid.direction(baseX, baseY)) {
             if (dirc != l5) {
                 l5 = dirc;
                 routeStepsX[queueIndex] = baseX;
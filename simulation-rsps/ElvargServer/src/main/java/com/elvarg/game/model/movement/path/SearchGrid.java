@@ -0,0 +1,161 @@
+package com.elvarg.game.model.movement.path;
+
+import java.util.Arrays;
+
+/**
+ * The working memory of a single {@link PathFinder} search over the 104x104
+ * local area around an entity. One grid is kept per thread and reused by every
+ * search on it, so searching doesn't allocate anything.
+ *
+ * Instead of clearing every tile before a search, each tile is stamped with
+ * the generation of the search which last visited it. Any tile with an older
+ * stamp is treated as unvisited.
+ */
+final class SearchGrid {
+
+    /**
+     * The width and length of the searchable area, in tiles.
+     */
+    static final int SIZE = 104;
+
+    /**
+     * The capacity of the breadth-first queue, which wraps around.
+     */
+    static final int QUEUE_SIZE = 4096;
+
+    /**
+     * The distance of a tile which hasn't been visited.
+     */
+    static final int UNREACHED = 0x5f5e0ff;
+
+    /**
+     * The amount of bits a tile's index takes up in an open set entry.
+     */
+    private static final int INDEX_BITS = 14;
+
+    private final int[] directions = new int[SIZE * SIZE];
+
+    private final int[] distances = new int[SIZE * SIZE];
+
+    private final int[] stamps = new int[SIZE * SIZE];
+
+    private int generation;
+
+    /**
+     * The breadth-first queue, also used to hold the waypoints of a route.
+     */
+    final int[] queueX = new int[QUEUE_SIZE];
+
+    final int[] queueY = new int[QUEUE_SIZE];
+
+    /**
+     * The open set of an A* search, a binary min-heap of tiles packed with
+     * their priority by {@link #push(int, int, int)}.
+     */
+    private int[] heap = new int[256];
+
+    private int heapSize;
+
+    /**
+     * Starts a new search, discarding everything visited by the last one.
+     */
+    void reset() {
+        if (++generation == 0) {
+            Arrays.fill(stamps, 0);
+            generation = 1;
+        }
+        heapSize = 0;
+    }
+
+    boolean visited(int x, int y) {
+        return stamps[x * SIZE + y] == generation;
+    }
+
+    /**
+     * Gets the direction a tile was entered from, or 0 if it hasn't been
+     * visited.
+     */
+    int direction(int x, int y) {
+        int index = x * SIZE + y;
+        return stamps[index] == generation ? directions[index] : 0;
+    }
+
+    /**
+     * Gets the amount of steps taken to reach a tile, or {@link #UNREACHED} if
+     * it hasn't been visited.
+     */
+    int distance(int x, int y) {
+        int index = x * SIZE + y;
+        return stamps[index] == generation ? distances[index] : UNREACHED;
+    }
+
+    void visit(int x, int y, int direction, int distance) {
+        int index = x * SIZE + y;
+        stamps[index] = generation;
+        directions[index] = direction;
+        distances[index] = distance;
+    }
+
+    /**
+     * Adds a tile to the open set.
+     *
+     * @param priority the estimated length of a route through the tile.
+     */
+    void push(int priority, int x, int y) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heapSize * 2);
+        }
+        int entry = (priority << INDEX_BITS) | (x * SIZE + y);
+        int i = heapSize++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= entry) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = entry;
+    }
+
+    /**
+     * Removes the entry with the lowest priority from the open set.
+     */
+    int pop() {
+        int top = heap[0];
+        int last = heap[--heapSize];
+        int i = 0;
+        while (true) {
+            int child = (i << 1) + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= last) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+
+    boolean isEmpty() {
+        return heapSize == 0;
+    }
+
+    static int priority(int entry) {
+        return entry >>> INDEX_BITS;
+    }
+
+    static int x(int entry) {
+        return (entry & ((1 << INDEX_BITS) - 1)) / SIZE;
+    }
+
+    static int y(int entry) {
+        return (entry & ((1 << INDEX_BITS) - 1)) % SIZE;
+    }
+}
@@ -100,7 +100,7 @@ public class WalkToTask extends Task {
         // If the target has moved, update the movement queue
         checkForMovement();
 
-        if (!movement.points().isEmpty()) {
+        if (!movement.isEmpty()) {
             // Movement hasn't finished yet, skip for this cycle
             return;
         }
@@ -138,7 +138,7 @@ public class WalkToTask extends Task {
      * @return
      */
     private boolean withinInteractionDistance() {
-        if (entity instanceof NPC && movement.points().size() <= NPC_INTERACT_RADIUS
+        if (entity instanceof NPC && movement.size() <= NPC_INTERACT_RADIUS
                 && player.getLocation().getDistance(entity.getLocation()) <= NPC_INTERACT_RADIUS) {
             // NPC interactions start as soon as Player is within 2 tiles
             return true;
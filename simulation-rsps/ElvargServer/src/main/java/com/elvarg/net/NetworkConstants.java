@@ -18,6 +18,19 @@ public class NetworkConstants {
      */
     public static final int GAME_PORT = Integer.parseInt(System.getenv().getOrDefault("GAME_PORT", "43595"));
 
+    /**
+     * Should outgoing packets be built in pooled buffers, which are released
+     * once the packet has been encoded?
+     */
+    public static final boolean POOLED_PACKET_BUFFERS = Boolean.parseBoolean(System.getenv().getOrDefault("POOLED_PACKET_BUFFERS", "true"));
+
+    /**
+     * Should the update blocks of the player and npc updating packets be
+     * appended as a component of a composite buffer instead of being copied
+     * into the packet?
+     */
+    public static final boolean COMPOSITE_UPDATE_BLOCKS = Boolean.parseBoolean(System.getenv().getOrDefault("COMPOSITE_UPDATE_BLOCKS", "false"));
+
     /**
      * The opcode for requesting a login.
      */
@@ -156,6 +156,7 @@ public class PlayerSession {
      */
     public void write(PacketBuilder builder) {
         if (!channel.isOpen()) {
+            builder.release();
             return;
         }
         try {
@@ -4,7 +4,6 @@ import com.elvarg.net.packet.Packet;
 import com.elvarg.net.packet.PacketType;
 import com.elvarg.net.security.IsaacRandom;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
 
@@ -30,6 +29,15 @@ public class PacketEncoder extends MessageToByteEncoder<Packet> {
 
     @Override
     protected void encode(ChannelHandlerContext ctx, Packet packet, ByteBuf out) throws Exception {
+        try {
+            encodePacket(packet, out);
+        } finally {
+            // The packet's buffer may be pooled, so release it once it's been written
+            packet.getBuffer().release();
+        }
+    }
+
+    private void encodePacket(Packet packet, ByteBuf out) {
         final int opcode = (packet.getOpcode() + encoder.nextInt()) & 0xFF;
         PacketType type = packet.getType();
         final int size = packet.getSize();
@@ -76,29 +84,26 @@ public class PacketEncoder extends MessageToByteEncoder<Packet> {
             break;
         }
 
-        // Create a new buffer
-        ByteBuf buffer = Unpooled.buffer(finalSize);
+        // Make sure the out buffer can fit the whole packet
+        out.ensureWritable(finalSize);
         
         // Write opcode
-        buffer.writeByte(opcode);
+        out.writeByte(opcode);
         
         // Write packet size
         switch (type) {
         case VARIABLE:
-            buffer.writeByte((byte) size);
+            out.writeByte((byte) size);
             break;
         case VARIABLE_SHORT:
-            buffer.writeShort((short) size);
+            out.writeShort((short) size);
             break;
         default:
             break;
         }
         
         // Write packet
-        buffer.writeBytes(packet.getBuffer());
-        
-        // Write the packet to the out buffer
-        out.writeBytes(buffer);
+        out.writeBytes(packet.getBuffer());
     }
 
     public static final int[] CLIENT_PACKET_SIZES = {
@@ -0,0 +1,153 @@
+package com.elvarg.net.packet;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * A {@link PacketBuilder} which discards everything written to it. It is
+ * handed out by the {@link PacketSender} of players whose session has no
+ * channel, such as player bots, so that packets which would never be sent
+ * aren't built in the first place.
+ */
+final class NullPacketBuilder extends PacketBuilder {
+
+    /**
+     * The shared instance, this builder holds no state.
+     */
+    static final NullPacketBuilder INSTANCE = new NullPacketBuilder();
+
+    private NullPacketBuilder() {
+        super(-1, PacketType.FIXED, Unpooled.EMPTY_BUFFER);
+    }
+
+    @Override
+    public PacketBuilder putBytes(ByteBuf from) {
+        return this;
+    }
+
+    @Override
+    public PacketBuilder writeBuffer(ByteBuf buffer) {
+        return this;
+    }
+
+    @Override
+    public PacketBuilder writeComposite(ByteBuf buffer) {
+        buffer.release();
+        return this;
+    }
+
+    @Override
+    public PacketBuilder putBytes(byte[] from) {
+        return this;
+    }
+
+    @Override
+    public PacketBuilder putBytes(byte[] from, int size) {
+        return this;
+    }
+
+    @Override
+    public PacketBuilder putBytesReverse(byte[] data) {
+        return this;
+    }
+
+    @Override
+    public PacketBuilder writeByteArray(byte[] bytes, int offset, int length) {
+        return this;
+    }
+
+    @Override
+    public PacketBuilder writeByteArray(byte[] bytes) {
+        return this;
+    }
+
+    @Override
+    public PacketBuilder putBits(int numBits, int value) {
+        return this;
+    }
+
+    @Override
+    public PacketBuilder initializeAccess(AccessType type) {
+        return this;
+    }
+
+    @Override
+    public PacketBuilder putBit(boolean flag) {
+        return this;
+    }
+
+    @Override
+    public PacketBuilder put(int value, ValueType type) {
+        return this;
+    }
+
+    @Override
+    public PacketBuilder put(int value) {
+        return this;
+    }
+
+    @Override
+    public PacketBuilder putShort(int value, ValueType type, ByteOrder order) {
+        return this;
+    }
+
+    @Override
+    public PacketBuilder putShort(int value) {
+        return this;
+    }
+
+    @Override
+    public PacketBuilder putShort(int value, ValueType type) {
+        return this;
+    }
+
+    @Override
+    public PacketBuilder putShort(int value, ByteOrder order) {
+        return this;
+    }
+
+    @Override
+    public PacketBuilder putInt(int value, ValueType type, ByteOrder order) {
+        return this;
+    }
+
+    @Override
+    public PacketBuilder putInt(int value) {
+        return this;
+    }
+
+    @Override
+    public PacketBuilder putInt(int value, ValueType type) {
+        return this;
+    }
+
+    @Override
+    public PacketBuilder putInt(int value, ByteOrder order) {
+        return this;
+    }
+
+    @Override
+    public PacketBuilder putLong(long value, ValueType type, ByteOrder order) {
+        return this;
+    }
+
+    @Override
+    public PacketBuilder putLong(long value) {
+        return this;
+    }
+
+    @Override
+    public PacketBuilder putLong(long value, ValueType type) {
+        return this;
+    }
+
+    @Override
+    public PacketBuilder putLong(long value, ByteOrder order) {
+        return this;
+    }
+
+    @Override
+    public PacketBuilder putString(String string) {
+        return this;
+    }
+}
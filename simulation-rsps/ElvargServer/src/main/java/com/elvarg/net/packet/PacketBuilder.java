@@ -1,7 +1,12 @@
 package com.elvarg.net.packet;
 
+import com.elvarg.net.NetworkConstants;
+
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
 
 /**
  * The {@link Message} implementation that functions as a dynamic buffer wrapper
@@ -10,7 +15,7 @@ import io.netty.buffer.Unpooled;
  * @author lare96 <http://github.com/lare96>
  * @author blakeman8192
  */
-public final class PacketBuilder {
+public class PacketBuilder {
     
     /**
      * An array of the bit masks used for writing bits.
@@ -18,6 +23,14 @@ public final class PacketBuilder {
     public static final int[] BIT_MASK = {0, 0x1, 0x3, 0x7, 0xf, 0x1f, 0x3f, 0x7f, 0xff, 0x1ff, 0x3ff, 0x7ff, 0xfff, 0x1fff, 0x3fff,
             0x7fff, 0xffff, 0x1ffff, 0x3ffff, 0x7ffff, 0xfffff, 0x1fffff, 0x3fffff, 0x7fffff, 0xffffff, 0x1ffffff, 0x3ffffff, 0x7ffffff,
             0xfffffff, 0x1fffffff, 0x3fffffff, 0x7fffffff, -1};
+
+    /**
+     * The allocator used for the buffers of new builders. Heap buffers are
+     * always used, since bit access requires a backing array.
+     */
+    private static final ByteBufAllocator ALLOCATOR = NetworkConstants.POOLED_PACKET_BUFFERS
+            ? PooledByteBufAllocator.DEFAULT : UnpooledByteBufAllocator.DEFAULT;
+
     /**
      * The packet id.
      */
@@ -36,8 +49,7 @@ public final class PacketBuilder {
     /**
      * The buffer used to write the packet information.
      */
-    private ByteBuf buffer = Unpooled.buffer();
-
+    private ByteBuf buffer;
     
     /**
      * The PacketBuilder constructor.
@@ -61,8 +73,19 @@ public final class PacketBuilder {
      * @param opcode The packet id to write information for.
      */
     public PacketBuilder(int opcode, PacketType type) {
+        this(opcode, type, ALLOCATOR.heapBuffer());
+    }
+
+    /**
+     * The PacketBuilder constructor.
+     *
+     * @param opcode The packet id to write information for.
+     * @param buffer The buffer to write the packet information to.
+     */
+    protected PacketBuilder(int opcode, PacketType type, ByteBuf buffer) {
         this.opcode = opcode;
         this.type = type;
+        this.buffer = buffer;
     }
 
     /**
@@ -74,9 +97,7 @@ public final class PacketBuilder {
      * @return an instance of this message builder.
      */
     public PacketBuilder putBytes(ByteBuf from) {
-        for (int i = 0; i < from.writerIndex(); i++) {
-            put(from.getByte(i));
-        }
+        buffer.writeBytes(from, 0, from.writerIndex());
         return this;
     }
 
@@ -90,6 +111,22 @@ public final class PacketBuilder {
         this.buffer.writeBytes(buffer);
         return this;
     }
+
+    /**
+     * Appends {@code buffer} to this PacketBuilder without copying it, by
+     * turning this builder's buffer into a composite of both. Ownership of
+     * {@code buffer} is passed on to this builder. Bit access is no longer
+     * possible afterwards.
+     *
+     * @param buffer The buffer to append.
+     * @return The PacketBuilder instance.
+     */
+    public PacketBuilder writeComposite(ByteBuf buffer) {
+        CompositeByteBuf composite = ALLOCATOR.compositeHeapBuffer(2);
+        composite.addComponents(true, this.buffer, buffer);
+        this.buffer = composite;
+        return this;
+    }
     
     /**
      * Writes the bytes from the argued byte-array into this buffer.
@@ -154,7 +191,7 @@ public final class PacketBuilder {
 
         final byte[] buffer = this.buffer.array();
 
-        int bytePos = bitPosition >> 3;
+        int bytePos = (bitPosition >> 3) + this.buffer.arrayOffset();
         int bitOffset = 8 - (bitPosition & 7);
         bitPosition += numBits;
 
@@ -185,6 +222,13 @@ public final class PacketBuilder {
                 bitPosition = buffer.writerIndex() * 8;
                 break;
             case BYTE:
+                // Bit writes only touch the bits they write, so clear the
+                // padding of the last byte rather than sending whatever a
+                // pooled buffer held there before
+                int padding = 8 - (bitPosition & 7);
+                if (padding != 8 && buffer.hasArray()) {
+                    buffer.array()[buffer.arrayOffset() + (bitPosition >> 3)] &= ~BIT_MASK[padding];
+                }
                 buffer.writerIndex((bitPosition + 7) / 8);
                 break;
         }
@@ -513,6 +557,26 @@ public final class PacketBuilder {
         return type;
     }
 
+    /**
+     * Releases the backing byte buffer. This should only be called for
+     * builders which are never written to a session, since the buffer of a
+     * written packet is released once the packet has been encoded.
+     */
+    public void release() {
+        buffer.release();
+    }
+
+    /**
+     * Releases the backing byte buffer unless it already has been, such as
+     * by another builder it was handed to. Used on error paths, where it
+     * isn't known how far the builder got.
+     */
+    public void releaseIfRetained() {
+        if (buffer.refCnt() > 0) {
+            buffer.release();
+        }
+    }
+
     /**
      * Represents an access packetType the packet can have.
      *
@@ -1,6 +1,7 @@
 package com.elvarg.net.packet;
 
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
 import com.elvarg.game.GameConstants;
 import com.elvarg.game.entity.impl.Mobile;
@@ -22,19 +23,58 @@ import com.elvarg.game.model.menu.CreationMenu;
 
 public class PacketSender {
 
+	/**
+	 * The amount of packets which weren't built because the player's session
+	 * had no channel to send them through.
+	 */
+	private static final LongAdder avoidedPackets = new LongAdder();
+
 	private Player player;
 
 	public PacketSender(Player player) {
 		this.player = player;
 	}
 
+	/**
+	 * Gets the amount of packets which weren't built because the player's
+	 * session had no channel to send them through.
+	 *
+	 * @return The amount of avoided packets.
+	 */
+	public static long getAvoidedPackets() {
+		return avoidedPackets.sum();
+	}
+
+	/**
+	 * Creates a new {@link PacketBuilder} for a packet sent to the player. If
+	 * the player's session has no channel, such as for player bots, a builder
+	 * which discards everything written to it is returned instead.
+	 *
+	 * @param opcode
+	 *            The packet id.
+	 * @param type
+	 *            The packet type.
+	 * @return The builder to write the packet to.
+	 */
+	private PacketBuilder builder(int opcode, PacketType type) {
+		if (player.getSession().getChannel() == null) {
+			avoidedPackets.increment();
+			return NullPacketBuilder.INSTANCE;
+		}
+		return new PacketBuilder(opcode, type);
+	}
+
+	private PacketBuilder builder(int opcode) {
+		return builder(opcode, PacketType.FIXED);
+	}
+
 	/**
 	 * Sends information about the player to the client.
 	 *
 	 * @return The PacketSender instance.
 	 */
 	public PacketSender sendDetails() {
-		PacketBuilder out = new PacketBuilder(249);
+		PacketBuilder out = builder(249);
 		out.put(1, ValueType.A);
 		out.putShort(player.getIndex());
 		player.getSession().write(out);
@@ -50,7 +90,7 @@ public class PacketSender {
 	public PacketSender sendMapRegion() {
 		player.setAllowRegionChangePacket(true);
 		player.setLastKnownRegion(player.getLocation().clone());
-		PacketBuilder out = new PacketBuilder(73);
+		PacketBuilder out = builder(73);
 		out.putShort(player.getLocation().getRegionX() + 6, ValueType.A);
 		out.putShort(player.getLocation().getRegionY() + 6);
 		player.getSession().write(out);
@@ -63,7 +103,7 @@ public class PacketSender {
 	 * @return The PacketSender instance.
 	 */
 	public PacketSender sendLogout() {
-		PacketBuilder out = new PacketBuilder(109);
+		PacketBuilder out = builder(109);
 		player.getSession().write(out);
 		return this;
 	}
@@ -72,7 +112,7 @@ public class PacketSender {
 	 * Requests a reload of the region
 	 */
 	public PacketSender sendRegionReload() {
-		PacketBuilder out = new PacketBuilder(89);
+		PacketBuilder out = builder(89);
 		player.getSession().write(out);
 		return this;
 	}
@@ -86,7 +126,7 @@ public class PacketSender {
 	 * @return The PacketSender instance.
 	 */
 	public PacketSender sendSystemUpdate(int time) {
-		PacketBuilder out = new PacketBuilder(114);
+		PacketBuilder out = builder(114);
 		out.putShort(time, ByteOrder.LITTLE);
 		player.getSession().write(out);
 		return this;
@@ -94,7 +134,7 @@ public class PacketSender {
 	
 	public PacketSender sendTeleportInterface(int menu) {
 		player.setTeleportInterfaceOpen(true);
-		PacketBuilder out = new PacketBuilder(183);
+		PacketBuilder out = builder(183);
 		out.put(menu);
 		player.getSession().write(out);
 		return this;
@@ -103,7 +143,7 @@ public class PacketSender {
 	public PacketSender sendCreationMenu(CreationMenu menu) {
 	    player.setCreationMenu(menu);
 	    sendString(31104, menu.getTitle());
-        PacketBuilder out = new PacketBuilder(167);
+        PacketBuilder out = builder(167);
         out.put(menu.getItems().size());
         for (int itemId : menu.getItems()) {
             out.putInt(itemId);
@@ -113,14 +153,14 @@ public class PacketSender {
     }
 	
 	public PacketSender sendSpecialAttackState(boolean active) {
-		PacketBuilder out = new PacketBuilder(186);
+		PacketBuilder out = builder(186);
 		out.put(active ? 1 : 0);
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender sendSoundEffect(int soundId, int loopType, int delay, int volume) {
-		PacketBuilder out = new PacketBuilder(174);
+		PacketBuilder out = builder(174);
 		out.putShort(soundId)
 				.put(loopType)
 				.putShort(delay)
@@ -130,21 +170,21 @@ public class PacketSender {
 	}
 
 	public PacketSender sendSound(int soundId, int volume, int delay) {
-		PacketBuilder out = new PacketBuilder(175);
+		PacketBuilder out = builder(175);
 		out.putShort(soundId, ValueType.A, ByteOrder.LITTLE).put(volume).putShort(delay);
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender sendSong(int id) {
-		PacketBuilder out = new PacketBuilder(74);
+		PacketBuilder out = builder(74);
 		out.putShort(id, ByteOrder.LITTLE);
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender playMusic(int musicId) {
-		PacketBuilder out = new PacketBuilder(121);
+		PacketBuilder out = builder(121);
 		out.putShort(musicId);//songid
 		out.putShort(0);//delay
 		player.getSession().write(out);
@@ -152,20 +192,20 @@ public class PacketSender {
 	}
 
 	public PacketSender sendAutocastId(int id) {
-		PacketBuilder out = new PacketBuilder(38);
+		PacketBuilder out = builder(38);
 		out.putShort(id);
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender sendEnableNoclip() {
-		PacketBuilder out = new PacketBuilder(250);
+		PacketBuilder out = builder(250);
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender sendURL(String url) {
-		PacketBuilder out = new PacketBuilder(251, PacketType.VARIABLE);
+		PacketBuilder out = builder(251, PacketType.VARIABLE);
 		out.putString(url);
 		player.getSession().write(out);
 		return this;
@@ -185,14 +225,14 @@ public class PacketSender {
 			return this;
 		}
 
-		PacketBuilder out = new PacketBuilder(253, PacketType.VARIABLE);
+		PacketBuilder out = builder(253, PacketType.VARIABLE);
 		out.putString(message);
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender sendSpecialMessage(String name, int type, String message) {
-		PacketBuilder out = new PacketBuilder(252, PacketType.VARIABLE);
+		PacketBuilder out = builder(252, PacketType.VARIABLE);
 		out.put(type);
 		out.putString(name);
 		out.putString(message);
@@ -201,7 +241,7 @@ public class PacketSender {
 	}
 	
 	public PacketSender sendPoisonType(int type) {
-		player.getSession().write(new PacketBuilder(184).put(type));
+		player.getSession().write(builder(184).put(type));
 		return this;
 	}
 
@@ -214,7 +254,7 @@ public class PacketSender {
 	 * @return The PacketSender instance.
 	 */
 	public PacketSender sendSkill(Skill skill) {
-		PacketBuilder out = new PacketBuilder(134);
+		PacketBuilder out = builder(134);
 		out.put(skill.ordinal());
 		out.putInt(player.getSkillManager().getCurrentLevel(skill));
 		out.putInt(player.getSkillManager().getMaxLevel(skill));
@@ -224,7 +264,7 @@ public class PacketSender {
 	}
 
 	public PacketSender sendExpDrop(Skill skill, int exp) {
-		PacketBuilder out = new PacketBuilder(116);
+		PacketBuilder out = builder(116);
 		out.put(skill.ordinal());
 		out.putInt(exp);
 		player.getSession().write(out);
@@ -241,7 +281,7 @@ public class PacketSender {
 	 * @return The PacketSender instance.
 	 */
 	public PacketSender sendConfig(int id, int state) {
-		PacketBuilder out = new PacketBuilder(36);
+		PacketBuilder out = builder(36);
 		out.putShort(id, ByteOrder.LITTLE);
 		out.put(state);
 		player.getSession().write(out);
@@ -258,7 +298,7 @@ public class PacketSender {
 	 * @return The PacketSender instance.
 	 */
 	public PacketSender sendToggle(int id, int state) {
-		PacketBuilder out = new PacketBuilder(87);
+		PacketBuilder out = builder(87);
 		out.putShort(id, ByteOrder.LITTLE);
 		out.putInt(state, ByteOrder.MIDDLE);
 		player.getSession().write(out);
@@ -278,75 +318,75 @@ public class PacketSender {
 	 * @return The PacketSender instance.
 	 */
 	public PacketSender sendChatOptions(int publicChat, int privateChat, int tradeChat) {
-		PacketBuilder out = new PacketBuilder(206);
+		PacketBuilder out = builder(206);
 		out.put(publicChat).put(privateChat).put(tradeChat);
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender sendRunEnergy() {
-		PacketBuilder out = new PacketBuilder(110);
+		PacketBuilder out = builder(110);
 		out.put(player.getRunEnergy());
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender sendQuickPrayersState(boolean activated) {
-		PacketBuilder out = new PacketBuilder(111);
+		PacketBuilder out = builder(111);
 		out.put(activated ? 1 : 0);
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender updateSpecialAttackOrb() {
-		PacketBuilder out = new PacketBuilder(137);
+		PacketBuilder out = builder(137);
 		out.put(player.getSpecialPercentage());
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender sendDungeoneeringTabIcon(boolean show) {
-		PacketBuilder out = new PacketBuilder(103);
+		PacketBuilder out = builder(103);
 		out.put(show ? 1 : 0);
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender sendHeight() {
-		player.getSession().write(new PacketBuilder(86).put(player.getLocation().getZ()));
+		player.getSession().write(builder(86).put(player.getLocation().getZ()));
 		return this;
 	}
 
 	public PacketSender sendIronmanMode(int ironmanMode) {
-		PacketBuilder out = new PacketBuilder(112);
+		PacketBuilder out = builder(112);
 		out.put(ironmanMode);
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender sendShowClanChatOptions(boolean show) {
-		PacketBuilder out = new PacketBuilder(115);
+		PacketBuilder out = builder(115);
 		out.put(show ? 1 : 0); // 0 = no right click options
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender sendRunStatus() {
-		PacketBuilder out = new PacketBuilder(113);
+		PacketBuilder out = builder(113);
 		out.put(player.isRunning() ? 1 : 0);
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender sendWeight(int weight) {
-		PacketBuilder out = new PacketBuilder(240);
+		PacketBuilder out = builder(240);
 		out.putShort(weight);
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender commandFrame(int i) {
-		PacketBuilder out = new PacketBuilder(28);
+		PacketBuilder out = builder(28);
 		out.put(i);
 		player.getSession().write(out);
 		return this;
@@ -357,7 +397,7 @@ public class PacketSender {
 			return this;
 		}
 
-		PacketBuilder out = new PacketBuilder(97);
+		PacketBuilder out = builder(97);
 		out.putShort(id);
 		player.getSession().write(out);
 		player.setInterfaceId(id);
@@ -366,14 +406,14 @@ public class PacketSender {
 
 	public PacketSender sendWalkableInterface(int interfaceId) {
 		player.setWalkableInterfaceId(interfaceId);
-		PacketBuilder out = new PacketBuilder(208);
+		PacketBuilder out = builder(208);
 		out.putInt(interfaceId);
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender sendInterfaceDisplayState(int interfaceId, boolean hide) {
-		PacketBuilder out = new PacketBuilder(171);
+		PacketBuilder out = builder(171);
 		out.put(hide ? 1 : 0);
 		out.putInt(interfaceId);
 		player.getSession().write(out);
@@ -381,14 +421,14 @@ public class PacketSender {
 	}
 
 	public PacketSender sendPlayerHeadOnInterface(int id) {
-		PacketBuilder out = new PacketBuilder(185);
+		PacketBuilder out = builder(185);
 		out.putShort(id, ValueType.A, ByteOrder.LITTLE);
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender sendNpcHeadOnInterface(int id, int interfaceId) {
-		PacketBuilder out = new PacketBuilder(75);
+		PacketBuilder out = builder(75);
 		out.putShort(id, ValueType.A, ByteOrder.LITTLE);
 		out.putShort(interfaceId, ValueType.A, ByteOrder.LITTLE);
 		player.getSession().write(out);
@@ -396,21 +436,21 @@ public class PacketSender {
 	}
 
 	public PacketSender sendEnterAmountPrompt(String title) {
-		PacketBuilder out = new PacketBuilder(27, PacketType.VARIABLE);
+		PacketBuilder out = builder(27, PacketType.VARIABLE);
 		out.putString(title);
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender sendEnterInputPrompt(String title) {
-		PacketBuilder out = new PacketBuilder(187, PacketType.VARIABLE);
+		PacketBuilder out = builder(187, PacketType.VARIABLE);
 		out.putString(title);
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender sendInterfaceReset() {
-		PacketBuilder out = new PacketBuilder(68);
+		PacketBuilder out = builder(68);
 		player.getSession().write(out);
 		return this;
 	}
@@ -419,13 +459,13 @@ public class PacketSender {
 	 * Closes a player's client.
 	 */
 	public PacketSender sendExit() {
-		PacketBuilder out = new PacketBuilder(62);
+		PacketBuilder out = builder(62);
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender sendInterfaceComponentMoval(int x, int y, int id) {
-		PacketBuilder out = new PacketBuilder(70);
+		PacketBuilder out = builder(70);
 		out.putShort(x);
 		out.putShort(y);
 		out.putShort(id, ByteOrder.LITTLE);
@@ -446,7 +486,7 @@ public class PacketSender {
 	 * } }); } return this; }
 	 */
 	public PacketSender sendInterfaceAnimation(int interfaceId, int animationId) {
-		PacketBuilder out = new PacketBuilder(200);
+		PacketBuilder out = builder(200);
 		out.putShort(interfaceId);
 		out.putShort(animationId);
 		player.getSession().write(out);
@@ -454,7 +494,7 @@ public class PacketSender {
 	}
 
 	public PacketSender sendInterfaceModel(int interfaceId, int itemId, int zoom) {
-		PacketBuilder out = new PacketBuilder(246);
+		PacketBuilder out = builder(246);
 		out.putShort(interfaceId, ByteOrder.LITTLE);
 		out.putShort(zoom).putShort(itemId);
 		player.getSession().write(out);
@@ -462,7 +502,7 @@ public class PacketSender {
 	}
 
 	public PacketSender sendWidgetModel(int widget, int model) {
-		PacketBuilder out = new PacketBuilder(8);
+		PacketBuilder out = builder(8);
 		out.putShort(widget);
 		out.putShort(model);
 		player.getSession().write(out);
@@ -470,7 +510,7 @@ public class PacketSender {
 	}
 
 	public PacketSender sendTabInterface(int tabId, int interfaceId) {
-		PacketBuilder out = new PacketBuilder(71);
+		PacketBuilder out = builder(71);
 		out.putShort(interfaceId);
 		out.put(tabId, ValueType.A);
 		player.getSession().write(out);
@@ -491,35 +531,35 @@ public class PacketSender {
 	}
 
 	public PacketSender sendTab(int id) {
-		PacketBuilder out = new PacketBuilder(106);
+		PacketBuilder out = builder(106);
 		out.put(id, ValueType.C);
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender sendFlashingSidebar(int id) {
-		PacketBuilder out = new PacketBuilder(24);
+		PacketBuilder out = builder(24);
 		out.put(id, ValueType.S);
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender sendChatboxInterface(int id) {
-		PacketBuilder out = new PacketBuilder(164);
+		PacketBuilder out = builder(164);
 		out.putShort(id, ByteOrder.LITTLE);
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender sendMapState(int state) {
-		PacketBuilder out = new PacketBuilder(99);
+		PacketBuilder out = builder(99);
 		out.put(state);
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender sendCameraAngle(int x, int y, int level, int speed, int angle) {
-		PacketBuilder out = new PacketBuilder(177);
+		PacketBuilder out = builder(177);
 		out.put(x / 64);
 		out.put(y / 64);
 		out.putShort(level);
@@ -531,7 +571,7 @@ public class PacketSender {
 
 	public PacketSender sendCameraShake(int verticalAmount, int verticalSpeed, int horizontalAmount,
 			int horizontalSpeed) {
-		PacketBuilder out = new PacketBuilder(35);
+		PacketBuilder out = builder(35);
 		out.put(verticalAmount);
 		out.put(verticalSpeed);
 		out.put(horizontalAmount);
@@ -541,7 +581,7 @@ public class PacketSender {
 	}
 
 	public PacketSender sendCameraSpin(int x, int y, int z, int speed, int angle) {
-		PacketBuilder out = new PacketBuilder(166);
+		PacketBuilder out = builder(166);
 		out.put(x / 64);
 		out.put(y / 64);
 		out.putShort(z);
@@ -552,7 +592,7 @@ public class PacketSender {
 	}
 
 	public PacketSender sendCameraNeutrality() {
-		PacketBuilder out = new PacketBuilder(107);
+		PacketBuilder out = builder(107);
 		player.getSession().write(out);
 		return this;
 	}
@@ -582,19 +622,19 @@ public class PacketSender {
 		player.setSearchingBank(false);
 		player.setTeleportInterfaceOpen(false);
 		player.getAppearance().setCanChangeAppearance(false);
-		player.getSession().write(new PacketBuilder(219));
+		player.getSession().write(builder(219));
 		return this;
 	}
 
 	public PacketSender sendInterfaceScrollReset(int interfaceId) {
-		PacketBuilder out = new PacketBuilder(9);
+		PacketBuilder out = builder(9);
 		out.putInt(interfaceId);
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender sendScrollbarHeight(int interfaceId, int scrollMax) {
-		PacketBuilder out = new PacketBuilder(10);
+		PacketBuilder out = builder(10);
 		out.putInt(interfaceId);
 		out.putShort(scrollMax);
 		player.getSession().write(out);
@@ -602,7 +642,7 @@ public class PacketSender {
 	}
 
 	public PacketSender sendInterfaceSet(int interfaceId, int sidebarInterfaceId) {
-		PacketBuilder out = new PacketBuilder(248);
+		PacketBuilder out = builder(248);
 		out.putShort(interfaceId, ValueType.A);
 		out.putShort(sidebarInterfaceId);
 		player.getSession().write(out);
@@ -612,7 +652,7 @@ public class PacketSender {
 
 	public PacketSender sendItemContainer(ItemContainer container, int interfaceId) {
 
-		PacketBuilder out = new PacketBuilder(53, PacketType.VARIABLE_SHORT);
+		PacketBuilder out = builder(53, PacketType.VARIABLE_SHORT);
 
 		out.putInt(interfaceId);
 		out.putShort(container.capacity());
@@ -630,7 +670,7 @@ public class PacketSender {
 	}
 
 	public PacketSender sendCurrentBankTab(int current_tab) {
-		PacketBuilder out = new PacketBuilder(55);
+		PacketBuilder out = builder(55);
 		out.put(current_tab);
 		player.getSession().write(out);
 		return this;
@@ -638,7 +678,7 @@ public class PacketSender {
 
 	public PacketSender sendEffectTimer(int delay, EffectTimer e) {
 
-		PacketBuilder out = new PacketBuilder(54);
+		PacketBuilder out = builder(54);
 
 		out.putShort(delay);
 		out.putShort(e.getClientSprite());
@@ -652,7 +692,7 @@ public class PacketSender {
 			return this;
 		}
 
-		PacketBuilder out = new PacketBuilder(53, PacketType.VARIABLE_SHORT);
+		PacketBuilder out = builder(53, PacketType.VARIABLE_SHORT);
 		out.putInt(interfaceId);
 		out.putShort(items.size());
 		for (Item item : items) {
@@ -668,7 +708,7 @@ public class PacketSender {
 	}
 
 	public PacketSender sendItemOnInterface(int interfaceId, int item, int amount) {
-		PacketBuilder out = new PacketBuilder(53, PacketType.VARIABLE_SHORT);
+		PacketBuilder out = builder(53, PacketType.VARIABLE_SHORT);
 		out.putInt(interfaceId);
 		out.putShort(1);
 		out.putInt(amount);
@@ -678,7 +718,7 @@ public class PacketSender {
 	}
 
 	public PacketSender sendItemOnInterface(int frame, int item, int slot, int amount) {
-		PacketBuilder out = new PacketBuilder(34, PacketType.VARIABLE_SHORT);
+		PacketBuilder out = builder(34, PacketType.VARIABLE_SHORT);
 		out.putShort(frame);
 		out.put(slot);
 		out.putInt(amount);
@@ -697,14 +737,14 @@ public class PacketSender {
 	 */
 
 	public PacketSender clearItemOnInterface(int frame) {
-		PacketBuilder out = new PacketBuilder(72);
+		PacketBuilder out = builder(72);
 		out.putShort(frame);
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender sendSmithingData(int id, int slot, int interfaceId, int amount) {
-		PacketBuilder out = new PacketBuilder(34, PacketType.VARIABLE_SHORT);
+		PacketBuilder out = builder(34, PacketType.VARIABLE_SHORT);
 		out.putShort(interfaceId);
 		out.put(slot);
 		out.putInt(amount);
@@ -715,7 +755,7 @@ public class PacketSender {
 	}
 
 	public PacketSender sendInteractionOption(String option, int slot, boolean top) {
-		PacketBuilder out = new PacketBuilder(104, PacketType.VARIABLE);
+		PacketBuilder out = builder(104, PacketType.VARIABLE);
 		out.put(slot, ValueType.C);
 		out.put(top ? 1 : 0, ValueType.A);
 		out.putString(option);
@@ -730,7 +770,7 @@ public class PacketSender {
 		if (!player.getFrameUpdater().shouldUpdate(string, id)) {
 			return this;
 		}
-		PacketBuilder out = new PacketBuilder(126, PacketType.VARIABLE_SHORT);
+		PacketBuilder out = builder(126, PacketType.VARIABLE_SHORT);
 		out.putString(string);
 		out.putInt(id);
 		player.getSession().write(out);
@@ -745,7 +785,7 @@ public class PacketSender {
 		for (int i = start; i <= end; i++) {
 			player.getFrameUpdater().interfaceTextMap.remove(i);
 		}
-		PacketBuilder out = new PacketBuilder(105);
+		PacketBuilder out = builder(105);
 		out.putInt(start);
 		out.putInt(end);
 		player.getSession().write(out);
@@ -753,7 +793,7 @@ public class PacketSender {
 	}
 	
 	public PacketSender clearInterfaceItems(int start, int end) {
-		PacketBuilder out = new PacketBuilder(112);
+		PacketBuilder out = builder(112);
 		out.putInt(start);
 		out.putInt(end);
 		player.getSession().write(out);
@@ -764,7 +804,7 @@ public class PacketSender {
 	 * Sends all of the player's rights to the client.
 	 */
 	public PacketSender sendRights() {
-		PacketBuilder out = new PacketBuilder(127);
+		PacketBuilder out = builder(127);
 		out.put(player.getRights().ordinal());
 		out.put(player.getDonatorRights().ordinal());
 		player.getSession().write(out);
@@ -782,7 +822,7 @@ public class PacketSender {
 	 * @return The Packet Sender instance.
 	 */
 	public PacketSender sendPositionalHint(Location position, int tilePosition) {
-		PacketBuilder out = new PacketBuilder(254);
+		PacketBuilder out = builder(254);
 		out.put(tilePosition);
 		out.putShort(position.getX());
 		out.putShort(position.getY());
@@ -800,7 +840,7 @@ public class PacketSender {
 	 */
 	public PacketSender sendEntityHint(Mobile mobile) {
 		int type = mobile instanceof Player ? 10 : 1;
-		PacketBuilder out = new PacketBuilder(254);
+		PacketBuilder out = builder(254);
 		out.put(type);
 		out.putShort(mobile.getIndex());
 		out.putInt(0, ByteOrder.TRIPLE_INT);
@@ -817,7 +857,7 @@ public class PacketSender {
 	 */
 	public PacketSender sendEntityHintRemoval(boolean playerHintRemoval) {
 		int type = playerHintRemoval ? 10 : 1;
-		PacketBuilder out = new PacketBuilder(254);
+		PacketBuilder out = builder(254);
 		out.put(type).putShort(-1);
 		out.putInt(0, ByteOrder.TRIPLE_INT);
 		player.getSession().write(out);
@@ -825,7 +865,7 @@ public class PacketSender {
 	}
 
 	public PacketSender sendMultiIcon(int value) {
-		PacketBuilder out = new PacketBuilder(61);
+		PacketBuilder out = builder(61);
 		out.put(value);
 		player.getSession().write(out);
 		player.setMultiIcon(value);
@@ -838,7 +878,7 @@ public class PacketSender {
 			return this;
 		}
 
-		PacketBuilder out = new PacketBuilder(196, PacketType.VARIABLE);
+		PacketBuilder out = builder(196, PacketType.VARIABLE);
 		out.putLong(target.getLongUsername());
 		out.putInt(target.getRelations().getPrivateMessageId());
 		out.put(target.getRights().ordinal());
@@ -849,7 +889,7 @@ public class PacketSender {
 	}
 
 	public PacketSender sendFriendStatus(int status) {
-		PacketBuilder out = new PacketBuilder(221);
+		PacketBuilder out = builder(221);
 		out.put(status);
 		player.getSession().write(out);
 		return this;
@@ -857,7 +897,7 @@ public class PacketSender {
 
 	public PacketSender sendFriend(long name, int world) {
 		world = world != 0 ? world + 9 : world;
-		PacketBuilder out = new PacketBuilder(50);
+		PacketBuilder out = builder(50);
 		out.putLong(name);
 		out.put(world);
 		player.getSession().write(out);
@@ -865,42 +905,42 @@ public class PacketSender {
 	}
 
 	public PacketSender sendDeleteFriend(long name) {
-		PacketBuilder out = new PacketBuilder(51);
+		PacketBuilder out = builder(51);
 		out.putLong(name);
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender sendAddIgnore(long name) {
-		PacketBuilder out = new PacketBuilder(214);
+		PacketBuilder out = builder(214);
 		out.putLong(name);
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender sendDeleteIgnore(long name) {
-		PacketBuilder out = new PacketBuilder(215);
+		PacketBuilder out = builder(215);
 		out.putLong(name);
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender sendTotalExp(long exp) {
-		PacketBuilder out = new PacketBuilder(108);
+		PacketBuilder out = builder(108);
 		out.putLong(exp);
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender sendAnimationReset() {
-		PacketBuilder out = new PacketBuilder(1);
+		PacketBuilder out = builder(1);
 		player.getSession().write(out);
 		return this;
 	}
 
 	public PacketSender sendGraphic(Graphic graphic, Location position) {
 		sendPosition(position);
-		PacketBuilder out = new PacketBuilder(4);
+		PacketBuilder out = builder(4);
 		out.put(0);
 		out.putShort(graphic.getId());
 		out.put(position.getZ());
@@ -919,7 +959,7 @@ public class PacketSender {
 
 	public PacketSender sendObject(GameObject object) {
 		sendPosition(object.getLocation());
-		PacketBuilder out = new PacketBuilder(151);
+		PacketBuilder out = builder(151);
 		out.put(object.getLocation().getZ(), ValueType.A);
 		out.putShort(object.getId(), ByteOrder.LITTLE);
 		out.put((byte) ((object.getType() << 2) + (object.getFace() & 3)), ValueType.S);
@@ -933,7 +973,7 @@ public class PacketSender {
 		}
 
 		sendPosition(object.getLocation());
-		PacketBuilder out = new PacketBuilder(101);
+		PacketBuilder out = builder(101);
 		out.put((object.getType() << 2) + (object.getFace() & 3), ValueType.C);
 		out.put(object.getLocation().getZ());
 		player.getSession().write(out);
@@ -942,7 +982,7 @@ public class PacketSender {
 
 	public PacketSender sendObjectAnimation(GameObject object, Animation anim) {
 		sendPosition(object.getLocation());
-		PacketBuilder out = new PacketBuilder(160);
+		PacketBuilder out = builder(160);
 		out.put(0, ValueType.S);
 		out.put((object.getType() << 2) + (object.getFace() & 3), ValueType.S);
 		out.putShort(anim.getId(), ValueType.A);
@@ -952,7 +992,7 @@ public class PacketSender {
 
 	public PacketSender alterGroundItem(ItemOnGround item) {
 		sendPosition(item.getLocation());
-		PacketBuilder out = new PacketBuilder(84);
+		PacketBuilder out = builder(84);
 		out.put(0);
 		out.putShort(item.getItem().getId()).putInt(item.getOldAmount()).putInt(item.getItem().getAmount());
 		player.getSession().write(out);
@@ -961,7 +1001,7 @@ public class PacketSender {
 
 	public PacketSender createGroundItem(ItemOnGround item) {
 		sendPosition(item.getLocation());
-		PacketBuilder out = new PacketBuilder(44);
+		PacketBuilder out = builder(44);
 		out.putShort(item.getItem().getId(), ValueType.A, ByteOrder.LITTLE);
 		out.putInt(item.getItem().getAmount()).put(0);
 		player.getSession().write(out);
@@ -970,7 +1010,7 @@ public class PacketSender {
 
 	public PacketSender deleteGroundItem(ItemOnGround item) {
 		sendPosition(item.getLocation());
-		PacketBuilder out = new PacketBuilder(156);
+		PacketBuilder out = builder(156);
 		out.put(0, ValueType.A);
 		out.putShort(item.getItem().getId());
 		player.getSession().write(out);
@@ -983,13 +1023,13 @@ public class PacketSender {
 	 * @return
 	 */
 	public PacketSender deleteRegionalSpawns() {
-		player.getSession().write(new PacketBuilder(178));
+		player.getSession().write(builder(178));
 		return this;
 	}
 
 	public PacketSender sendPosition(final Location position) {
 		final Location other = player.getLastKnownRegion();
-		PacketBuilder out = new PacketBuilder(85);
+		PacketBuilder out = builder(85);
 		out.put(position.getY() - 8 * other.getRegionY(), ValueType.C);
 		out.put(position.getX() - 8 * other.getRegionX(), ValueType.C);
 		player.getSession().write(out);
@@ -997,7 +1037,7 @@ public class PacketSender {
 	}
 
 	public PacketSender sendConsoleMessage(String message) {
-		PacketBuilder out = new PacketBuilder(123);
+		PacketBuilder out = builder(123);
 		out.putString(message);
 		player.getSession().write(out);
 		return this;
@@ -1020,7 +1060,7 @@ public class PacketSender {
 	public PacketSender sendProjectile(Location start, Location end, int offset, int speed, int projectileId,
 			int startHeight, int endHeight, Mobile lockon, int delay, int angle, int distanceOffset) {
 		sendPosition(start);
-		PacketBuilder out = new PacketBuilder(117);
+		PacketBuilder out = builder(117);
 		out.put(offset);
 		out.put((end.getX() - start.getX()));
 		out.put((end.getY() - start.getY()));		
@@ -1057,7 +1097,7 @@ public class PacketSender {
 	 */
 
 	public PacketSender sendHideCombatBox() {
-		player.getSession().write(new PacketBuilder(128));
+		player.getSession().write(builder(128));
 		return this;
 	}
 
@@ -1104,7 +1144,7 @@ public class PacketSender {
 	 */
 
 	public PacketSender sendObjectsRemoval(int chunkX, int chunkY, int height) {
-		player.getSession().write(new PacketBuilder(153).put(chunkX).put(chunkY).put(height));
+		player.getSession().write(builder(153).put(chunkX).put(chunkY).put(height));
 		return this;
 	}
 }
@@ -0,0 +1,156 @@
+package com.elvarg.util;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from primitive longs to primitive ints which uses open
+ * addressing, so that neither the keys, the values nor any entries have to be
+ * allocated.
+ */
+public final class LongIntMap {
+
+    private long[] keys;
+
+    private int[] values;
+
+    private boolean[] used;
+
+    private int mask;
+
+    private int size;
+
+    public LongIntMap() {
+        this(16);
+    }
+
+    public LongIntMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Gets the value mapped to a key.
+     *
+     * @param defaultValue the value returned if the key isn't mapped.
+     */
+    public int get(long key, int defaultValue) {
+        for (int i = slot(key, mask); used[i]; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+        }
+        return defaultValue;
+    }
+
+    public boolean containsKey(long key) {
+        for (int i = slot(key, mask); used[i]; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void put(long key, int value) {
+        int i = slot(key, mask);
+        for (; used[i]; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        used[i] = true;
+        if (++size > (mask + 1) >> 1) {
+            resize();
+        }
+    }
+
+    /**
+     * Removes the mapping of a key.
+     *
+     * @return {@code true} if the key was mapped.
+     */
+    public boolean remove(long key) {
+        for (int i = slot(key, mask); used[i]; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                delete(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    /**
+     * Empties a slot, shifting back any entries after it which would no longer
+     * be found past the gap.
+     */
+    private void delete(int gap) {
+        size--;
+        int i = gap;
+        while (true) {
+            i = (i + 1) & mask;
+            if (!used[i]) {
+                break;
+            }
+            int home = slot(keys[i], mask);
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        used[gap] = false;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        int capacity = oldKeys.length << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (!oldUsed[j]) {
+                continue;
+            }
+            int i = slot(oldKeys[j], mask);
+            while (used[i]) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+            used[i] = true;
+        }
+    }
+
+    /**
+     * Gets the slot a key is first looked for in. The key is mixed first, as
+     * packed coordinates keep most of their entropy in a few bits.
+     */
+    static int slot(long key, int mask) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key & mask;
+    }
+}
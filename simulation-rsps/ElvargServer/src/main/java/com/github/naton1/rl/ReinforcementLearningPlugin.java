@@ -7,6 +7,7 @@ import com.elvarg.game.model.commands.CommandManager;
 import com.elvarg.game.plugin.Plugin;
 import com.github.naton1.rl.command.ApplyLoadoutCommand;
 import com.github.naton1.rl.command.EnableAgentCommand;
+import com.github.naton1.rl.command.SimulateFightCommand;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
@@ -36,6 +37,7 @@ public class ReinforcementLearningPlugin extends Plugin {
         }
         CommandManager.put(new EnableAgentCommand(), "enableagent", "disableagent");
         CommandManager.put(new ApplyLoadoutCommand(), "loadout");
+        CommandManager.put(new SimulateFightCommand(), "simulate");
         log.info("Initialized reinforcement learning plugin");
     }
 
@@ -1,5 +1,6 @@
 package com.github.naton1.rl;
 
+import com.elvarg.game.GameConstants;
 import com.elvarg.game.World;
 import com.elvarg.game.content.Food;
 import com.elvarg.game.content.PrayerHandler;
@@ -24,6 +25,7 @@ import com.elvarg.game.event.events.PlayerPacketsProcessedEvent;
 import com.elvarg.game.model.Location;
 import com.elvarg.game.model.Skill;
 import com.elvarg.game.model.areas.AreaManager;
+import com.elvarg.game.model.areas.impl.FightInstance;
 import com.elvarg.game.model.areas.impl.WildernessArea;
 import com.elvarg.util.timers.TimerKey;
 import com.github.naton1.rl.env.AgentEnvironment;
@@ -533,7 +535,7 @@ public class RemoteEnvironmentPlayerBot extends PlayerBot {
         final Player attacker = hit.getAttacker().getAsPlayer();
         final Player target = hit.getTarget().getAsPlayer();
         final int prayer = PrayerHandler.getProtectingPrayer(hit.getCombatType());
-        final boolean isTargetPrayingCorrect = target.getPrayerActive()[prayer];
+        final boolean isTargetPrayingCorrect = target.isPrayerActive(prayer);
         final CombatType targetPrayerType = GameDataUtil.getPrayerType(target);
         final double damageDealtScale =
                 hit.getTotalDamage() / (double) target.getSkillManager().getMaxLevel(Skill.HITPOINTS);
@@ -547,7 +549,7 @@ public class RemoteEnvironmentPlayerBot extends PlayerBot {
             }
             episodeContext.setDamageGeneratedOnTargetScale(
                     episodeContext.getDamageGeneratedOnTargetScale() + damageDealtScale);
-            episodeContext.setHitWithSmite(attacker.getPrayerActive()[PrayerHandler.SMITE]);
+            episodeContext.setHitWithSmite(attacker.isPrayerActive(PrayerHandler.SMITE));
         } else if (target == this) {
             episodeContext.setProtectedPrayerCorrectly(isTargetPrayingCorrect);
             episodeContext.setAttackTypeReceived(hit.getCombatType().toString());
@@ -557,7 +559,7 @@ public class RemoteEnvironmentPlayerBot extends PlayerBot {
             }
             episodeContext.setDamageGeneratedOnPlayerScale(
                     episodeContext.getDamageGeneratedOnPlayerScale() + damageDealtScale);
-            episodeContext.setTargetAttackedWithSmite(attacker.getPrayerActive()[PrayerHandler.SMITE]);
+            episodeContext.setTargetAttackedWithSmite(attacker.isPrayerActive(PrayerHandler.SMITE));
         }
     }
 
@@ -721,6 +723,7 @@ public class RemoteEnvironmentPlayerBot extends PlayerBot {
                     throw new EnvironmentException("Failed target matching against agent player bot");
                 }
                 // Now, let's move to a place to fight
+                startFightInstance(remoteEnvironmentPlayerBot);
                 moveToFightTile(null);
                 remoteEnvironmentPlayerBot.moveToFightTile(this);
                 EnvFightContext.clear(getUsername());
@@ -730,6 +733,9 @@ public class RemoteEnvironmentPlayerBot extends PlayerBot {
         } else {
             targetEnvParams = getEnvParams();
             EnvFightContext.clear(getUsername());
+            if (BASELINE_TARGET.equals(episodeContext.getTargetType())) {
+                startFightInstance(episodeContext.getTarget());
+            }
         }
         EnvFightContext.register(getUsername(), this.episodeContext.target.getUsername());
         final EnvironmentCallback remoteEnvironmentCallback = new RemoteEnvironmentCallback(this.episodeContext);
@@ -786,12 +792,25 @@ public class RemoteEnvironmentPlayerBot extends PlayerBot {
                     messageContext.getResetRequest().isMaintainTargetEnvironment());
             this.episodeContext.setDeathMatch(messageContext.getResetRequest().isDeathMatch());
         }
+        if (getInstance() != null) {
+            getInstance().remove(this);
+        }
         moveToFightTile(null);
         final Loadout loadout = this.environmentDescriptor.getEnvironmentLoadout(getEnvParams());
         Presetables.load(this, loadout.asPreset());
         sendChat("Reset and ready to go :)");
     }
 
+    private void startFightInstance(Player target) {
+        if (!GameConstants.INSTANCED_FIGHTS
+                || this.episodeContext.getMessageContext().getResetRequest() == null
+                || !this.episodeContext.getMessageContext().getResetRequest().isTraining()) {
+            // Only training fights are isolated, evaluation fights may be watched
+            return;
+        }
+        FightInstance.start(this, target);
+    }
+
     private void moveToFightTile(Player nearby) {
         if (this.episodeContext.getMessageContext().getResetRequest() != null
                 && !this.episodeContext.getMessageContext().getResetRequest().isTraining()) {
@@ -0,0 +1,102 @@
+package com.github.naton1.rl.command;
+
+import com.elvarg.game.entity.impl.Mobile;
+import com.elvarg.game.entity.impl.player.Player;
+import com.elvarg.game.model.commands.Command;
+import com.elvarg.game.model.rights.PlayerRights;
+import com.elvarg.game.task.Task;
+import com.elvarg.game.task.TaskManager;
+import com.github.naton1.rl.sim.CombatKernel;
+import com.github.naton1.rl.sim.FightStatistics;
+import com.github.naton1.rl.sim.FighterProfile;
+import com.github.naton1.rl.sim.FighterProfile.PrayerPolicy;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Simulates fights between the player and who they're fighting with their current setups, using the
+ * {@link CombatKernel}. The fights are run one at a time on a dedicated thread, off the game thread, and the result is
+ * sent once they're done.
+ */
+@Slf4j
+public class SimulateFightCommand implements Command {
+
+    private static final int DEFAULT_FIGHTS = 10_000;
+    private static final int MAX_FIGHTS = 100_000;
+    private static final int MAX_TICKS = 1_000;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("FightSimulationThread")
+            .setDaemon(true)
+            .build());
+
+    /**
+     * The simulation being run, which is only used from the game thread.
+     */
+    private CompletableFuture<FightStatistics> simulation;
+
+    @Override
+    public void execute(final Player player, final String command, final String[] parts) {
+        if (this.simulation != null) {
+            player.sendMessage("A simulation is already running, please wait for it to finish.");
+            return;
+        }
+        final Mobile target = player.getCombat().getTarget() != null
+                ? player.getCombat().getTarget()
+                : player.getCombat().getAttacker();
+        if (target == null || !target.isPlayer()) {
+            player.sendMessage("You need to be fighting a player to simulate a fight.");
+            return;
+        }
+        int fights = DEFAULT_FIGHTS;
+        if (parts.length > 1) {
+            try {
+                fights = Math.max(1, Math.min(MAX_FIGHTS, Integer.parseInt(parts[1])));
+            } catch (NumberFormatException e) {
+                player.sendMessage("Invalid amount of fights: " + parts[1]);
+                return;
+            }
+        }
+        final Player opponent = target.getAsPlayer();
+        // The fighters are captured here, on the game thread, so only the fights themselves run in the background
+        final CombatKernel kernel = new CombatKernel(
+                FighterProfile.snapshot(player, opponent, PrayerPolicy.REACTIVE),
+                FighterProfile.snapshot(opponent, player, PrayerPolicy.REACTIVE),
+                MAX_TICKS);
+        final int amount = fights;
+        final CompletableFuture<FightStatistics> simulation =
+                CompletableFuture.supplyAsync(() -> kernel.run(amount, System.nanoTime()), this.executor);
+        this.simulation = simulation;
+        player.sendMessage("Simulating " + amount + " fights vs " + opponent.getUsername() + "...");
+
+        // Bound to the command rather than the player, so logging out doesn't leave the simulation marked as running
+        TaskManager.submit(new Task(1, this, false) {
+            @Override
+            protected void execute() {
+                if (!simulation.isDone()) {
+                    return;
+                }
+                stop();
+                SimulateFightCommand.this.simulation = null;
+                if (!player.isRegistered()) {
+                    return;
+                }
+                try {
+                    player.sendMessage("Simulated vs " + opponent.getUsername() + ": " + simulation.join());
+                } catch (Exception e) {
+                    log.error("Error simulating fights", e);
+                    player.sendMessage("The simulation failed.");
+                }
+            }
+        });
+    }
+
+    @Override
+    public boolean canUse(final Player player) {
+        final PlayerRights rights = player.getRights();
+        return rights == PlayerRights.OWNER || rights == PlayerRights.DEVELOPER;
+    }
+}
@@ -27,7 +27,6 @@ import com.github.naton1.rl.env.AgentEnvironment;
 import com.github.naton1.rl.env.EnvironmentCallback;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import lombok.Getter;
@@ -208,11 +207,7 @@ public class DharokEnvironment implements AgentEnvironment {
     }
 
     private double getPotionDoseScale(Herblore.PotionDose potionDose) {
-        int remainingDoses = getAgent().getInventory().getAmount(potionDose.getDoseID1());
-        remainingDoses += getAgent().getInventory().getAmount(potionDose.getDoseID2()) * 2;
-        remainingDoses += getAgent().getInventory().getAmount(potionDose.getDoseID3()) * 3;
-        remainingDoses += getAgent().getInventory().getAmount(potionDose.getFourDosePotionID()) * 4;
-        return remainingDoses;
+        return getAgent().getInventory().count(potionDose);
     }
 
     private double getFoodCountScale() {
@@ -437,23 +432,22 @@ public class DharokEnvironment implements AgentEnvironment {
     }
 
     private ItemInSlot getEdibleItemSlot() {
-        return Arrays.stream(Food.Edible.values())
-                .filter(f -> f != Food.Edible.KARAMBWAN)
-                .map(food -> ItemInSlot.getFromInventory(
-                        food.getItem().getId(), getAgent().getInventory()))
-                .filter(Objects::nonNull)
-                .findFirst()
-                .orElse(null);
+        for (Food.Edible food : Food.Edible.values()) {
+            if (food == Food.Edible.KARAMBWAN) {
+                continue;
+            }
+            final ItemInSlot itemInSlot = ItemInSlot.getFromInventory(
+                    food.getItem().getId(), getAgent().getInventory());
+            if (itemInSlot != null) {
+                return itemInSlot;
+            }
+        }
+        return null;
     }
 
     private ItemInSlot getKarambwanItemSlot() {
-        return Arrays.stream(Food.Edible.values())
-                .filter(f -> f == Food.Edible.KARAMBWAN)
-                .map(food -> ItemInSlot.getFromInventory(
-                        food.getItem().getId(), getAgent().getInventory()))
-                .filter(Objects::nonNull)
-                .findFirst()
-                .orElse(null);
+        return ItemInSlot.getFromInventory(
+                Food.Edible.KARAMBWAN.getItem().getId(), getAgent().getInventory());
     }
 
     private void equip(int... itemIds) {
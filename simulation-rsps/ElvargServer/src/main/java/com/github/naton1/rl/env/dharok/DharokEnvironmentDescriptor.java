@@ -8,6 +8,15 @@ import com.github.naton1.rl.env.EnvironmentDescriptor;
 
 public class DharokEnvironmentDescriptor implements EnvironmentDescriptor<DharokEnvironmentParams> {
 
+    private static final DharokLoadout LOADOUT = new DharokLoadout();
+
+    /**
+     * Gets the loadout shared by every episode.
+     */
+    public static DharokLoadout getLoadout() {
+        return LOADOUT;
+    }
+
     @Override
     public AgentEnvironment createEnvironment(
             final Player agent,
@@ -24,7 +33,7 @@ public class DharokEnvironmentDescriptor implements EnvironmentDescriptor<Dharok
 
     @Override
     public DharokLoadout getEnvironmentLoadout(DharokEnvironmentParams envParams) {
-        return new DharokLoadout();
+        return LOADOUT;
     }
 
     @Override
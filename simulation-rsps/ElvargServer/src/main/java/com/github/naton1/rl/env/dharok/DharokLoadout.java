@@ -21,60 +21,71 @@ import static com.elvarg.util.ItemIdentifiers.SARADOMIN_BREW_4_;
 import static com.elvarg.util.ItemIdentifiers.SUPER_COMBAT_POTION_4_;
 import static com.elvarg.util.ItemIdentifiers.SUPER_RESTORE_4_;
 
+import com.elvarg.game.content.presets.Presetable;
 import com.elvarg.game.model.Item;
 import com.elvarg.game.model.MagicSpellbook;
 import com.github.naton1.rl.env.Loadout;
 
 public class DharokLoadout implements Loadout {
 
+    /**
+     * The loadout's items, shared by every episode. They must not be modified - loading the preset copies them into
+     * the player's containers.
+     */
+    private static final Item[] INVENTORY = {
+        new Item(DHAROKS_GREATAXE),
+        new Item(GRANITE_MAUL),
+        new Item(SUPER_COMBAT_POTION_4_),
+        new Item(SARADOMIN_BREW_4_),
+        new Item(SARADOMIN_BREW_4_),
+        new Item(SUPER_RESTORE_4_),
+        new Item(SUPER_RESTORE_4_),
+        new Item(SUPER_RESTORE_4_),
+        new Item(COOKED_KARAMBWAN),
+        new Item(COOKED_KARAMBWAN),
+        new Item(COOKED_KARAMBWAN),
+        new Item(ANGLERFISH),
+        new Item(ANGLERFISH),
+        new Item(ANGLERFISH),
+        new Item(ANGLERFISH),
+        new Item(ANGLERFISH),
+        new Item(ANGLERFISH),
+        new Item(ANGLERFISH),
+        new Item(ANGLERFISH),
+        new Item(ANGLERFISH),
+        new Item(ANGLERFISH),
+        new Item(ANGLERFISH),
+        new Item(ANGLERFISH),
+        new Item(ANGLERFISH),
+        new Item(ANGLERFISH),
+        new Item(DEATH_RUNE, 10000),
+        new Item(ASTRAL_RUNE, 10000),
+        new Item(EARTH_RUNE, 10000),
+    };
+
+    private static final Item[] EQUIPMENT = {
+        new Item(DHAROKS_PLATEBODY),
+        new Item(DHAROKS_PLATELEGS),
+        new Item(DHAROKS_HELM),
+        new Item(AMULET_OF_STRENGTH),
+        new Item(DRAGON_BOOTS),
+        new Item(FIRE_CAPE),
+        new Item(ABYSSAL_TENTACLE),
+        new Item(DRAGON_DEFENDER),
+        new Item(RING_OF_RECOIL),
+        new Item(BARROWS_GLOVES)
+    };
+
+    private volatile Presetable preset;
+
     @Override
     public Item[] getInventory() {
-        return new Item[] {
-            new Item(DHAROKS_GREATAXE),
-            new Item(GRANITE_MAUL),
-            new Item(SUPER_COMBAT_POTION_4_),
-            new Item(SARADOMIN_BREW_4_),
-            new Item(SARADOMIN_BREW_4_),
-            new Item(SUPER_RESTORE_4_),
-            new Item(SUPER_RESTORE_4_),
-            new Item(SUPER_RESTORE_4_),
-            new Item(COOKED_KARAMBWAN),
-            new Item(COOKED_KARAMBWAN),
-            new Item(COOKED_KARAMBWAN),
-            new Item(ANGLERFISH),
-            new Item(ANGLERFISH),
-            new Item(ANGLERFISH),
-            new Item(ANGLERFISH),
-            new Item(ANGLERFISH),
-            new Item(ANGLERFISH),
-            new Item(ANGLERFISH),
-            new Item(ANGLERFISH),
-            new Item(ANGLERFISH),
-            new Item(ANGLERFISH),
-            new Item(ANGLERFISH),
-            new Item(ANGLERFISH),
-            new Item(ANGLERFISH),
-            new Item(ANGLERFISH),
-            new Item(DEATH_RUNE, 10000),
-            new Item(ASTRAL_RUNE, 10000),
-            new Item(EARTH_RUNE, 10000),
-        };
+        return INVENTORY;
     }
 
     @Override
     public Item[] getEquipment() {
-        return new Item[] {
-            new Item(DHAROKS_PLATEBODY),
-            new Item(DHAROKS_PLATELEGS),
-            new Item(DHAROKS_HELM),
-            new Item(AMULET_OF_STRENGTH),
-            new Item(DRAGON_BOOTS),
-            new Item(FIRE_CAPE),
-            new Item(ABYSSAL_TENTACLE),
-            new Item(DRAGON_DEFENDER),
-            new Item(RING_OF_RECOIL),
-            new Item(BARROWS_GLOVES)
-        };
+        return EQUIPMENT;
     }
 
     @Override
@@ -94,4 +105,13 @@ public class DharokLoadout implements Loadout {
     public MagicSpellbook getMagicSpellbook() {
         return MagicSpellbook.LUNAR;
     }
+
+    @Override
+    public Presetable asPreset() {
+        Presetable preset = this.preset;
+        if (preset == null) {
+            this.preset = preset = Loadout.super.asPreset();
+        }
+        return preset;
+    }
 }
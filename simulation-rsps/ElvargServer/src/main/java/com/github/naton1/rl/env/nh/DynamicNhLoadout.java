@@ -9,18 +9,21 @@ import static com.elvarg.util.ItemIdentifiers.SUPER_RESTORE_4_;
 
 import com.elvarg.game.content.Food;
 import com.elvarg.game.content.PrayerHandler;
+import com.elvarg.game.content.presets.Presetable;
 import com.elvarg.game.content.skill.skillable.impl.Herblore;
 import com.elvarg.game.definition.ItemDefinition;
 import com.elvarg.game.model.EquipmentType;
 import com.elvarg.game.model.Item;
 import com.elvarg.game.model.MagicSpellbook;
 import com.elvarg.game.model.container.impl.Equipment;
+import com.google.common.cache.CacheBuilder;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.function.BiConsumer;
@@ -33,23 +36,47 @@ import lombok.Setter;
 
 public abstract class DynamicNhLoadout implements NhLoadout {
 
-    private Item[] inventory;
-    private Item[] equipment;
+    /**
+     * The amount of randomized loadouts kept per loadout, so that resetting with the same seed (such as both sides of
+     * an episode) reuses them.
+     */
+    private static final int MAX_RANDOMIZED_LOADOUTS = 1024;
+
+    /**
+     * The loadout's items, worked out the first time they're needed. They're shared by every episode using this
+     * loadout, so they must not be modified - loading the preset copies them into the player's containers.
+     */
+    private volatile Items items;
+
+    private volatile Presetable preset;
+
+    private Map<Long, NhLoadout> randomized;
 
     @Override
     public Item[] getInventory() {
-        if (inventory == null) {
-            computeLoadout();
-        }
-        return inventory;
+        return items().inventory;
     }
 
     @Override
     public Item[] getEquipment() {
-        if (equipment == null) {
-            computeLoadout();
+        return items().equipment;
+    }
+
+    @Override
+    public Presetable asPreset() {
+        Presetable preset = this.preset;
+        if (preset == null) {
+            this.preset = preset = NhLoadout.super.asPreset();
+        }
+        return preset;
+    }
+
+    private Items items() {
+        Items items = this.items;
+        if (items == null) {
+            this.items = items = computeLoadout();
         }
-        return equipment;
+        return items;
     }
 
     @Override
@@ -91,7 +118,7 @@ public abstract class DynamicNhLoadout implements NhLoadout {
         return rangeGear;
     }
 
-    private void computeLoadout() {
+    private Items computeLoadout() {
         final int[] mageGear = getMageGear();
         final List<int[]> remainingGearSetups = new ArrayList<>();
         final int[] startGear;
@@ -105,8 +132,8 @@ public abstract class DynamicNhLoadout implements NhLoadout {
             Collections.addAll(remainingGearSetups, getRangedGear(), getMeleeGear(), getMeleeSpecGear());
         }
 
-        this.equipment = Arrays.stream(startGear).mapToObj(Item::new).toArray(Item[]::new);
-        for (Item equipped : this.equipment) {
+        final Item[] equipment = Arrays.stream(startGear).mapToObj(Item::new).toArray(Item[]::new);
+        for (Item equipped : equipment) {
             if (ItemDefinition.forId(equipped.getId()).isStackable()) {
                 equipped.setAmount(10000);
             }
@@ -128,11 +155,11 @@ public abstract class DynamicNhLoadout implements NhLoadout {
         for (int i = 0; i < foodToAdd; i++) {
             inventory.add(new Item(getFillItem()));
         }
-        this.inventory = inventory.toArray(Item[]::new);
-        if (this.inventory.length > 28) {
-            throw new IllegalStateException("Generated inventory length: " + this.inventory.length);
+        final Item[] sortedInventory = inventory.toArray(Item[]::new);
+        if (sortedInventory.length > 28) {
+            throw new IllegalStateException("Generated inventory length: " + sortedInventory.length);
         }
-        Arrays.sort(this.inventory, Comparator.comparing(i -> {
+        Arrays.sort(sortedInventory, Comparator.comparing(i -> {
             // Rune pouch last
             if (i.getId() == RUNE_POUCH) {
                 return 10;
@@ -152,6 +179,7 @@ public abstract class DynamicNhLoadout implements NhLoadout {
             // Then everything else as it was
             return 0;
         }));
+        return new Items(sortedInventory, equipment);
     }
 
     protected int[] getDefaultInventoryItems() {
@@ -176,6 +204,20 @@ public abstract class DynamicNhLoadout implements NhLoadout {
 
     @Override
     public NhLoadout randomize(long seed) {
+        return randomizedLoadouts().computeIfAbsent(seed, this::createRandomized);
+    }
+
+    private synchronized Map<Long, NhLoadout> randomizedLoadouts() {
+        if (randomized == null) {
+            randomized = CacheBuilder.newBuilder()
+                    .maximumSize(MAX_RANDOMIZED_LOADOUTS)
+                    .<Long, NhLoadout>build()
+                    .asMap();
+        }
+        return randomized;
+    }
+
+    private NhLoadout createRandomized(long seed) {
         final RandomizerContext randomizerContext = new RandomizerContext(
                 Arrays.stream(getMageGear()).boxed().collect(Collectors.toList()),
                 Arrays.stream(getMeleeGear()).boxed().collect(Collectors.toList()),
@@ -200,6 +242,12 @@ public abstract class DynamicNhLoadout implements NhLoadout {
 
     protected abstract void applyRandomization(RandomizerContext randomizerContext);
 
+    @RequiredArgsConstructor
+    private static class Items {
+        private final Item[] inventory;
+        private final Item[] equipment;
+    }
+
     @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
     protected static class RandomizerContext {
         private final List<Integer> mageItems;
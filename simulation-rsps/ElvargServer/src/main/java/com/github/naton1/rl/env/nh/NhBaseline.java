@@ -122,7 +122,7 @@ public class NhBaseline implements FighterPreset {
                     && playerBot.getMovementQueue().getMobility().canMove()
                     && enemy.getHitpointsAfterPendingDamage() <= 59
                     && playerBot.getSpecialPercentage() >= 50
-                    && !enemy.getPrayerActive()[PrayerHandler.PROTECT_FROM_MELEE];
+                    && !enemy.isPrayerActive(PrayerHandler.PROTECT_FROM_MELEE);
         }
 
         @Override
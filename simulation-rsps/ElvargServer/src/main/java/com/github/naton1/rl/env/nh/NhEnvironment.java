@@ -23,6 +23,7 @@ import com.elvarg.game.content.PotionConsumable;
 import com.elvarg.game.content.PrayerHandler;
 import com.elvarg.game.content.combat.CombatSpecial;
 import com.elvarg.game.content.combat.CombatType;
+import com.elvarg.game.content.combat.formula.AccuracyFormulasDpsCalc;
 import com.elvarg.game.content.combat.hit.HitDamage;
 import com.elvarg.game.content.combat.hit.PendingHit;
 import com.elvarg.game.content.combat.magic.CombatSpells;
@@ -32,6 +33,7 @@ import com.elvarg.game.content.skill.skillable.impl.Herblore;
 import com.elvarg.game.definition.ItemDefinition;
 import com.elvarg.game.entity.impl.player.Player;
 import com.elvarg.game.model.EquipmentType;
+import com.elvarg.game.model.Item;
 import com.elvarg.game.model.ItemInSlot;
 import com.elvarg.game.model.Location;
 import com.elvarg.game.model.MagicSpellbook;
@@ -69,6 +71,11 @@ public class NhEnvironment implements AgentEnvironment {
 
     private static final int RECENT_THRESHOLD = 5;
 
+    /**
+     * The amount of bonuses an item has.
+     */
+    private static final int BONUS_COUNT = 14;
+
     private static final List<CombatSpecial> combatSpecials = Arrays.asList(
             CombatSpecial.DRAGON_DAGGER,
             CombatSpecial.ARMADYL_GODSWORD,
@@ -165,6 +172,21 @@ public class NhEnvironment implements AgentEnvironment {
     private int targetRangedGearRangedDefence = -1;
     private int targetRangedGearMeleeDefence = -1;
 
+    /**
+     * The summed bonuses of each of the agent's gear setups, which don't change during a fight.
+     */
+    private int[] mageGearBonuses;
+
+    private int[] rangedGearBonuses;
+    private int[] meleeGearBonuses;
+
+    /**
+     * The summed bonuses of the target's visible gear, and the item ids they were summed from.
+     */
+    private final int[] targetGearBonuses = new int[BONUS_COUNT];
+
+    private int[] targetGearItemIds = new int[0];
+
     @Override
     public void onHitCalculated(PendingHit pendingHit) {
         if (pendingHit.getAttacker() == getTarget() && pendingHit.getTarget() == getAgent()) {
@@ -196,18 +218,17 @@ public class NhEnvironment implements AgentEnvironment {
                     this.targetMeleeGearRangedDefence = getTargetCurrentGearRangedDefence();
                 }
             }
-            if (pendingHit.getTarget().getPrayerActive()[PrayerHandler.PROTECT_FROM_MAGIC]) {
+            if (pendingHit.getTarget().isPrayerActive(PrayerHandler.PROTECT_FROM_MAGIC)) {
                 this.playerPrayMagicCount += 1;
                 this.recentPlayerPrayerStyles.add(CombatType.MAGIC);
-            } else if (pendingHit.getTarget().getPrayerActive()[PrayerHandler.PROTECT_FROM_MISSILES]) {
+            } else if (pendingHit.getTarget().isPrayerActive(PrayerHandler.PROTECT_FROM_MISSILES)) {
                 this.playerPrayRangeCount += 1;
                 this.recentPlayerPrayerStyles.add(CombatType.RANGED);
-            } else if (pendingHit.getTarget().getPrayerActive()[PrayerHandler.PROTECT_FROM_MELEE]) {
+            } else if (pendingHit.getTarget().isPrayerActive(PrayerHandler.PROTECT_FROM_MELEE)) {
                 this.playerPrayMeleeCount += 1;
                 this.recentPlayerPrayerStyles.add(CombatType.MELEE);
             }
-            if (!pendingHit.getTarget()
-                    .getPrayerActive()[PrayerHandler.getProtectingPrayer(pendingHit.getCombatType())]) {
+            if (!pendingHit.getTarget().getActivePrayers().isProtectedFrom(pendingHit.getCombatType())) {
                 this.targetHitCorrectCount += 1;
                 this.recentTargetHitCorrect.add(true);
             } else {
@@ -227,18 +248,17 @@ public class NhEnvironment implements AgentEnvironment {
             this.tickDamageScale = pendingHit.getTotalDamage()
                     / (double) getTarget().getSkillManager().getMaxLevel(Skill.HITPOINTS);
             this.totalTargetPrayCount += 1;
-            if (pendingHit.getTarget().getPrayerActive()[PrayerHandler.PROTECT_FROM_MAGIC]) {
+            if (pendingHit.getTarget().isPrayerActive(PrayerHandler.PROTECT_FROM_MAGIC)) {
                 this.targetPrayMagicCount += 1;
                 this.recentTargetPrayerStyles.add(CombatType.MAGIC);
-            } else if (pendingHit.getTarget().getPrayerActive()[PrayerHandler.PROTECT_FROM_MISSILES]) {
+            } else if (pendingHit.getTarget().isPrayerActive(PrayerHandler.PROTECT_FROM_MISSILES)) {
                 this.targetPrayRangeCount += 1;
                 this.recentTargetPrayerStyles.add(CombatType.RANGED);
-            } else if (pendingHit.getTarget().getPrayerActive()[PrayerHandler.PROTECT_FROM_MELEE]) {
+            } else if (pendingHit.getTarget().isPrayerActive(PrayerHandler.PROTECT_FROM_MELEE)) {
                 this.targetPrayMeleeCount += 1;
                 this.recentTargetPrayerStyles.add(CombatType.MELEE);
             }
-            if (pendingHit.getTarget()
-                    .getPrayerActive()[PrayerHandler.getProtectingPrayer(pendingHit.getCombatType())]) {
+            if (pendingHit.getTarget().getActivePrayers().isProtectedFrom(pendingHit.getCombatType())) {
                 this.targetPrayCorrectCount += 1;
                 this.targetPrayedCorrect = true;
                 this.recentTargetPrayerCorrect.add(true);
@@ -442,7 +462,12 @@ public class NhEnvironment implements AgentEnvironment {
                 isRangedSpecAttackAvailable() ? 1 : 0,
                 isMeleeAttackAvailable() ? 1 : 0,
                 isMeleeSpecAttackAvailable() ? 1 : 0,
-                isAnglerfish() ? 1 : 0);
+                isAnglerfish() ? 1 : 0,
+                getMeleeHitChance(),
+                getRangedHitChance(),
+                getMagicHitChance(),
+                getMeleeMaxHitScale(),
+                getRangedMaxHitScale());
     }
 
     @Override
@@ -522,192 +547,173 @@ public class NhEnvironment implements AgentEnvironment {
     }
 
     private double getMagicGearAccuracy() {
-        return Arrays.stream(loadout.getMageGear())
-                .mapToObj(ItemDefinition::forId)
-                .mapToDouble(i -> i.getBonuses()[3])
-                .sum();
+        return getMageGearBonuses()[3];
     }
 
     private double getMagicGearStrength() {
-        return Arrays.stream(loadout.getMageGear())
-                .mapToObj(ItemDefinition::forId)
-                .mapToDouble(i -> i.getBonuses()[12])
-                .sum();
+        return getMageGearBonuses()[12];
     }
 
     private double getRangedGearAccuracy() {
-        return Arrays.stream(loadout.getRangedGear())
-                .mapToObj(ItemDefinition::forId)
-                .mapToDouble(i -> i.getBonuses()[4])
-                .sum();
+        return getRangedGearBonuses()[4];
     }
 
     private double getRangedGearStrength() {
-        return Arrays.stream(loadout.getRangedGear())
-                .mapToObj(ItemDefinition::forId)
-                .mapToDouble(i -> i.getBonuses()[11])
-                .sum();
+        return getRangedGearBonuses()[11];
     }
 
     private double getMeleeGearAccuracy() {
-        return Arrays.stream(loadout.getMeleeGear())
-                .mapToObj(ItemDefinition::forId)
-                .mapToDouble(i -> i.getBonuses()[1])
-                .sum();
+        return getMeleeGearBonuses()[1];
     }
 
     private double getMeleeGearStrength() {
-        return Arrays.stream(loadout.getMeleeGear())
-                .mapToObj(ItemDefinition::forId)
-                .mapToDouble(i -> i.getBonuses()[10])
-                .sum();
+        return getMeleeGearBonuses()[10];
     }
 
     private double getMagicGearRangedDefence() {
-        return Arrays.stream(loadout.getMageGear())
-                .mapToObj(ItemDefinition::forId)
-                .mapToDouble(i -> i.getBonuses()[9])
-                .sum();
+        return getMageGearBonuses()[9];
     }
 
     private double getMagicGearMageDefence() {
-        return Arrays.stream(loadout.getMageGear())
-                .mapToObj(ItemDefinition::forId)
-                .mapToDouble(i -> i.getBonuses()[8])
-                .sum();
+        return getMageGearBonuses()[8];
     }
 
     private double getMagicGearMeleeDefence() {
-        return Arrays.stream(loadout.getMageGear())
-                .mapToObj(ItemDefinition::forId)
-                .mapToDouble(i -> i.getBonuses()[6])
-                .sum();
+        return getMageGearBonuses()[6];
     }
 
     private double getRangedGearMageDefence() {
-        return Arrays.stream(loadout.getRangedGear())
-                .mapToObj(ItemDefinition::forId)
-                .mapToDouble(i -> i.getBonuses()[8])
-                .sum();
+        return getRangedGearBonuses()[8];
     }
 
     private double getRangedGearMeleeDefence() {
-        return Arrays.stream(loadout.getRangedGear())
-                .mapToObj(ItemDefinition::forId)
-                .mapToDouble(i -> i.getBonuses()[6])
-                .sum();
+        return getRangedGearBonuses()[6];
     }
 
     private double getRangedGearRangedDefence() {
-        return Arrays.stream(loadout.getRangedGear())
-                .mapToObj(ItemDefinition::forId)
-                .mapToDouble(i -> i.getBonuses()[9])
-                .sum();
+        return getRangedGearBonuses()[9];
     }
 
     private double getMeleeGearRangedDefence() {
-        return Arrays.stream(loadout.getMeleeGear())
-                .mapToObj(ItemDefinition::forId)
-                .mapToDouble(i -> i.getBonuses()[9])
-                .sum();
+        return getMeleeGearBonuses()[9];
     }
 
     private double getMeleeGearMageDefence() {
-        return Arrays.stream(loadout.getMeleeGear())
-                .mapToObj(ItemDefinition::forId)
-                .mapToDouble(i -> i.getBonuses()[8])
-                .sum();
+        return getMeleeGearBonuses()[8];
     }
 
     private double getMeleeGearMeleeDefence() {
-        return Arrays.stream(loadout.getMeleeGear())
-                .mapToObj(ItemDefinition::forId)
-                .mapToDouble(i -> i.getBonuses()[6])
-                .sum();
+        return getMeleeGearBonuses()[6];
     }
 
     private int getTargetCurrentGearRangedDefence() {
-        // Skip ring because you can't actually see that ingame
-        return Arrays.stream(target.getEquipment().getItemIdsArray())
-                .filter(i -> i > 0)
-                .mapToObj(ItemDefinition::forId)
-                .filter(i -> i.getEquipmentType() != EquipmentType.RING && i.getEquipmentType() != EquipmentType.ARROWS)
-                .mapToInt(i -> i.getBonuses()[9])
-                .sum();
+        return getTargetCurrentGearBonuses()[9];
     }
 
     private int getTargetCurrentGearMeleeDefence() {
-        // Skip ring because you can't actually see that ingame
-        return Arrays.stream(target.getEquipment().getItemIdsArray())
-                .filter(i -> i > 0)
-                .mapToObj(ItemDefinition::forId)
-                .filter(i -> i.getEquipmentType() != EquipmentType.RING && i.getEquipmentType() != EquipmentType.ARROWS)
-                .mapToInt(i -> i.getBonuses()[6])
-                .sum();
+        return getTargetCurrentGearBonuses()[6];
     }
 
     private int getTargetCurrentGearMageDefence() {
-        // Skip ring because you can't actually see that ingame
-        return Arrays.stream(target.getEquipment().getItemIdsArray())
-                .filter(i -> i > 0)
-                .mapToObj(ItemDefinition::forId)
-                .filter(i -> i.getEquipmentType() != EquipmentType.RING && i.getEquipmentType() != EquipmentType.ARROWS)
-                .mapToInt(i -> i.getBonuses()[8])
-                .sum();
+        return getTargetCurrentGearBonuses()[8];
     }
 
     private int getTargetCurrentMagicGearAccuracy() {
-        return Arrays.stream(target.getEquipment().getItemIdsArray())
-                .filter(i -> i > 0)
-                .mapToObj(ItemDefinition::forId)
-                .filter(i -> i.getEquipmentType() != EquipmentType.RING && i.getEquipmentType() != EquipmentType.ARROWS)
-                .mapToInt(i -> i.getBonuses()[3])
-                .sum();
+        return getTargetCurrentGearBonuses()[3];
     }
 
     private int getTargetCurrentMagicGearStrength() {
-        return Arrays.stream(target.getEquipment().getItemIdsArray())
-                .filter(i -> i > 0)
-                .mapToObj(ItemDefinition::forId)
-                .filter(i -> i.getEquipmentType() != EquipmentType.RING && i.getEquipmentType() != EquipmentType.ARROWS)
-                .mapToInt(i -> i.getBonuses()[12])
-                .sum();
+        return getTargetCurrentGearBonuses()[12];
     }
 
     private int getTargetCurrentRangedGearAccuracy() {
-        return Arrays.stream(target.getEquipment().getItemIdsArray())
-                .filter(i -> i > 0)
-                .mapToObj(ItemDefinition::forId)
-                .filter(i -> i.getEquipmentType() != EquipmentType.RING && i.getEquipmentType() != EquipmentType.ARROWS)
-                .mapToInt(i -> i.getBonuses()[4])
-                .sum();
+        return getTargetCurrentGearBonuses()[4];
     }
 
     private int getTargetCurrentRangedGearStrength() {
-        return Arrays.stream(target.getEquipment().getItemIdsArray())
-                .filter(i -> i > 0)
-                .mapToObj(ItemDefinition::forId)
-                .filter(i -> i.getEquipmentType() != EquipmentType.RING && i.getEquipmentType() != EquipmentType.ARROWS)
-                .mapToInt(i -> i.getBonuses()[11])
-                .sum();
+        return getTargetCurrentGearBonuses()[11];
     }
 
     private int getTargetCurrentMeleeGearAccuracy() {
-        return Arrays.stream(target.getEquipment().getItemIdsArray())
-                .filter(i -> i > 0)
-                .mapToObj(ItemDefinition::forId)
-                .filter(i -> i.getEquipmentType() != EquipmentType.RING && i.getEquipmentType() != EquipmentType.ARROWS)
-                .mapToInt(i -> i.getBonuses()[1])
-                .sum();
+        return getTargetCurrentGearBonuses()[1];
     }
 
     private int getTargetCurrentMeleeGearStrength() {
-        return Arrays.stream(target.getEquipment().getItemIdsArray())
-                .filter(i -> i > 0)
-                .mapToObj(ItemDefinition::forId)
-                .filter(i -> i.getEquipmentType() != EquipmentType.RING && i.getEquipmentType() != EquipmentType.ARROWS)
-                .mapToInt(i -> i.getBonuses()[10])
-                .sum();
+        return getTargetCurrentGearBonuses()[10];
+    }
+
+    private int[] getMageGearBonuses() {
+        if (mageGearBonuses == null) {
+            mageGearBonuses = sumBonuses(loadout.getMageGear());
+        }
+        return mageGearBonuses;
+    }
+
+    private int[] getRangedGearBonuses() {
+        if (rangedGearBonuses == null) {
+            rangedGearBonuses = sumBonuses(loadout.getRangedGear());
+        }
+        return rangedGearBonuses;
+    }
+
+    private int[] getMeleeGearBonuses() {
+        if (meleeGearBonuses == null) {
+            meleeGearBonuses = sumBonuses(loadout.getMeleeGear());
+        }
+        return meleeGearBonuses;
+    }
+
+    private static int[] sumBonuses(int[] itemIds) {
+        final int[] sum = new int[BONUS_COUNT];
+        for (int itemId : itemIds) {
+            final int[] bonuses = ItemDefinition.forId(itemId).getBonuses();
+            if (bonuses == null) {
+                continue;
+            }
+            for (int i = 0; i < BONUS_COUNT; i++) {
+                sum[i] += bonuses[i];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Sums the bonuses of the target's gear in a single pass, only redoing it once their gear changes.
+     */
+    private int[] getTargetCurrentGearBonuses() {
+        final Item[] items = target.getEquipment().getItems();
+        boolean changed = targetGearItemIds.length != items.length;
+        if (!changed) {
+            for (int i = 0; i < items.length; i++) {
+                if (items[i].getId() != targetGearItemIds[i]) {
+                    changed = true;
+                    break;
+                }
+            }
+        }
+        if (!changed) {
+            return targetGearBonuses;
+        }
+        targetGearItemIds = new int[items.length];
+        Arrays.fill(targetGearBonuses, 0);
+        for (int slot = 0; slot < items.length; slot++) {
+            final int itemId = items[slot].getId();
+            targetGearItemIds[slot] = itemId;
+            if (itemId <= 0) {
+                continue;
+            }
+            final ItemDefinition definition = ItemDefinition.forId(itemId);
+            // Skip ring because you can't actually see that ingame
+            if (definition.getEquipmentType() == EquipmentType.RING
+                    || definition.getEquipmentType() == EquipmentType.ARROWS
+                    || definition.getBonuses() == null) {
+                continue;
+            }
+            for (int i = 0; i < BONUS_COUNT; i++) {
+                targetGearBonuses[i] += definition.getBonuses()[i];
+            }
+        }
+        return targetGearBonuses;
     }
 
     private double getTargetLastMagicGearAccuracy() {
@@ -893,23 +899,23 @@ public class NhEnvironment implements AgentEnvironment {
     }
 
     private boolean isProtectMeleeActive() {
-        return getAgent().getPrayerActive()[PrayerHandler.PROTECT_FROM_MELEE];
+        return getAgent().isPrayerActive(PrayerHandler.PROTECT_FROM_MELEE);
     }
 
     private boolean isProtectRangedActive() {
-        return getAgent().getPrayerActive()[PrayerHandler.PROTECT_FROM_MISSILES];
+        return getAgent().isPrayerActive(PrayerHandler.PROTECT_FROM_MISSILES);
     }
 
     private boolean isProtectMagicActive() {
-        return getAgent().getPrayerActive()[PrayerHandler.PROTECT_FROM_MAGIC];
+        return getAgent().isPrayerActive(PrayerHandler.PROTECT_FROM_MAGIC);
     }
 
     private boolean isSmiteActive() {
-        return getAgent().getPrayerActive()[PrayerHandler.SMITE];
+        return getAgent().isPrayerActive(PrayerHandler.SMITE);
     }
 
     private boolean isRedemptionActive() {
-        return getAgent().getPrayerActive()[PrayerHandler.REDEMPTION];
+        return getAgent().isPrayerActive(PrayerHandler.REDEMPTION);
     }
 
     private double getHealthPercent() {
@@ -934,31 +940,27 @@ public class NhEnvironment implements AgentEnvironment {
     }
 
     private boolean isTargetProtectMeleeActive() {
-        return getTarget().getPrayerActive()[PrayerHandler.PROTECT_FROM_MELEE];
+        return getTarget().isPrayerActive(PrayerHandler.PROTECT_FROM_MELEE);
     }
 
     private boolean isTargetProtectRangedActive() {
-        return getTarget().getPrayerActive()[PrayerHandler.PROTECT_FROM_MISSILES];
+        return getTarget().isPrayerActive(PrayerHandler.PROTECT_FROM_MISSILES);
     }
 
     private boolean isTargetProtectMagicActive() {
-        return getTarget().getPrayerActive()[PrayerHandler.PROTECT_FROM_MAGIC];
+        return getTarget().isPrayerActive(PrayerHandler.PROTECT_FROM_MAGIC);
     }
 
     private boolean isTargetSmiteActive() {
-        return getTarget().getPrayerActive()[PrayerHandler.SMITE];
+        return getTarget().isPrayerActive(PrayerHandler.SMITE);
     }
 
     private boolean isTargetRedemptionActive() {
-        return getTarget().getPrayerActive()[PrayerHandler.REDEMPTION];
+        return getTarget().isPrayerActive(PrayerHandler.REDEMPTION);
     }
 
     private double getRemainingPotionDoses(Herblore.PotionDose potionDose) {
-        int remainingDoses = getAgent().getInventory().getAmount(potionDose.getDoseID1());
-        remainingDoses += getAgent().getInventory().getAmount(potionDose.getDoseID2()) * 2;
-        remainingDoses += getAgent().getInventory().getAmount(potionDose.getDoseID3()) * 3;
-        remainingDoses += getAgent().getInventory().getAmount(potionDose.getFourDosePotionID()) * 4;
-        return remainingDoses;
+        return getAgent().getInventory().count(potionDose);
     }
 
     private double getFoodCount() {
@@ -1065,6 +1067,40 @@ public class NhEnvironment implements AgentEnvironment {
                 / (double) getTarget().getSkillManager().getMaxLevel(Skill.HITPOINTS);
     }
 
+    /*
+     * The accuracy and max hits of the agent's current gear against the target, which are read from the combat stats
+     * both players keep cached until their levels, prayers, fight type or equipment change.
+     */
+
+    private double getMeleeHitChance() {
+        final int bonusType = getAgent().getFightType().getBonusType();
+        return AccuracyFormulasDpsCalc.hitChance(
+                getAgent().getCombatStats().getMeleeAttackRoll(),
+                getTarget().getCombatStats().getMeleeDefenceRoll(bonusType));
+    }
+
+    private double getRangedHitChance() {
+        return AccuracyFormulasDpsCalc.hitChance(
+                getAgent().getCombatStats().getRangedAttackRoll(),
+                getTarget().getCombatStats().getRangedDefenceRoll());
+    }
+
+    private double getMagicHitChance() {
+        return AccuracyFormulasDpsCalc.hitChance(
+                getAgent().getCombatStats().getMagicAttackRoll(),
+                getTarget().getCombatStats().getMagicDefenceRoll());
+    }
+
+    private double getMeleeMaxHitScale() {
+        return Math.floor(getAgent().getCombatStats().getBaseMeleeMaxHit())
+                / (double) getTarget().getSkillManager().getMaxLevel(Skill.HITPOINTS);
+    }
+
+    private double getRangedMaxHitScale() {
+        return Math.floor(getAgent().getCombatStats().getBaseRangedMaxHit())
+                / (double) getTarget().getSkillManager().getMaxLevel(Skill.HITPOINTS);
+    }
+
     private int getTicksUntilHitOnTarget() {
         return getTarget().getCombat().getHitQueue().getTicksUntilNextHit();
     }
@@ -1461,23 +1497,22 @@ public class NhEnvironment implements AgentEnvironment {
     }
 
     private ItemInSlot getEdibleItemSlot() {
-        return Arrays.stream(Food.Edible.values())
-                .filter(f -> f != Food.Edible.KARAMBWAN)
-                .map(food -> ItemInSlot.getFromInventory(
-                        food.getItem().getId(), getAgent().getInventory()))
-                .filter(Objects::nonNull)
-                .findFirst()
-                .orElse(null);
+        for (Food.Edible food : Food.Edible.values()) {
+            if (food == Food.Edible.KARAMBWAN) {
+                continue;
+            }
+            final ItemInSlot itemInSlot = ItemInSlot.getFromInventory(
+                    food.getItem().getId(), getAgent().getInventory());
+            if (itemInSlot != null) {
+                return itemInSlot;
+            }
+        }
+        return null;
     }
 
     private ItemInSlot getKarambwanItemSlot() {
-        return Arrays.stream(Food.Edible.values())
-                .filter(f -> f == Food.Edible.KARAMBWAN)
-                .map(food -> ItemInSlot.getFromInventory(
-                        food.getItem().getId(), getAgent().getInventory()))
-                .filter(Objects::nonNull)
-                .findFirst()
-                .orElse(null);
+        return ItemInSlot.getFromInventory(
+                Food.Edible.KARAMBWAN.getItem().getId(), getAgent().getInventory());
     }
 
     private void equip(int... itemIds) {
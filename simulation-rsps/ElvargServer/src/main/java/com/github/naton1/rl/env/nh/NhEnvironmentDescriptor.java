@@ -6,6 +6,8 @@ import com.github.naton1.rl.env.AgentEnvironment;
 import com.github.naton1.rl.env.EnvironmentCallback;
 import com.github.naton1.rl.env.EnvironmentDescriptor;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -14,6 +16,35 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class NhEnvironmentDescriptor implements EnvironmentDescriptor<NhEnvironmentParams> {
 
+    /**
+     * One loadout per build, shared by every episode so its items and randomizations are only worked out once.
+     */
+    private static final Map<NhEnvironmentParams.AccountBuild, NhLoadout> LOADOUTS =
+            new EnumMap<>(NhEnvironmentParams.AccountBuild.class);
+
+    static {
+        for (NhEnvironmentParams.AccountBuild accountBuild : NhEnvironmentParams.AccountBuild.values()) {
+            LOADOUTS.put(
+                    accountBuild,
+                    switch (accountBuild) {
+                        case PURE -> new NhPureLoadout();
+                        case ZERKER -> new NhZerkLoadout();
+                        case MED -> new NhMedLoadout();
+                        case MAXED -> new NhMaxLoadout();
+                        case LMS_PURE -> new NhLmsPureLoadout();
+                        case LMS_ZERKER -> new NhLmsZerkLoadout();
+                        case LMS_MED -> new NhLmsMedLoadout();
+                    });
+        }
+    }
+
+    /**
+     * Gets the shared loadout of a build, without any randomization.
+     */
+    public static NhLoadout getLoadout(NhEnvironmentParams.AccountBuild accountBuild) {
+        return LOADOUTS.get(accountBuild);
+    }
+
     @Override
     public AgentEnvironment createEnvironment(
             final Player agent,
@@ -34,16 +65,7 @@ public class NhEnvironmentDescriptor implements EnvironmentDescriptor<NhEnvironm
         if (envParams.isRandomizeBuild()) {
             accountBuild = getRandomAccountBuild(envParams);
         }
-        final NhLoadout nhLoadout =
-                switch (accountBuild) {
-                    case PURE -> new NhPureLoadout();
-                    case ZERKER -> new NhZerkLoadout();
-                    case MED -> new NhMedLoadout();
-                    case MAXED -> new NhMaxLoadout();
-                    case LMS_PURE -> new NhLmsPureLoadout();
-                    case LMS_ZERKER -> new NhLmsZerkLoadout();
-                    case LMS_MED -> new NhLmsMedLoadout();
-                };
+        final NhLoadout nhLoadout = getLoadout(accountBuild);
         if (envParams.isRandomizeGear()) {
             final String episodeId = envParams.getEpisodeId() != null
                             && !envParams.getEpisodeId().isEmpty()
@@ -0,0 +1,112 @@
+package com.github.naton1.rl.sim;
+
+import com.elvarg.game.content.combat.CombatFactory;
+import com.elvarg.game.content.combat.CombatType;
+import com.elvarg.game.content.combat.formula.AccuracyFormulasDpsCalc;
+import com.elvarg.game.content.combat.formula.DamageFormulas;
+import com.elvarg.game.content.combat.method.CombatMethod;
+import com.elvarg.game.content.combat.ranged.RangedData;
+import com.elvarg.game.entity.impl.player.Player;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * One way a fighter can attack in the {@link CombatKernel}, along with the defence of the gear they wear to do it.
+ */
+@Value
+@Builder
+public class AttackOption {
+
+    @NonNull
+    CombatType style;
+
+    int attackRoll;
+    int maxHit;
+    int attackSpeed;
+    int hitDelay;
+
+    /**
+     * The melee attack bonus type, used to pick the defender's melee defence roll.
+     */
+    int bonusType;
+
+    /**
+     * The special energy the attack drains, or 0 if it isn't a special attack.
+     */
+    int specialDrain;
+
+    /**
+     * The melee defence rolls of the gear, by attack bonus type, with the last being the default.
+     */
+    @NonNull
+    int[] meleeDefenceRolls;
+
+    int rangedDefenceRoll;
+    int magicDefenceRoll;
+
+    int getDefenceRoll(AttackOption attack) {
+        switch (attack.getStyle()) {
+            case MELEE:
+                return meleeDefenceRolls[Math.min(Math.max(attack.getBonusType(), 0), 3)];
+            case RANGED:
+                return rangedDefenceRoll;
+            default:
+                return magicDefenceRoll;
+        }
+    }
+
+    /**
+     * Captures the attack a player would make with their current levels, prayers, gear, fight type and spell, using
+     * the same formulas as the game.
+     *
+     * @param player the player.
+     * @param opponent the player being attacked, used for the distance projectiles travel.
+     * @param special whether to capture the special attack of the player's weapon instead of a normal attack.
+     */
+    public static AttackOption snapshot(Player player, Player opponent, boolean special) {
+        if (special && player.getCombatSpecial() == null) {
+            throw new IllegalArgumentException("Weapon has no special attack");
+        }
+        final boolean wasSpecialActivated = player.isSpecialActivated();
+        player.setSpecialActivated(special);
+        try {
+            final CombatMethod method = CombatFactory.getMethod(player);
+            final CombatType style = method.type();
+            final int distance = player.getLocation().getDistance(opponent.getLocation());
+            final int[] meleeDefenceRolls = new int[4];
+            for (int bonusType = 0; bonusType < meleeDefenceRolls.length; bonusType++) {
+                meleeDefenceRolls[bonusType] = AccuracyFormulasDpsCalc.defenseMeleeRoll(player, bonusType);
+            }
+            final AttackOptionBuilder builder = AttackOption.builder()
+                    .style(style)
+                    .attackSpeed(method.attackSpeed(player))
+                    .bonusType(player.getFightType().getBonusType())
+                    .specialDrain(special ? player.getCombatSpecial().getDrainAmount() : 0)
+                    .meleeDefenceRolls(meleeDefenceRolls)
+                    .rangedDefenceRoll(AccuracyFormulasDpsCalc.defenseRangedRoll(player))
+                    .magicDefenceRoll(AccuracyFormulasDpsCalc.defenseMagicRoll(player));
+            switch (style) {
+                case MELEE:
+                    return builder.attackRoll(AccuracyFormulasDpsCalc.attackMeleeRoll(player))
+                            .maxHit(DamageFormulas.calculateMaxMeleeHit(player))
+                            .hitDelay(0)
+                            .build();
+                case RANGED:
+                    return builder.attackRoll(AccuracyFormulasDpsCalc.attackRangedRoll(player))
+                            .maxHit(DamageFormulas.calculateMaxRangedHit(player))
+                            .hitDelay(RangedData.hitDelay(
+                                    distance,
+                                    player.getCombat().getRangedWeapon().getType()))
+                            .build();
+                default:
+                    return builder.attackRoll(AccuracyFormulasDpsCalc.attackMagicRoll(player))
+                            .maxHit(DamageFormulas.getMagicMaxhit(player))
+                            .hitDelay(1 + ((1 + distance) / 3))
+                            .build();
+            }
+        } finally {
+            player.setSpecialActivated(wasSpecialActivated);
+        }
+    }
+}
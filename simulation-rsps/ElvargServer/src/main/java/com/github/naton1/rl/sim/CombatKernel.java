@@ -0,0 +1,272 @@
+package com.github.naton1.rl.sim;
+
+import com.elvarg.game.content.combat.CombatConstants;
+import com.elvarg.game.content.combat.formula.AccuracyFormulasDpsCalc;
+import com.elvarg.game.content.combat.formula.CombatTables;
+import com.github.naton1.rl.sim.FighterProfile.PrayerPolicy;
+import java.util.SplittableRandom;
+
+/**
+ * Runs many 1v1 fights between two fixed fighters without a world, entities, tasks or networking, to get win rates
+ * and kill times for loadouts and baselines far faster than fighting them out in game.
+ *
+ * <p>Each fighter's attacks are captured up front with the game's own formulas (see {@link AttackOption#snapshot}),
+ * and every hit chance and expected damage between them is worked out once with {@link CombatTables}. The fights
+ * themselves are stepped a tick at a time in batches, with the state of a batch kept in flat arrays. Everything runs on
+ * the calling thread, so callers decide which thread the fights take up, such as a dedicated executor off the game
+ * thread.
+ *
+ * <p>Each tick, the fighters take their turns in PID order, with PIDs rolled again as often as the game does. On their
+ * turn, a fighter first takes the hits landing on them, and then, if off cooldown, picks the attack with the highest
+ * expected damage per tick against the opponent's current gear and prayer, switching to its gear and spending special
+ * energy as needed. Hits are rolled the way {@link com.elvarg.game.content.combat.hit.PendingHit} rolls them, against
+ * the defender's prayer at the time of the attack, and land after their hit delay, or a tick later if the defender
+ * already took their turn. Hitpoints and special energy are restored over time as in game. Movement, food, freezes,
+ * multi-hit specials and bolt effects are not modelled.
+ */
+public class CombatKernel {
+
+    /**
+     * The amount of fights each task steps together.
+     */
+    private static final int BATCH_SIZE = 256;
+
+    /**
+     * The amount of ticks ahead hits can be queued, which must be more than the longest hit delay plus the tick a hit
+     * can wait for its target's turn.
+     */
+    private static final int HIT_SLOTS = 16;
+
+    private static final int SPECIAL_RESTORE_TICKS = 50;
+    private static final int SPECIAL_RESTORE_AMOUNT = 10;
+    private static final int MAX_SPECIAL = 100;
+
+    /**
+     * How often hitpoints below the maximum are restored by one, the same as every other stat in game.
+     */
+    private static final int HITPOINTS_RESTORE_TICKS = 100;
+
+    private static final int PID_SWAP_MIN_TICKS = 40;
+    private static final int PID_SWAP_MAX_TICKS = 60;
+
+    private static final int NO_PRAYER = -1;
+
+    private final Fighter[] fighters;
+    private final int maxTicks;
+
+    /**
+     * Creates a kernel for two fighters. This works out the hit chances between them, so it must be called from the
+     * game thread.
+     *
+     * @param first the first fighter.
+     * @param second the second fighter.
+     * @param maxTicks the amount of ticks after which a fight is called a draw.
+     */
+    public CombatKernel(FighterProfile first, FighterProfile second, int maxTicks) {
+        if (first.getOptions().isEmpty() || second.getOptions().isEmpty()) {
+            throw new IllegalArgumentException("Both fighters need at least one attack");
+        }
+        if (first.getOptions().stream().allMatch(o -> o.getSpecialDrain() > 0)
+                || second.getOptions().stream().allMatch(o -> o.getSpecialDrain() > 0)) {
+            throw new IllegalArgumentException("Both fighters need an attack which isn't a special attack");
+        }
+        this.fighters = new Fighter[] {new Fighter(first, second), new Fighter(second, first)};
+        this.maxTicks = maxTicks;
+    }
+
+    /**
+     * Runs fights on the calling thread. The same seed always gives the same results.
+     */
+    public FightStatistics run(int fights, long seed) {
+        final int batches = (fights + BATCH_SIZE - 1) / BATCH_SIZE;
+        final SplittableRandom root = new SplittableRandom(seed);
+        final SplittableRandom[] randoms = new SplittableRandom[batches];
+        for (int i = 0; i < batches; i++) {
+            randoms[i] = root.split();
+        }
+        final FightStatistics statistics = new FightStatistics();
+        for (int batch = 0; batch < batches; batch++) {
+            statistics.merge(runBatch(Math.min(BATCH_SIZE, fights - batch * BATCH_SIZE), randoms[batch]));
+        }
+        return statistics;
+    }
+
+    private FightStatistics runBatch(int fights, SplittableRandom random) {
+        // Every array holds both fighters of a fight next to each other, first then second
+        final int[] hitpoints = new int[fights * 2];
+        final int[] attackTimers = new int[fights * 2];
+        final int[] gear = new int[fights * 2];
+        final int[] special = new int[fights * 2];
+        final int[] protection = new int[fights * 2];
+        final double[] pids = new double[fights * 2];
+        final int[] pidSwapTimers = new int[fights * 2];
+        final int[] pendingDamage = new int[fights * 2 * HIT_SLOTS];
+        final boolean[] finished = new boolean[fights];
+        for (int i = 0; i < fights * 2; i++) {
+            hitpoints[i] = fighters[i & 1].hitpoints;
+            attackTimers[i] = 1;
+            special[i] = MAX_SPECIAL;
+            protection[i] = NO_PRAYER;
+            pids[i] = random.nextDouble();
+            pidSwapTimers[i] = nextPidSwap(random);
+        }
+
+        final FightStatistics statistics = new FightStatistics();
+        int remaining = fights;
+        for (int tick = 0; tick < maxTicks && remaining > 0; tick++) {
+            final boolean restoreSpecial = tick > 0 && tick % SPECIAL_RESTORE_TICKS == 0;
+            final boolean restoreHitpoints = tick > 0 && tick % HITPOINTS_RESTORE_TICKS == 0;
+            final int slot = tick % HIT_SLOTS;
+            for (int fight = 0; fight < fights; fight++) {
+                if (finished[fight]) {
+                    continue;
+                }
+                final int first = fight * 2;
+                // The fighters take their turns in PID order, the same as players are processed in game
+                final int leader = pids[first] <= pids[first + 1] ? 0 : 1;
+                for (int turn = 0; turn < 2; turn++) {
+                    final int side = leader ^ turn;
+                    final int self = first + side;
+                    final int opponent = first + (side ^ 1);
+
+                    hitpoints[self] -= pendingDamage[self * HIT_SLOTS + slot];
+                    pendingDamage[self * HIT_SLOTS + slot] = 0;
+                    if (hitpoints[self] <= 0) {
+                        // The fighter's own hits still on their way are dropped, so the opponent always wins
+                        statistics.recordWin(side == 1, tick);
+                        finished[fight] = true;
+                        remaining--;
+                        break;
+                    }
+
+                    if (--pidSwapTimers[self] <= 0) {
+                        pids[self] = random.nextDouble();
+                        pidSwapTimers[self] = nextPidSwap(random);
+                    }
+                    if (restoreSpecial) {
+                        special[self] = Math.min(MAX_SPECIAL, special[self] + SPECIAL_RESTORE_AMOUNT);
+                    }
+                    if (--attackTimers[self] <= 0) {
+                        final Fighter fighter = fighters[side];
+                        final int option = fighter.choose(gear[opponent], protection[opponent], special[self]);
+                        gear[self] = option;
+                        special[self] -= fighter.specialDrains[option];
+                        attackTimers[self] = fighter.attackSpeeds[option];
+
+                        int damage = 0;
+                        if (fighter.hitChances[option][gear[opponent]] > random.nextFloat()) {
+                            damage = random.nextInt(fighter.maxHits[option] + 1);
+                            if (protection[opponent] == fighter.styles[option]) {
+                                damage *= CombatConstants.PRAYER_DAMAGE_REDUCTION_AGAINST_PLAYERS;
+                            }
+                        }
+                        // An opponent who already took their turn only sees the hit on their next one
+                        final int landsOn = tick + fighter.hitDelays[option] + turn;
+                        pendingDamage[opponent * HIT_SLOTS + landsOn % HIT_SLOTS] += damage;
+
+                        if (fighters[side ^ 1].prayerPolicy == PrayerPolicy.REACTIVE) {
+                            protection[opponent] = fighter.styles[option];
+                        }
+                    }
+                    if (restoreHitpoints && hitpoints[self] < fighters[side].hitpoints) {
+                        hitpoints[self]++;
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < remaining; i++) {
+            statistics.recordDraw();
+        }
+        return statistics;
+    }
+
+    /**
+     * Gets the amount of ticks until a fighter's PID is rolled again, the same as a player's in game.
+     */
+    private static int nextPidSwap(SplittableRandom random) {
+        return random.nextInt(PID_SWAP_MIN_TICKS, PID_SWAP_MAX_TICKS + 1);
+    }
+
+    /**
+     * A fighter's attacks flattened into arrays, with everything which only depends on the two fighters worked out.
+     */
+    private static final class Fighter {
+
+        private final int hitpoints;
+        private final PrayerPolicy prayerPolicy;
+        private final int[] styles;
+        private final int[] attackSpeeds;
+        private final int[] hitDelays;
+        private final int[] maxHits;
+        private final int[] specialDrains;
+
+        /**
+         * The chance of each attack hitting the opponent wearing the gear of each of their attacks.
+         */
+        private final float[][] hitChances;
+
+        /**
+         * The expected damage per tick of each attack against the gear of each of the opponent's attacks, unprotected
+         * and protected against.
+         */
+        private final double[][][] scores;
+
+        private Fighter(FighterProfile profile, FighterProfile opponent) {
+            final int count = profile.getOptions().size();
+            final int opponentCount = opponent.getOptions().size();
+            this.hitpoints = profile.getHitpoints();
+            this.prayerPolicy = profile.getPrayerPolicy();
+            this.styles = new int[count];
+            this.attackSpeeds = new int[count];
+            this.hitDelays = new int[count];
+            this.maxHits = new int[count];
+            this.specialDrains = new int[count];
+            this.hitChances = new float[count][opponentCount];
+            this.scores = new double[count][opponentCount][2];
+            for (int i = 0; i < count; i++) {
+                final AttackOption option = profile.getOptions().get(i);
+                if (option.getHitDelay() < 0 || option.getHitDelay() + 1 >= HIT_SLOTS) {
+                    throw new IllegalArgumentException("Unsupported hit delay: " + option.getHitDelay());
+                }
+                styles[i] = option.getStyle().ordinal();
+                attackSpeeds[i] = Math.max(1, option.getAttackSpeed());
+                hitDelays[i] = option.getHitDelay();
+                maxHits[i] = Math.max(0, option.getMaxHit());
+                specialDrains[i] = option.getSpecialDrain();
+                for (int j = 0; j < opponentCount; j++) {
+                    final AttackOption defence = opponent.getOptions().get(j);
+                    final int attackRoll = option.getAttackRoll();
+                    final int defenceRoll = defence.getDefenceRoll(option);
+                    hitChances[i][j] = AccuracyFormulasDpsCalc.hitChance(attackRoll, defenceRoll);
+                    scores[i][j][0] = CombatTables.expectedDamage(attackRoll, defenceRoll, maxHits[i], 1)
+                            / attackSpeeds[i];
+                    scores[i][j][1] = CombatTables.expectedDamage(
+                                    attackRoll,
+                                    defenceRoll,
+                                    maxHits[i],
+                                    CombatConstants.PRAYER_DAMAGE_REDUCTION_AGAINST_PLAYERS)
+                            / attackSpeeds[i];
+                }
+            }
+        }
+
+        /**
+         * Picks the attack with the highest expected damage per tick that there's enough special energy for.
+         */
+        private int choose(int opponentGear, int opponentProtection, int special) {
+            int best = 0;
+            double bestScore = -1;
+            for (int i = 0; i < styles.length; i++) {
+                if (specialDrains[i] > special) {
+                    continue;
+                }
+                final double score = scores[i][opponentGear][opponentProtection == styles[i] ? 1 : 0];
+                if (score > bestScore) {
+                    best = i;
+                    bestScore = score;
+                }
+            }
+            return best;
+        }
+    }
+}
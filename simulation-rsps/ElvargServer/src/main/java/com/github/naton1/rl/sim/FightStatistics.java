@@ -0,0 +1,85 @@
+package com.github.naton1.rl.sim;
+
+import lombok.Getter;
+
+/**
+ * The outcomes of a set of {@link CombatKernel} fights.
+ */
+@Getter
+public class FightStatistics {
+
+    private int fights;
+    private int firstWins;
+    private int secondWins;
+    private int draws;
+
+    /**
+     * The sum and sum of squares of the tick each decided fight ended on.
+     */
+    private long killTicks;
+
+    private long killTicksSquared;
+
+    void recordWin(boolean first, int tick) {
+        fights++;
+        if (first) {
+            firstWins++;
+        } else {
+            secondWins++;
+        }
+        killTicks += tick;
+        killTicksSquared += (long) tick * tick;
+    }
+
+    void recordDraw() {
+        fights++;
+        draws++;
+    }
+
+    FightStatistics merge(FightStatistics other) {
+        fights += other.fights;
+        firstWins += other.firstWins;
+        secondWins += other.secondWins;
+        draws += other.draws;
+        killTicks += other.killTicks;
+        killTicksSquared += other.killTicksSquared;
+        return this;
+    }
+
+    public double getFirstWinRate() {
+        return fights == 0 ? 0 : (double) firstWins / fights;
+    }
+
+    public double getSecondWinRate() {
+        return fights == 0 ? 0 : (double) secondWins / fights;
+    }
+
+    /**
+     * Gets the average amount of ticks the decided fights took.
+     */
+    public double getMeanTicksToKill() {
+        final int decided = firstWins + secondWins;
+        return decided == 0 ? 0 : (double) killTicks / decided;
+    }
+
+    public double getTicksToKillStdDev() {
+        final int decided = firstWins + secondWins;
+        if (decided == 0) {
+            return 0;
+        }
+        final double mean = getMeanTicksToKill();
+        return Math.sqrt(Math.max(0, (double) killTicksSquared / decided - mean * mean));
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "fights=%d, first=%.1f%%, second=%.1f%%, draws=%d, ttk=%.1f (sd %.1f) ticks",
+                fights,
+                getFirstWinRate() * 100,
+                getSecondWinRate() * 100,
+                draws,
+                getMeanTicksToKill(),
+                getTicksToKillStdDev());
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.naton1.rl.sim;
+
+import com.elvarg.game.content.combat.FightType;
+import com.elvarg.game.content.combat.magic.CombatSpell;
+import com.elvarg.game.entity.impl.player.Player;
+import com.elvarg.game.model.ItemInSlot;
+import com.elvarg.game.model.Skill;
+import com.elvarg.net.packet.impl.EquipPacketListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Singular;
+import lombok.Value;
+
+/**
+ * A fighter in the {@link CombatKernel}: their hitpoints, the attacks they can switch between and how they pray.
+ */
+@Value
+@Builder
+public class FighterProfile {
+
+    int hitpoints;
+
+    /**
+     * The attacks the fighter can switch between. The fighter starts the fight wearing the gear of the first.
+     */
+    @Singular
+    List<AttackOption> options;
+
+    @NonNull
+    @Builder.Default
+    PrayerPolicy prayerPolicy = PrayerPolicy.REACTIVE;
+
+    /**
+     * Captures a player's current attack, and their weapon's special attack if it has one. Both are made in the gear the
+     * player is wearing, so the fighter never switches gear.
+     */
+    public static FighterProfile snapshot(Player player, Player opponent, PrayerPolicy prayerPolicy) {
+        final List<AttackOption> options = new ArrayList<>();
+        options.add(AttackOption.snapshot(player, opponent, false));
+        if (player.getCombatSpecial() != null) {
+            options.add(AttackOption.snapshot(player, opponent, true));
+        }
+        return FighterProfile.builder()
+                .hitpoints(player.getSkillManager().getCurrentLevel(Skill.HITPOINTS))
+                .options(options)
+                .prayerPolicy(prayerPolicy)
+                .build();
+    }
+
+    /**
+     * Captures the attack of each of a player's gear setups, so the fighter can switch between them. Each setup is
+     * equipped from the player's inventory in turn to be captured, and the player's own gear, spell, fight type and
+     * special attack are put back afterwards.
+     *
+     * @param player the player, who must have the items of every setup either worn or in their inventory.
+     * @param opponent the player being attacked, used for the distance projectiles travel.
+     * @param setups the setups, the first of which the fighter starts the fight wearing.
+     * @param prayerPolicy how the fighter prays.
+     */
+    public static FighterProfile snapshot(
+            Player player, Player opponent, List<GearSetup> setups, PrayerPolicy prayerPolicy) {
+        final int[] worn = player.getEquipment().getItemIdsArray();
+        final CombatSpell castSpell = player.getCombat().getCastSpell();
+        final FightType fightType = player.getFightType();
+        final boolean specialActivated = player.isSpecialActivated();
+        final List<AttackOption> options = new ArrayList<>();
+        try {
+            for (GearSetup setup : setups) {
+                equip(player, setup.getItemIds());
+                player.getCombat().setCastSpell(setup.getSpell());
+                options.add(AttackOption.snapshot(player, opponent, setup.isSpecial()));
+            }
+        } finally {
+            equip(player, Arrays.stream(worn).filter(id -> id != -1).toArray());
+            player.getCombat().setCastSpell(castSpell);
+            player.setFightType(fightType);
+            player.setSpecialActivated(specialActivated);
+        }
+        return FighterProfile.builder()
+                .hitpoints(player.getSkillManager().getCurrentLevel(Skill.HITPOINTS))
+                .options(options)
+                .prayerPolicy(prayerPolicy)
+                .build();
+    }
+
+    /**
+     * Wears exactly the given items, taking them out of the inventory and putting everything else worn into it.
+     */
+    private static void equip(Player player, int... itemIds) {
+        for (int itemId : itemIds) {
+            final ItemInSlot item = ItemInSlot.getFromInventory(itemId, player.getInventory());
+            if (item == null) {
+                continue;
+            }
+            EquipPacketListener.equipFromInventory(player, item);
+        }
+        for (int itemId : player.getEquipment().getItemIdsArray()) {
+            if (itemId == -1 || Arrays.stream(itemIds).anyMatch(i -> i == itemId)) {
+                continue;
+            }
+            EquipPacketListener.unequip(player, player.getEquipment().getSlotForItemId(itemId), itemId);
+        }
+    }
+
+    public enum PrayerPolicy {
+        /**
+         * Never uses a protection prayer.
+         */
+        NONE,
+        /**
+         * Protects against the style the opponent last attacked with.
+         */
+        REACTIVE
+    }
+}
@@ -0,0 +1,43 @@
+package com.github.naton1.rl.sim;
+
+import com.elvarg.game.content.combat.magic.CombatSpell;
+import com.elvarg.game.content.combat.magic.CombatSpells;
+import com.github.naton1.rl.env.nh.NhLoadout;
+import java.util.List;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * A set of items a fighter switches into to attack, and how they attack in it, which {@link FighterProfile#snapshot}
+ * turns into an {@link AttackOption}.
+ */
+@Value
+public class GearSetup {
+
+    /**
+     * The items worn in the setup, which must be either worn or in the inventory when it's snapshot.
+     */
+    @NonNull
+    int[] itemIds;
+
+    /**
+     * The spell cast in the setup, or {@code null} to attack with the weapon.
+     */
+    CombatSpell spell;
+
+    /**
+     * Whether the setup is used for the weapon's special attack rather than its normal attack.
+     */
+    boolean special;
+
+    /**
+     * Gets the setups an NH loadout switches between: ranged, ice barrage in mage gear, melee and the melee special.
+     */
+    public static List<GearSetup> of(NhLoadout loadout) {
+        return List.of(
+                new GearSetup(loadout.getRangedGear(), null, false),
+                new GearSetup(loadout.getMageGear(), CombatSpells.ICE_BARRAGE.getSpell(), false),
+                new GearSetup(loadout.getMeleeGear(), null, false),
+                new GearSetup(loadout.getMeleeSpecGear(), null, true));
+    }
+}
@@ -1,32 +1,22 @@
 package com.github.naton1.rl.util;
 
 import com.elvarg.game.content.Food;
-import com.elvarg.game.content.PrayerHandler;
 import com.elvarg.game.content.combat.CombatType;
 import com.elvarg.game.content.combat.hit.HitDamage;
 import com.elvarg.game.content.skill.skillable.impl.Herblore;
 import com.elvarg.game.entity.impl.player.Player;
-import com.elvarg.game.model.ItemInSlot;
 import com.elvarg.game.model.Skill;
-import java.util.Arrays;
-import java.util.Objects;
 
 public class GameDataUtil {
 
     public static CombatType getPrayerType(Player player) {
-        return Arrays.stream(CombatType.values())
-                .filter(c -> player.getPrayerActive()[PrayerHandler.getProtectingPrayer(c)])
-                .findFirst()
-                .orElse(null);
+        return player.getActivePrayers().getProtection();
     }
 
     public static double getRemainingBrewScale(Player player) {
         final int brewHealAmount = getBrewHealAmount(player);
-        return Arrays.stream(player.getInventory().getItems())
-                        .mapToInt(i -> Herblore.PotionDose.SARADOMIN_BREW.getDoseForID(i.getId()))
-                        .filter(i -> i > 0)
-                        .map(dose -> dose * brewHealAmount)
-                        .sum()
+        return player.getInventory().count(Herblore.PotionDose.SARADOMIN_BREW)
+                * brewHealAmount
                 / (double) player.getSkillManager().getMaxLevel(Skill.HITPOINTS);
     }
 
@@ -34,18 +24,21 @@ public class GameDataUtil {
         return (int) Math.floor(2 + (0.15 * player.getSkillManager().getMaxLevel(Skill.HITPOINTS)));
     }
 
+    /**
+     * Gets the amount of different kinds of food the player has.
+     */
     public static int getRemainingFoodCount(Player player) {
-        return (int) Arrays.stream(Food.Edible.values())
-                .map(food -> ItemInSlot.getFromInventory(food.getItem().getId(), player.getInventory()))
-                .filter(Objects::nonNull)
-                .count();
+        int count = 0;
+        for (Food.Edible food : Food.Edible.values()) {
+            if (player.getInventory().contains(food.getItem().getId())) {
+                count++;
+            }
+        }
+        return count;
     }
 
     public static double getRemainingFoodScale(Player player) {
-        return Arrays.stream(Food.Edible.values())
-                        .mapToInt(food ->
-                                player.getInventory().getAmount(food.getItem().getId()) * food.getHeal())
-                        .sum()
+        return player.getInventory().count(Food.HEALING)
                 / (double) player.getSkillManager().getMaxLevel(Skill.HITPOINTS);
     }
 
@@ -67,8 +60,11 @@ public class GameDataUtil {
     }
 
     public static boolean hasFood(Player player) {
-        return Arrays.stream(Food.Edible.values())
-                .map(food -> ItemInSlot.getFromInventory(food.getItem().getId(), player.getInventory()))
-                .anyMatch(Objects::nonNull);
+        for (Food.Edible food : Food.Edible.values()) {
+            if (player.getInventory().contains(food.getItem().getId())) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,76 @@
+package com.elvarg.game.collision;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.elvarg.game.GameConstants;
+import com.elvarg.game.model.Boundary;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Checks that the clipping read back from a {@link CollisionCache} file is the
+ * same as the clipping parsed from the map files it was built from.
+ */
+class CollisionCacheTest {
+
+    private static final Boundary AREA = GameConstants.TRAINING_AREA;
+
+    @Test
+    void cachedClippingMatchesParsedClipping(@TempDir Path directory) throws Exception {
+        RegionManager.init();
+        RegionManager.loadMapFiles(AREA);
+        Map<Integer, int[]> parsed = new HashMap<>();
+        for (Region region : regions()) {
+            parsed.put(region.getRegionId(), clips(region));
+        }
+        assertTrue(parsed.values().stream().flatMapToInt(Arrays::stream).anyMatch(clip -> clip != 0),
+                "the area should have some clipping to compare");
+
+        Path file = directory.resolve("collision.dat");
+        CollisionCache.write(file);
+
+        // Start over with fresh regions which only have the cache to go by..
+        RegionManager.regions.clear();
+        RegionManager.init();
+        assertTrue(CollisionCache.load(file));
+        RegionManager.loadClipping(AREA);
+        for (Region region : regions()) {
+            assertTrue(region.hasCachedClips());
+            assertFalse(region.isLoaded(), "loading the clipping shouldn't parse the map files of a cached region");
+            assertArrayEquals(parsed.get(region.getRegionId()), clips(region), "region " + region.getRegionId());
+        }
+    }
+
+    private static Iterable<Region> regions() {
+        Map<Integer, Region> regions = new HashMap<>();
+        for (int regionX = AREA.getX() >> 6; regionX <= AREA.getX2() >> 6; regionX++) {
+            for (int regionY = AREA.getY() >> 6; regionY <= AREA.getY2() >> 6; regionY++) {
+                int regionId = (regionX << 8) | regionY;
+                RegionManager.getRegion(regionId).ifPresent(region -> regions.put(regionId, region));
+            }
+        }
+        return regions.values();
+    }
+
+    private static int[] clips(Region region) {
+        int absX = (region.getRegionId() >> 8) * 64;
+        int absY = (region.getRegionId() & 0xff) * 64;
+        int[] clips = new int[4 * 64 * 64];
+        for (int z = 0; z < 4; z++) {
+            for (int x = 0; x < 64; x++) {
+                for (int y = 0; y < 64; y++) {
+                    clips[(z << 12) | (x << 6) | y] = region.getClip(absX + x, absY + y, z);
+                }
+            }
+        }
+        return clips;
+    }
+}
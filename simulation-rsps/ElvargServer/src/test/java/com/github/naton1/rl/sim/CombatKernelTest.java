@@ -0,0 +1,186 @@
+package com.github.naton1.rl.sim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.elvarg.game.GameConstants;
+import com.elvarg.game.collision.RegionManager;
+import com.elvarg.game.content.combat.WeaponInterfaces;
+import com.elvarg.game.content.combat.bountyhunter.BountyHunter;
+import com.elvarg.game.entity.impl.player.Player;
+import com.elvarg.game.model.Location;
+import com.elvarg.game.model.Skill;
+import com.elvarg.game.model.areas.AreaManager;
+import com.elvarg.game.task.TaskManager;
+import com.elvarg.net.PlayerBotSession;
+import com.github.naton1.rl.sim.FighterProfile.PrayerPolicy;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the {@link CombatKernel} against fights run on the game's own combat engine. The same two fighters are fought
+ * out tick by tick in game, the way {@link com.elvarg.game.World#process} processes players, and the win rate and mean
+ * time to kill of those fights must be within a few standard errors of the kernel's.
+ *
+ * <p>The fighters are unarmed so no item definitions are needed, and don't pray. The game's combat rolls can't be
+ * seeded, so the tolerance is statistical, wide enough that a kernel which matches the game practically never fails it.
+ */
+class CombatKernelTest {
+
+    private static final int GAME_FIGHTS = 4_000;
+    private static final int KERNEL_FIGHTS = 100_000;
+    private static final int MAX_TICKS = 1_000;
+    private static final double STANDARD_ERRORS = 4.5;
+
+    /**
+     * Where the fights take place, in the wilderness where players can attack each other.
+     */
+    private static final Location LOCATION = new Location(3060, 3536);
+
+    @BeforeAll
+    static void loadClipping() throws Exception {
+        RegionManager.init();
+        RegionManager.loadClipping(GameConstants.TRAINING_AREA);
+    }
+
+    @Test
+    void evenFight() {
+        check(new Levels(99, 99, 99, 99), new Levels(99, 99, 99, 99));
+    }
+
+    @Test
+    void accuracyAgainstStrength() {
+        check(new Levels(99, 70, 99, 99), new Levels(70, 99, 99, 99));
+    }
+
+    @Test
+    void defenceAgainstHitpoints() {
+        check(new Levels(99, 99, 99, 80), new Levels(99, 99, 80, 99));
+    }
+
+    private static void check(Levels firstLevels, Levels secondLevels) {
+        final Player first = createPlayer(1, LOCATION, firstLevels);
+        final Player second = createPlayer(2, LOCATION.transform(1, 0), secondLevels);
+        final CombatKernel kernel;
+        try {
+            kernel = new CombatKernel(
+                    FighterProfile.snapshot(first, second, PrayerPolicy.NONE),
+                    FighterProfile.snapshot(second, first, PrayerPolicy.NONE),
+                    MAX_TICKS);
+        } finally {
+            logout(first);
+            logout(second);
+        }
+        final FightStatistics expected = kernel.run(KERNEL_FIGHTS, 1);
+        final FightStatistics actual = fightInGame(firstLevels, secondLevels);
+
+        final double winRate = expected.getFirstWinRate();
+        final double winRateError = Math.sqrt(winRate * (1 - winRate) / GAME_FIGHTS)
+                + Math.sqrt(winRate * (1 - winRate) / KERNEL_FIGHTS);
+        assertEquals(winRate, actual.getFirstWinRate(), STANDARD_ERRORS * winRateError, () -> "win rate, kernel "
+                + expected + ", game " + actual);
+        final double drawRate = (double) expected.getDraws() / KERNEL_FIGHTS;
+        final double drawRateError = Math.sqrt(drawRate * (1 - drawRate) / GAME_FIGHTS)
+                + Math.sqrt(drawRate * (1 - drawRate) / KERNEL_FIGHTS);
+        assertEquals(
+                drawRate,
+                (double) actual.getDraws() / GAME_FIGHTS,
+                STANDARD_ERRORS * drawRateError + 1e-9,
+                () -> "draw rate, kernel " + expected + ", game " + actual);
+
+        final double ticksToKillError = actual.getTicksToKillStdDev() / Math.sqrt(decided(actual))
+                + expected.getTicksToKillStdDev() / Math.sqrt(decided(expected));
+        assertEquals(
+                expected.getMeanTicksToKill(),
+                actual.getMeanTicksToKill(),
+                STANDARD_ERRORS * ticksToKillError,
+                () -> "ticks to kill, kernel " + expected + ", game " + actual);
+    }
+
+    private static FightStatistics fightInGame(Levels firstLevels, Levels secondLevels) {
+        final FightStatistics statistics = new FightStatistics();
+        for (int fight = 0; fight < GAME_FIGHTS; fight++) {
+            final Player first = createPlayer(1, LOCATION, firstLevels);
+            final Player second = createPlayer(2, LOCATION.transform(1, 0), secondLevels);
+            try {
+                first.getCombat().attack(second);
+                second.getCombat().attack(first);
+                fightInGame(first, second, statistics);
+            } finally {
+                logout(first);
+                logout(second);
+            }
+        }
+        return statistics;
+    }
+
+    private static void fightInGame(Player first, Player second, FightStatistics statistics) {
+        for (int tick = 0; tick < MAX_TICKS; tick++) {
+            process(first, second);
+            final boolean firstDead = first.getHitpoints() <= 0;
+            final boolean secondDead = second.getHitpoints() <= 0;
+            if (firstDead && secondDead) {
+                statistics.recordDraw();
+                return;
+            }
+            if (firstDead || secondDead) {
+                statistics.recordWin(secondDead, tick);
+                return;
+            }
+        }
+        statistics.recordDraw();
+    }
+
+    /**
+     * Processes a game tick for the two players.
+     */
+    private static void process(Player first, Player second) {
+        TaskManager.process();
+        final List<Player> players = Stream.of(first, second)
+                .sorted(Comparator.comparingDouble(Player::getPid))
+                .toList();
+        players.forEach(Player::processPackets);
+        players.forEach(Player::processPlayer);
+        players.forEach(Player::resetUpdating);
+    }
+
+    private static Player createPlayer(int index, Location location, Levels levels) {
+        final Player player = new Player(new PlayerBotSession(), location.clone());
+        player.setUsername("Fighter " + index);
+        player.setIndex(index);
+        player.setLastKnownRegion(location.clone());
+        player.setRegistered(true);
+        WeaponInterfaces.assign(player);
+        setLevel(player, Skill.ATTACK, levels.attack);
+        setLevel(player, Skill.STRENGTH, levels.strength);
+        setLevel(player, Skill.DEFENCE, levels.defence);
+        setLevel(player, Skill.HITPOINTS, levels.hitpoints);
+        // Put the player in the wilderness, as logging in would
+        AreaManager.process(player);
+        return player;
+    }
+
+    private static void setLevel(Player player, Skill skill, int level) {
+        player.getSkillManager().setCurrentLevel(skill, level).setMaxLevel(skill, level);
+    }
+
+    /**
+     * Removes everything the game keeps of a player once they're done fighting, as logging out would.
+     */
+    private static void logout(Player player) {
+        TaskManager.cancelTasks(player);
+        BountyHunter.unassign(player);
+        if (player.getArea() != null) {
+            player.getArea().leave(player, true);
+            player.getArea().postLeave(player, true);
+        }
+    }
+
+    private static int decided(FightStatistics statistics) {
+        return statistics.getFirstWins() + statistics.getSecondWins();
+    }
+
+    private record Levels(int attack, int strength, int defence, int hitpoints) {}
+}